@@ -0,0 +1,45 @@
+package bench;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import graphes.IGraphe;
+import graphes.ihm.Arc;
+
+/**
+ * Temps d'import d'un fichier de graphe, en liste d'adjacence et en CSR.
+ * La matrice d'adjacence, limite aux petits fichiers, est mesure par
+ * ImportMABenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImportBenchmark {
+	@Param({"ac", "sc"})
+	public String repertoire;
+
+	@Param({"g-10-1", "g-100-1", "g-1000-1", "g-10000-1", "g-100000-1"})
+	public String fichier;
+
+	@Param({"LA", "CSR"})
+	public String representation;
+
+	@Benchmark
+	public IGraphe importer() throws IOException {
+		return Jeux.importer(repertoire, fichier, representation, new Arc());
+	}
+}
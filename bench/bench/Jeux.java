@@ -0,0 +1,77 @@
+package bench;
+
+import java.io.IOException;
+
+import graphes.IFabriqueGraphe;
+import graphes.IGraphe;
+import graphes.IPCC;
+import graphes.ihm.Arc;
+import graphes.ihm.GrapheImporter;
+import graphes.types.GrapheCSR;
+import graphes.types.GrapheLA;
+import graphes.types.GrapheMA;
+
+/**
+ * Correspondance entre les paramtres des benchmarks (chanes de caractres)
+ * et les objets du projet : jeux de donnes, types de graphes, algorithmes.
+ */
+final class Jeux {
+	static final String REPERTOIRE_ENONCE = "graphes/";
+	// Au-del, une matrice d'adjacence n'est plus raisonnable (n entiers)
+	static final int NB_NOEUDS_MAX_MA = 10000;
+
+	private Jeux() {}
+
+	/**
+	 * @param representation LA, MA ou CSR
+	 * @return La fabrique correspondante
+	 */
+	static IFabriqueGraphe fabrique(String representation) {
+		switch (representation) {
+		case "LA": return GrapheLA::new;
+		case "MA": return GrapheMA::new;
+		case "CSR": return GrapheCSR::new;
+		default: throw new IllegalArgumentException("reprsentation inconnue : " + representation);
+		}
+	}
+
+	/**
+	 * @param algo Nom simple d'une classe du paquetage pcc (Dijkstra, Bellman...)
+	 * @return Une instance de l'algorithme
+	 */
+	static IPCC algorithme(String algo) {
+		try {
+			return (IPCC) Class.forName("pcc." + algo).getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | ClassCastException e) {
+			throw new IllegalArgumentException("algorithme inconnu : " + algo, e);
+		}
+	}
+
+	/**
+	 * @param repertoire ac ou sc
+	 * @param fichier Nom du fichier sans extension (g-1000-1...)
+	 * @return Chemin du fichier de graphe
+	 */
+	static String chemin(String repertoire, String fichier) {
+		return REPERTOIRE_ENONCE + repertoire + "/" + fichier + ".txt";
+	}
+
+	/**
+	 * @param fichier Nom du fichier (g-<nbNoeuds>-<numro>)
+	 * @return Nombre de noeuds annonc par le nom du fichier
+	 */
+	static int nbNoeuds(String fichier) {
+		return Integer.parseInt(fichier.split("-")[1]);
+	}
+
+	/**
+	 * @brief Importe un jeu de donnes, en refusant les combinaisons hors de porte
+	 * @throws IllegalStateException Matrice d'adjacence trop grande
+	 */
+	static IGraphe importer(String repertoire, String fichier, String representation, Arc df)
+			throws IOException, IllegalStateException {
+		if (representation.equals("MA") && nbNoeuds(fichier) > NB_NOEUDS_MAX_MA)
+			throw new IllegalStateException("combinaison ignore : " + fichier + " en MA");
+		return GrapheImporter.importer(chemin(repertoire, fichier), df, fabrique(representation));
+	}
+}
@@ -0,0 +1,76 @@
+package bench;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import graphes.IGraphe;
+import graphes.IPCC;
+import graphes.ihm.Arc;
+
+/**
+ * Mesures communes aux benchmarks de plus court chemin : estOK et pc
+ * (latence et dbit). Les sous-classes fixent les paramtres, de sorte que
+ * chaque combinaison soit valide.
+ */
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class MesurePlusCourt {
+	private IPCC pcc;
+	private IGraphe g;
+	private Arc df;
+	private final List<Integer> chemin = new ArrayList<>();
+
+	/**
+	 * @param cas Algorithme et rpertoire compatibles, sous la forme algo/repertoire (Bellman/sc...)
+	 * @param representation LA, MA ou CSR
+	 * @param fichier Nom du fichier sans extension
+	 */
+	protected void preparer(String cas, String representation, String fichier) throws IOException {
+		String[] parties = cas.split("/");
+		pcc = Jeux.algorithme(parties[0]);
+		df = new Arc();
+		g = Jeux.importer(parties[1], fichier, representation, df);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	public boolean estOK() {
+		return pcc.estOK(g);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	public int pcLatence() {
+		chemin.clear();
+		return pc();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public int pcDebit() {
+		chemin.clear();
+		return pc();
+	}
+
+	private int pc() {
+		try {
+			return pcc.pc(g, df.getSource(), df.getDestination(), chemin);
+		} catch (IllegalArgumentException e) {
+			// Pas de chemin : la recherche a tout de mme t faite
+			return IGraphe.INFINI;
+		}
+	}
+}
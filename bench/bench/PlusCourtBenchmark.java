@@ -0,0 +1,54 @@
+package bench;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Mesure sparment estOK et pc (latence et dbit) pour chaque algorithme,
+ * en liste d'adjacence et en CSR, sur chaque jeu de donnes fourni. La
+ * matrice d'adjacence est mesure par PlusCourtMABenchmark.
+ *
+ * Compilation et lancement : voir bench/README.md. Les paramtres se
+ * restreignent comme d'habitude, par exemple
+ * 		-p cas=DijkstraTas/ac -p fichier=g-100000-1
+ */
+@State(Scope.Benchmark)
+public class PlusCourtBenchmark extends MesurePlusCourt {
+	// Algorithme et rpertoire : Bellman n'accepte que les graphes sans circuit (sc)
+	@Param({"Dijkstra/ac", "Dijkstra/sc", "DijkstraTas/ac", "DijkstraTas/sc", "Bellman/sc"})
+	public String cas;
+
+	@Param({"LA", "CSR"})
+	public String representation;
+
+	@Param({"g-10-1", "g-100-1", "g-1000-1", "g-10000-1", "g-100000-1"})
+	public String fichier;
+
+	@Setup
+	public void preparer() throws IOException {
+		preparer(cas, representation, fichier);
+	}
+
+	/**
+	 * @brief Lance tous les benchmarks du paquetage, avec le profileur GC
+	 * (dbit d'allocation, octets allous par opration)
+	 * @param args Options JMH habituelles
+	 */
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		new Runner(new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.include("bench\\..*Benchmark")
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
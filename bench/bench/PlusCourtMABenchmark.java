@@ -0,0 +1,26 @@
+package bench;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Comme PlusCourtBenchmark, en matrice d'adjacence, pour les fichiers d'au
+ * plus Jeux.NB_NOEUDS_MAX_MA noeuds.
+ */
+@State(Scope.Benchmark)
+public class PlusCourtMABenchmark extends MesurePlusCourt {
+	@Param({"Dijkstra/ac", "Dijkstra/sc", "DijkstraTas/ac", "DijkstraTas/sc", "Bellman/sc"})
+	public String cas;
+
+	@Param({"g-10-1", "g-100-1", "g-1000-1", "g-10000-1"})
+	public String fichier;
+
+	@Setup
+	public void preparer() throws IOException {
+		preparer(cas, "MA", fichier);
+	}
+}
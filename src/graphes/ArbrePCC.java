@@ -0,0 +1,100 @@
+package graphes;
+
+import java.util.Arrays;
+
+import exceptions.NoPathEx;
+
+/**
+ * Arbre des plus courts chemins depuis un noeud source : distance et
+ * prdcesseur de chaque noeud, calculs une seule fois par un IPCCArbre.
+ * La distance vers un noeud s'obtient en O(1), le chemin en O(longueur).
+ */
+public class ArbrePCC {
+	// Numro indiquant l'absence de prdcesseur
+	public static final int AUCUN = 0;
+
+	private int source;
+	private long version;
+	private int[] distances;
+	private int[] predecesseurs;
+
+	public ArbrePCC() {
+		distances = new int[0];
+		predecesseurs = new int[0];
+	}
+
+	/**
+	 * @brief Rinitialise l'arbre avant un calcul, en rutilisant ses tableaux si possible
+	 * @param g Graphe sur lequel l'arbre va tre calcul
+	 * @param source Noeud source
+	 */
+	public void preparer(IGraphe g, int source) {
+		int taille = g.getNbSommets() + 1;
+		if (distances.length != taille) {
+			distances = new int[taille];
+			predecesseurs = new int[taille];
+		}
+		Arrays.fill(distances, IGraphe.INFINI);
+		Arrays.fill(predecesseurs, AUCUN);
+		distances[source] = 0;
+		this.source = source;
+		this.version = g.getVersion();
+	}
+
+	/**
+	 * @return Tableau interne des distances, index par noeud, rempli par les algorithmes
+	 */
+	public int[] getDistances() {
+		return distances;
+	}
+
+	/**
+	 * @return Tableau interne des prdcesseurs, index par noeud, rempli par les algorithmes
+	 */
+	public int[] getPredecesseurs() {
+		return predecesseurs;
+	}
+
+	/**
+	 * @return Noeud source de l'arbre
+	 */
+	public int getSource() {
+		return source;
+	}
+
+	/**
+	 * @return Version du graphe au moment du calcul
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * @param cible Noeud
+	 * @return true si le noeud est atteignable depuis la source, false sinon
+	 */
+	public boolean estAtteignable(int cible) {
+		return distances[cible] != IGraphe.INFINI;
+	}
+
+	/**
+	 * @param cible Noeud
+	 * @return Distance depuis la source, INFINI si le noeud n'est pas atteignable
+	 */
+	public int distanceVers(int cible) {
+		return distances[cible];
+	}
+
+	/**
+	 * @param cible Noeud
+	 * @param resultat[out] Chemin de la source jusqu'au noeud, et sa distance
+	 * @return Distance depuis la source
+	 * @throws NoPathEx Le noeud n'est pas atteignable
+	 */
+	public int cheminVers(int cible, ResultatPCC resultat) throws NoPathEx {
+		if (!estAtteignable(cible))
+			throw new NoPathEx();
+		resultat.remplirParPredecesseurs(predecesseurs, cible, distances[cible]);
+		return distances[cible];
+	}
+}
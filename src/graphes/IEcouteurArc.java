@@ -0,0 +1,14 @@
+package graphes;
+
+@FunctionalInterface
+public interface IEcouteurArc {
+	/**
+	 * @brief Appele aprs chaque ajout ou changement d'arc dans le graphe cout
+	 * @param source Noeud d'o part l'arc
+	 * @param valuation Nouvelle valuation de l'arc
+	 * @param cible Noeud o se dirige l'arc
+	 * @param remplacee Valuation remplace par la nouvelle, INFINI si l'arc
+	 * s'ajoute aux arcs existants (arcs parallles compris)
+	 */
+	void arcAjoute(int source, int valuation, int cible, int remplacee);
+}
@@ -0,0 +1,17 @@
+package graphes;
+
+@FunctionalInterface
+public interface IFabriqueGraphe {
+	/**
+	 * @brief Construit un graphe en une fois  partir d'une liste d'arcs
+	 * @param nbNoeuds Nombre de noeuds du graphe
+	 * @param sources Noeud de dpart de chaque arc
+	 * @param valuations Valuation de chaque arc
+	 * @param cibles Noeud de destination de chaque arc
+	 * @param nbArcs Nombre d'arcs  lire dans les tableaux
+	 * @return Le graphe construit
+	 * @throws IllegalArgumentException Un des arcs ne peut pas exister
+	 */
+	IGraphe creer(int nbNoeuds, int[] sources, int[] valuations, int[] cibles, int nbArcs)
+			throws IllegalArgumentException;
+}
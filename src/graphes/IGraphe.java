@@ -3,6 +3,7 @@ package graphes;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Function;
 
 public interface IGraphe extends Iterable<Integer>{
 	static final int INFINI = Integer.MAX_VALUE;
@@ -24,8 +25,10 @@ public interface IGraphe extends Iterable<Integer>{
 	/**
 	 * @param i Noeud de dpart de l'arc
 	 * @param j Noeud de destanation de l'arc
-	 * @return Valuation de l'arc entre le noeud i et j
-	 * @throws IllegalArgumentException L'arc n'existe pas
+	 * @return Valuation de l'arc entre le noeud i et j ; s'il y a plusieurs arcs
+	 * parallles, celle du plus lger, seul  compter pour un plus court chemin ;
+	 * INFINI s'il n'y a pas d'arc
+	 * @throws IllegalArgumentException Le noeud i ou j n'existe pas
 	 */
 	int getValuation(int i, int j) throws IllegalArgumentException;
 	
@@ -37,8 +40,71 @@ public interface IGraphe extends Iterable<Integer>{
 	boolean aArc(int i, int j);
 	
 	/**
-	 * @param chemin Liste des noeuds composant le chemin
-	 * @return La distance du chemin
+	 * @brief Visite chaque arc sortant du noeud i, sans allocation.
+	 * L'implmentation par dfaut teste tous les noeuds (O(V)) ; les types
+	 * de graphes la redfinissent pour ne parcourir que les arcs existants.
+	 * @param i Noeud de dpart des arcs
+	 * @param visiteur Appel avec (i, valuation, cible) pour chaque arc
+	 */
+	default void parcourirSuccesseurs(int i, IVisiteurArc visiteur) {
+		int v;
+		for (int j = 1; j <= getNbSommets(); ++j)
+			if ((v = getValuation(i, j)) != INFINI)
+				visiteur.visiter(i, v, j);
+	}
+	
+	/**
+	 * @brief Visite chaque arc entrant dans le noeud j.
+	 * Opration facultative : l'implmentation par dfaut teste tous les
+	 * noeuds (O(V) appels  getValuation), et ne visite donc que le plus lger
+	 * des arcs parallles. Pour obtenir les prdcesseurs de tous les noeuds,
+	 * mieux vaut inverser le graphe une seule fois.
+	 * @param j Noeud de destination des arcs
+	 * @param visiteur Appel avec (source, valuation, j) pour chaque arc
+	 */
+	default void parcourirPredecesseurs(int j, IVisiteurArc visiteur) {
+		int v;
+		for (int i = 1; i <= getNbSommets(); ++i)
+			if ((v = getValuation(i, j)) != INFINI)
+				visiteur.visiter(i, v, j);
+	}
+	
+	/**
+	 * @param i Noeud
+	 * @return Nombre d'arcs sortant du noeud i
+	 */
+	default int degreSortant(int i) {
+		int degre = 0;
+		for (int j = 1; j <= getNbSommets(); ++j)
+			if (getValuation(i, j) != INFINI)
+				++degre;
+		return degre;
+	}
+	
+	/**
+	 * @return Numro de version du graphe, modifi  chaque ajout d'arc
+	 * (toujours 0 pour un graphe qui ne peut pas tre modifi)
+	 */
+	default long getVersion() {
+		return 0;
+	}
+	
+	/**
+	 * @brief Proprit drive du graphe (ordre topologique, graphe invers...),
+	 * calcule une fois puis conserve tant que la version du graphe ne change
+	 * pas. L'implmentation par dfaut ne conserve rien.
+	 * @param cle Identifie la proprit : une mme cl correspond toujours au mme calcul
+	 * @param calcul Calcul de la proprit  partir du graphe
+	 * @return Proprit du graphe dans sa version actuelle
+	 */
+	default <T> T memoriser(Object cle, Function<IGraphe, T> calcul) {
+		return calcul.apply(this);
+	}
+	
+	/**
+	 * @param chemin Liste des noeuds composant le chemin, vide par le calcul
+	 * @return La distance du chemin, en prenant le plus lger des arcs
+	 * parallles ; INFINI si le chemin ne suit pas les arcs du graphe
 	 */
 	default int distance(List<Integer> chemin) {
 		if (chemin.isEmpty()) return INFINI;
@@ -48,7 +114,10 @@ public interface IGraphe extends Iterable<Integer>{
 		
 		while (!chemin.isEmpty()) {
 			try {
-				sommeDistance += getValuation(predecesseur, chemin.get(0));
+				int valuation = getValuation(predecesseur, chemin.get(0));
+				if (valuation == INFINI)
+					return INFINI;
+				sommeDistance += valuation;
 				predecesseur = chemin.remove(0);	
 			}
 			
@@ -0,0 +1,36 @@
+package graphes;
+
+/**
+ * Algorithme capable de calculer en une fois l'arbre des plus courts
+ * chemins depuis une source, vers tous les noeuds atteignables.
+ */
+public interface IPCCArbre extends IPCCPrimitif {
+	/**
+	 * @param g Graphe
+	 * @param source Noeud source
+	 * @param arbre[out] Arbre  remplir, ses tableaux sont rutiliss si possible
+	 * @throws IllegalArgumentException Le graphe n'est pas compatible avec l'algorithme
+	 */
+	void arbre(IGraphe g, int source, ArbrePCC arbre) throws IllegalArgumentException;
+
+	/**
+	 * @brief Comme arbre(g, source, arbre), sans vrifier le graphe : estOK(g)
+	 * doit dj avoir t vrifi, par exemple une seule fois pour un lot de requtes
+	 * @param g Graphe compatible avec l'algorithme
+	 * @param source Noeud source
+	 * @param arbre[out] Arbre  remplir, ses tableaux sont rutiliss si possible
+	 */
+	void arbreSansVerification(IGraphe g, int source, ArbrePCC arbre);
+
+	/**
+	 * @param g Graphe
+	 * @param source Noeud source
+	 * @return Arbre des plus courts chemins depuis la source
+	 * @throws IllegalArgumentException Le graphe n'est pas compatible avec l'algorithme
+	 */
+	default ArbrePCC arbre(IGraphe g, int source) throws IllegalArgumentException {
+		ArbrePCC arbre = new ArbrePCC();
+		arbre(g, source, arbre);
+		return arbre;
+	}
+}
@@ -0,0 +1,32 @@
+package graphes;
+
+import java.util.List;
+
+import exceptions.NoPathEx;
+
+/**
+ * Version sans objet intermdiaire de IPCC : les noeuds sont des int et le
+ * rsultat est crit dans un ResultatPCC rutilisable.
+ */
+public interface IPCCPrimitif extends IPCC {
+	/**
+	 * @param g Graphe
+	 * @param noeudDepart Noeud de dpart de l'algorithme
+	 * @param noeudArrivee Noeud d'arrive de l'algorithme
+	 * @param resultat[out] Chemin et distance trouvs
+	 * @return Distance la plus courte entre le noeud de dpart et d'arrive
+	 * @throws NoPathEx Aucun chemin entre noeudDepart et noeudArrivee
+	 */
+	int pc(IGraphe g, int noeudDepart, int noeudArrivee, ResultatPCC resultat) throws NoPathEx;
+
+	/**
+	 * @brief Adaptateur vers la version primitive
+	 */
+	@Override
+	default int pc(IGraphe g, Integer noeudDepart, Integer noeudArrivee, List<Integer> chemin) throws NoPathEx {
+		ResultatPCC resultat = new ResultatPCC();
+		int distance = pc(g, noeudDepart.intValue(), noeudArrivee.intValue(), resultat);
+		resultat.copierDans(chemin);
+		return distance;
+	}
+}
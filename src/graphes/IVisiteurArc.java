@@ -0,0 +1,12 @@
+package graphes;
+
+@FunctionalInterface
+public interface IVisiteurArc {
+	/**
+	 * @brief Appele pour chaque arc parcouru
+	 * @param source Noeud d'o part l'arc
+	 * @param valuation Valuation de l'arc
+	 * @param cible Noeud o se dirige l'arc
+	 */
+	void visiter(int source, int valuation, int cible);
+}
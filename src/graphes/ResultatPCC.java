@@ -0,0 +1,110 @@
+package graphes;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rsultat d'une recherche de plus court chemin, rutilisable d'une requte
+ *  l'autre : le tableau du chemin n'est rallou que s'il est trop petit.
+ */
+public class ResultatPCC {
+	private int[] chemin;
+	private int longueur;
+	private int distance;
+
+	public ResultatPCC() {
+		this(16);
+	}
+
+	/**
+	 * @param capacite Nombre de noeuds du chemin pouvant tre stocks sans rallocation
+	 */
+	public ResultatPCC(int capacite) {
+		chemin = new int[Math.max(1, capacite)];
+		longueur = 0;
+		distance = IGraphe.INFINI;
+	}
+
+	/**
+	 * @return Distance du plus court chemin
+	 */
+	public int getDistance() {
+		return distance;
+	}
+
+	/**
+	 * @return Nombre de noeuds du chemin
+	 */
+	public int getLongueur() {
+		return longueur;
+	}
+
+	/**
+	 * @param i Rang du noeud dans le chemin (de 0  getLongueur()-1)
+	 * @return Noeud  ce rang
+	 */
+	public int getNoeud(int i) {
+		if (i < 0 || i >= longueur) throw new IndexOutOfBoundsException(i);
+		return chemin[i];
+	}
+
+	/**
+	 * @return Copie des noeuds du chemin, du dpart  l'arrive
+	 */
+	public int[] getChemin() {
+		return Arrays.copyOf(chemin, longueur);
+	}
+
+	/**
+	 * @brief Ajoute les noeuds du chemin  la fin de la liste
+	 * @param liste Liste  complter
+	 */
+	public void copierDans(List<Integer> liste) {
+		for (int i = 0; i < longueur; ++i)
+			liste.add(chemin[i]);
+	}
+
+	/**
+	 * @brief Remplit le rsultat en remontant les prdcesseurs depuis le noeud d'arrive
+	 * @param predecesseurs Prdcesseur de chaque noeud, aucun reprsent par 0
+	 * @param noeudA Noeud d'arrive
+	 * @param distance Distance du plus court chemin
+	 */
+	public void remplirParPredecesseurs(int[] predecesseurs, int noeudA, int distance) {
+		int n = 0;
+		for (int noeud = noeudA; noeud != 0; noeud = predecesseurs[noeud])
+			++n;
+		if (n > chemin.length)
+			chemin = new int[Math.max(n, 2 * chemin.length)];
+
+		// Le chemin est rempli depuis la fin, sans dcalage
+		int i = n;
+		for (int noeud = noeudA; noeud != 0; noeud = predecesseurs[noeud])
+			chemin[--i] = noeud;
+		this.longueur = n;
+		this.distance = distance;
+	}
+
+	/**
+	 * @brief Remplit le rsultat  partir d'un chemin dj ordonn
+	 * @param noeuds Noeuds du chemin, du dpart  l'arrive
+	 * @param n Nombre de noeuds  lire
+	 * @param distance Distance du chemin
+	 */
+	public void remplir(int[] noeuds, int n, int distance) {
+		if (n > chemin.length)
+			chemin = new int[Math.max(n, 2 * chemin.length)];
+		System.arraycopy(noeuds, 0, chemin, 0, n);
+		this.longueur = n;
+		this.distance = distance;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(distance).append(" :");
+		for (int i = 0; i < longueur; ++i)
+			sb.append(' ').append(chemin[i]);
+		return sb.toString();
+	}
+}
@@ -0,0 +1,368 @@
+package graphes.ihm;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import exceptions.NoPathEx;
+import graphes.IFabriqueGraphe;
+import graphes.IGraphe;
+import graphes.IPCC;
+import graphes.types.GrapheCSR;
+import pcc.Taches;
+
+/**
+ * Vrification en parallle de tout le corpus : chaque graphe
+ * graphes/<rp>/g-*.txt ayant sa rponse reponses/<rp>/r-*.txt est lu, rsolu
+ * par l'algorithme, puis compar  la rponse. Les temps de lecture et de
+ * requte de chaque fichier sont relevs ; un fichier dpassant le budget de
+ * temps est en chec. Les plus gros fichiers sont lancs les premiers.
+ *
+ * En ligne de commande :
+ * 		java graphes.ihm.Corpus [-algo Nom] [-budget ms] [-fils n] [-csv f] [-json f] [rp...]
+ * Nom est une classe de pcc (PCCAutomatique par dfaut), rp vaut ac et sc par
+ * dfaut. Le code de sortie est 1 si un fichier est en chec.
+ */
+public class Corpus {
+	/**
+	 * Verdict d'un fichier
+	 */
+	public enum Statut {
+		OK,				// Distance et chemin conformes, dans le budget
+		DIFFERENT,		// Distance ou chemin non conforme  la rponse
+		HORS_BUDGET,	// Conforme, mais lecture et requte ont dpass le budget
+		ERREUR			// Exception pendant la lecture ou la requte
+	}
+
+	/**
+	 * Un graphe et sa rponse
+	 */
+	public static final class Cas {
+		private final String repertoire;
+		private final File graphe;
+		private final File reponse;
+
+		Cas(String repertoire, File graphe, File reponse) {
+			this.repertoire = repertoire;
+			this.graphe = graphe;
+			this.reponse = reponse;
+		}
+
+		public String getRepertoire() {
+			return repertoire;
+		}
+
+		public File getGraphe() {
+			return graphe;
+		}
+
+		public File getReponse() {
+			return reponse;
+		}
+	}
+
+	/**
+	 * Rsultat de la vrification d'un fichier. Les dures sont en nanosecondes.
+	 */
+	public static final class Resultat {
+		private final Cas cas;
+		private Statut statut = Statut.ERREUR;
+		private String message = "";
+		private int nbSommets;
+		private long dureeLecture;
+		private long dureeRequete;
+		private int distanceAttendue = IGraphe.INFINI;
+		private int distanceCalculee = IGraphe.INFINI;
+
+		Resultat(Cas cas) {
+			this.cas = cas;
+		}
+
+		public Cas getCas() {
+			return cas;
+		}
+
+		public Statut getStatut() {
+			return statut;
+		}
+
+		/**
+		 * @return true si le fichier est conforme et dans le budget
+		 */
+		public boolean estOK() {
+			return statut == Statut.OK;
+		}
+
+		/**
+		 * @return Cause de l'chec, vide si le fichier est conforme
+		 */
+		public String getMessage() {
+			return message;
+		}
+
+		public int getNbSommets() {
+			return nbSommets;
+		}
+
+		public long getDureeLecture() {
+			return dureeLecture;
+		}
+
+		public long getDureeRequete() {
+			return dureeRequete;
+		}
+
+		/**
+		 * @return Distance de la rponse, INFINI si elle indique qu'il n'y a pas de chemin
+		 */
+		public int getDistanceAttendue() {
+			return distanceAttendue;
+		}
+
+		/**
+		 * @return Distance trouve par l'algorithme, INFINI s'il n'a pas trouv de chemin
+		 */
+		public int getDistanceCalculee() {
+			return distanceCalculee;
+		}
+	}
+
+	private final File graphes;
+	private final File reponses;
+	private final IFabriqueGraphe fabrique;
+
+	/**
+	 * @brief Corpus du rpertoire courant (graphes/ et reponses/), lu en GrapheCSR
+	 */
+	public Corpus() {
+		this(new File("graphes"), new File("reponses"), GrapheCSR::new);
+	}
+
+	/**
+	 * @param graphes Rpertoire des graphes, un sous-rpertoire par famille
+	 * @param reponses Rpertoire des rponses, organis comme celui des graphes
+	 * @param fabrique Type de graphe construit  la lecture
+	 */
+	public Corpus(File graphes, File reponses, IFabriqueGraphe fabrique) {
+		this.graphes = graphes;
+		this.reponses = reponses;
+		this.fabrique = fabrique;
+	}
+
+	/**
+	 * @param repertoires Familles  parcourir (ac, sc...), toutes si aucune n'est donne
+	 * @return Graphes ayant une rponse, du plus gros au plus petit
+	 */
+	public List<Cas> decouvrir(String... repertoires) {
+		if (repertoires.length == 0) {
+			String[] tous = graphes.list((d, nom) -> new File(d, nom).isDirectory());
+			repertoires = tous == null ? new String[0] : tous;
+			Arrays.sort(repertoires);
+		}
+		List<Cas> cas = new ArrayList<>();
+		for (String repertoire : repertoires) {
+			File[] fichiers = new File(graphes, repertoire).listFiles(
+					(d, nom) -> nom.startsWith("g-") && nom.endsWith(".txt"));
+			if (fichiers == null)
+				continue;
+			for (File graphe : fichiers) {
+				File reponse = new File(new File(reponses, repertoire), "r" + graphe.getName().substring(1));
+				if (reponse.isFile())
+					cas.add(new Cas(repertoire, graphe, reponse));
+			}
+		}
+		cas.sort(Comparator.comparingLong((Cas c) -> c.graphe.length()).reversed()
+				.thenComparing(c -> c.graphe.getPath()));
+		return cas;
+	}
+
+	/**
+	 * @brief Vrifie les cas en parallle
+	 * @param cas Cas  vrifier
+	 * @param algo Algorithme, appel par plusieurs fils  la fois
+	 * @param pool Pool sur lequel rpartir les fichiers
+	 * @param budget Dure maximale (lecture et requte) d'un fichier en millisecondes, 0 pour aucune
+	 * @return Rsultats, dans l'ordre des cas
+	 */
+	public List<Resultat> verifier(List<Cas> cas, IPCC algo, ForkJoinPool pool, long budget) {
+		return Taches.executer(pool, () -> cas.parallelStream()
+				.map(c -> verifier(c, algo, budget))
+				.collect(Collectors.toList()));
+	}
+
+	/**
+	 * @param cas Cas  vrifier
+	 * @param algo Algorithme
+	 * @param budget Dure maximale du fichier en millisecondes, 0 pour aucune
+	 * @return Rsultat de la vrification, sans exception
+	 */
+	public Resultat verifier(Cas cas, IPCC algo, long budget) {
+		Resultat r = new Resultat(cas);
+		try {
+			List<Integer> cheminAttendu = new ArrayList<>();
+			r.distanceAttendue = GrapheImporter.importerReponse(cas.reponse, cheminAttendu);
+
+			Arc df = new Arc();
+			long debut = System.nanoTime();
+			IGraphe g = GrapheImporter.importer(cas.graphe, df, fabrique);
+			r.dureeLecture = System.nanoTime() - debut;
+			r.nbSommets = g.getNbSommets();
+
+			List<Integer> chemin = new ArrayList<>();
+			debut = System.nanoTime();
+			try {
+				r.distanceCalculee = algo.pc(g, df.getSource(), df.getDestination(), chemin);
+			}
+			catch (NoPathEx e) {
+				r.distanceCalculee = IGraphe.INFINI;
+			}
+			r.dureeRequete = System.nanoTime() - debut;
+
+			r.message = comparer(g, df, r.distanceAttendue, r.distanceCalculee, chemin);
+			if (!r.message.isEmpty())
+				r.statut = Statut.DIFFERENT;
+			else if (budget > 0 && r.dureeLecture + r.dureeRequete > budget * 1000000) {
+				r.statut = Statut.HORS_BUDGET;
+				r.message = "budget de " + budget + " ms dpass";
+			}
+			else
+				r.statut = Statut.OK;
+		}
+		catch (Exception | OutOfMemoryError e) {
+			r.statut = Statut.ERREUR;
+			r.message = e.toString();
+		}
+		return r;
+	}
+
+	/**
+	 * @return Cause de la non-conformit, vide si le rsultat est conforme
+	 */
+	private static String comparer(IGraphe g, Arc df, int attendue, int calculee, List<Integer> chemin) {
+		if (attendue != calculee)
+			return "distance " + (calculee == IGraphe.INFINI ? "infinie" : calculee)
+					+ " au lieu de " + (attendue == IGraphe.INFINI ? "infinie" : attendue);
+		if (calculee == IGraphe.INFINI)
+			return "";
+		if (chemin.isEmpty() || chemin.get(0) != df.getSource()
+				|| chemin.get(chemin.size() - 1) != df.getDestination())
+			return "le chemin ne relie pas " + df.getSource() + "  " + df.getDestination();
+		int distance = g.distance(new ArrayList<>(chemin));
+		if (distance == IGraphe.INFINI)
+			return "le chemin ne suit pas les arcs du graphe";
+		if (distance != calculee)
+			return "le chemin mesure " + distance + " au lieu de " + calculee;
+		return "";
+	}
+
+	/**
+	 * @brief crit une ligne par fichier : rpertoire, fichier, noeuds, statut,
+	 * lecture et requte (ms), distances attendue et calcule (vides si infinies), message
+	 */
+	public static void ecrireCSV(List<Resultat> resultats, File fichier) throws IOException {
+		try (PrintWriter out = new PrintWriter(fichier, StandardCharsets.UTF_8)) {
+			out.println("repertoire,fichier,noeuds,statut,lecture_ms,requete_ms,distance_attendue,distance_calculee,message");
+			for (Resultat r : resultats)
+				out.println(r.cas.repertoire + "," + r.cas.graphe.getName() + "," + r.nbSommets + ","
+						+ r.statut + "," + millisecondes(r.dureeLecture) + "," + millisecondes(r.dureeRequete) + ","
+						+ (r.distanceAttendue == IGraphe.INFINI ? "" : r.distanceAttendue) + ","
+						+ (r.distanceCalculee == IGraphe.INFINI ? "" : r.distanceCalculee) + ","
+						+ "\"" + r.message.replace("\"", "\"\"") + "\"");
+		}
+	}
+
+	/**
+	 * @brief crit un tableau JSON d'objets, un par fichier, aux mmes champs que ecrireCSV
+	 * (distances null si infinies)
+	 */
+	public static void ecrireJSON(List<Resultat> resultats, File fichier) throws IOException {
+		try (PrintWriter out = new PrintWriter(fichier, StandardCharsets.UTF_8)) {
+			out.println("[");
+			for (int i = 0; i < resultats.size(); ++i) {
+				Resultat r = resultats.get(i);
+				out.print("  {\"repertoire\": " + chaineJSON(r.cas.repertoire)
+						+ ", \"fichier\": " + chaineJSON(r.cas.graphe.getName())
+						+ ", \"noeuds\": " + r.nbSommets
+						+ ", \"statut\": \"" + r.statut + "\""
+						+ ", \"lecture_ms\": " + millisecondes(r.dureeLecture)
+						+ ", \"requete_ms\": " + millisecondes(r.dureeRequete)
+						+ ", \"distance_attendue\": " + (r.distanceAttendue == IGraphe.INFINI ? "null" : r.distanceAttendue)
+						+ ", \"distance_calculee\": " + (r.distanceCalculee == IGraphe.INFINI ? "null" : r.distanceCalculee)
+						+ ", \"message\": " + chaineJSON(r.message) + "}");
+				out.println(i + 1 < resultats.size() ? "," : "");
+			}
+			out.println("]");
+		}
+	}
+
+	private static String millisecondes(long nanosecondes) {
+		return String.format(java.util.Locale.ROOT, "%.3f", nanosecondes / 1e6);
+	}
+
+	private static String chaineJSON(String s) {
+		StringBuilder sb = new StringBuilder("\"");
+		for (char c : s.toCharArray()) {
+			if (c == '"' || c == '\\')
+				sb.append('\\').append(c);
+			else if (c < 0x20)
+				sb.append(String.format("\\u%04x", (int) c));
+			else
+				sb.append(c);
+		}
+		return sb.append('"').toString();
+	}
+
+	public static void main(String[] args) throws Exception {
+		String algo = "PCCAutomatique";
+		long budget = 0;
+		int fils = Runtime.getRuntime().availableProcessors();
+		File csv = null, json = null;
+		List<String> repertoires = new ArrayList<>();
+		for (int i = 0; i < args.length; ++i) {
+			switch (args[i]) {
+			case "-algo": algo = args[++i]; break;
+			case "-budget": budget = Long.parseLong(args[++i]); break;
+			case "-fils": fils = Integer.parseInt(args[++i]); break;
+			case "-csv": csv = new File(args[++i]); break;
+			case "-json": json = new File(args[++i]); break;
+			default: repertoires.add(args[i]);
+			}
+		}
+		IPCC pcc = (IPCC) Class.forName("pcc." + algo).getDeclaredConstructor().newInstance();
+
+		Corpus corpus = new Corpus();
+		List<Cas> cas = corpus.decouvrir(repertoires.toArray(new String[0]));
+		ForkJoinPool pool = new ForkJoinPool(fils);
+		List<Resultat> resultats;
+		long debut = System.nanoTime();
+		try {
+			resultats = corpus.verifier(cas, pcc, pool, budget);
+		}
+		finally {
+			pool.shutdown();
+		}
+		long duree = System.nanoTime() - debut;
+
+		if (csv != null)
+			ecrireCSV(resultats, csv);
+		if (json != null)
+			ecrireJSON(resultats, json);
+		List<Resultat> echecs = new ArrayList<>(resultats);
+		echecs.removeIf(Resultat::estOK);
+		Collections.reverse(echecs);
+		for (Resultat r : echecs)
+			System.out.println(r.statut + " " + r.cas.graphe + " : " + r.message);
+		System.out.println(resultats.size() + " fichiers, " + echecs.size() + " en chec, "
+				+ millisecondes(duree) + " ms avec " + fils + " fils");
+		if (!echecs.isEmpty())
+			System.exit(1);
+	}
+}
@@ -0,0 +1,150 @@
+package graphes.ihm;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import graphes.types.GrapheCSR;
+import graphes.types.GrapheHorsTas;
+import pcc.ClassificationGraphe;
+
+/**
+ * Format binaire des graphes, projetable en mmoire sans analyse ni copie.
+ * Tous les entiers sont sur 4 octets, petit-boutistes :
+ * 		- en-tte de TAILLE_ENTETE octets : MAGIC, VERSION, drapeaux, nombre de
+ * 		  noeuds n, nombre d'arcs m, dbut et fin du chemin  trouver, 0
+ * 		- debuts (n + 1 entiers), puis cibles et valuations (m entiers chacun),
+ * 		  au format CSR de GrapheCSR : arcs tris par source puis par cible
+ */
+public final class FormatBinaire {
+	public static final int MAGIC = 0x46415247;	// "GRAF"
+	public static final int VERSION = 1;
+	public static final int TAILLE_ENTETE = 32;
+
+	// Drapeaux
+	public static final int ARCS_NEGATIFS = 1;
+	public static final int SANS_CIRCUIT = 2;
+
+	private FormatBinaire() {}
+
+	/**
+	 * @brief Convertit des fichiers texte (ou tous les .txt de rpertoires) au
+	 * format binaire : g-10-1.txt donne g-10-1.bin,  ct
+	 * @param args Fichiers ou rpertoires  convertir
+	 */
+	public static void main(String[] args) throws IOException {
+		for (String nom : args) {
+			File f = new File(nom);
+			File[] fichiers = f.isDirectory() ? f.listFiles((d, n) -> n.endsWith(".txt")) : new File[] {f};
+			for (File fichier : fichiers) {
+				File destination = new File(fichier.getPath().replaceAll("\\.txt$", "") + ".bin");
+				convertir(fichier, destination);
+				System.out.println(fichier + " => " + destination);
+			}
+		}
+	}
+
+	/**
+	 * @param texte Fichier au format texte de graphes/
+	 * @param binaire Fichier binaire  crer (ou remplacer)
+	 */
+	public static void convertir(File texte, File binaire) throws IOException {
+		Arc df = new Arc();
+		GrapheCSR g = (GrapheCSR) GrapheImporter.importer(texte, df, GrapheCSR::new);
+		ecrire(g, df, binaire);
+	}
+
+	/**
+	 * @param g Graphe  crire
+	 * @param df Dbut et fin du chemin  trouver
+	 * @param fichier Fichier binaire  crer (ou remplacer)
+	 */
+	public static void ecrire(GrapheCSR g, Arc df, File fichier) throws IOException {
+		int n = g.getNbSommets(), m = g.getNbArcs();
+		ClassificationGraphe c = ClassificationGraphe.de(g);
+		int drapeaux = 0;
+		if (c.aArcNegatif())
+			drapeaux |= ARCS_NEGATIFS;
+		if (c.estSansCircuit())
+			drapeaux |= SANS_CIRCUIT;
+
+		try (FileChannel canal = FileChannel.open(fichier.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			ByteBuffer tampon = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+			tampon.putInt(MAGIC).putInt(VERSION).putInt(drapeaux).putInt(n).putInt(m)
+					.putInt(df.getSource()).putInt(df.getDestination()).putInt(0);
+			for (int i = 0; i <= n; ++i)
+				ecrire(canal, tampon, i == 0 ? 0 : g.finSuccesseurs(i));
+			for (int k = 0; k < m; ++k)
+				ecrire(canal, tampon, g.cible(k));
+			for (int k = 0; k < m; ++k)
+				ecrire(canal, tampon, g.valuation(k));
+			vider(canal, tampon);
+		}
+	}
+
+	private static void ecrire(FileChannel canal, ByteBuffer tampon, int valeur) throws IOException {
+		if (!tampon.hasRemaining())
+			vider(canal, tampon);
+		tampon.putInt(valeur);
+	}
+
+	private static void vider(FileChannel canal, ByteBuffer tampon) throws IOException {
+		tampon.flip();
+		while (tampon.hasRemaining())
+			canal.write(tampon);
+		tampon.clear();
+	}
+
+	/**
+	 * @brief Projette le fichier en mmoire : seul l'en-tte et les dbuts de
+	 * tranches sont lus, les arcs le seront  la demande par le systme. Les
+	 * drapeaux de l'en-tte sont renseigns sur le graphe (ClassificationGraphe) :
+	 * la vrification d'un algorithme (Dijkstra.estOK...) ne parcourt pas les arcs.
+	 * @param fichier Fichier binaire
+	 * @param df[out] Dbut et fin du chemin  trouver
+	 * @return Graphe,  fermer pour librer la projection
+	 * @throws IllegalArgumentException Le fichier n'est pas un graphe binaire valide
+	 */
+	public static GrapheHorsTas lire(File fichier, Arc df) throws IOException {
+		try (FileChannel canal = FileChannel.open(fichier.toPath(), StandardOpenOption.READ)) {
+			long taille = canal.size();
+			if (taille < TAILLE_ENTETE || taille > Integer.MAX_VALUE)
+				throw new IllegalArgumentException(fichier + " n'est pas un graphe binaire");
+			// La projection reste valide aprs la fermeture du canal
+			MappedByteBuffer tampon = canal.map(FileChannel.MapMode.READ_ONLY, 0, taille);
+			tampon.order(ByteOrder.LITTLE_ENDIAN);
+			if (tampon.getInt(0) != MAGIC)
+				throw new IllegalArgumentException(fichier + " n'est pas un graphe binaire");
+			if (tampon.getInt(4) != VERSION)
+				throw new IllegalArgumentException(fichier + " : version " + tampon.getInt(4) + " non prise en charge");
+			int n = tampon.getInt(12), m = tampon.getInt(16);
+			if (TAILLE_ENTETE + (long) GrapheHorsTas.taille(n, m) != taille)
+				throw new IllegalArgumentException(fichier + " : taille incohrente");
+			df.set(new Arc(tampon.getInt(20), 0, tampon.getInt(24)));
+			int drapeaux = tampon.getInt(8);
+			GrapheHorsTas g = GrapheHorsTas.projeter(tampon, TAILLE_ENTETE, n, m);
+			ClassificationGraphe.connaitre(g, (drapeaux & ARCS_NEGATIFS) != 0, (drapeaux & SANS_CIRCUIT) != 0);
+			return g;
+		}
+	}
+
+	/**
+	 * @param fichier Fichier binaire
+	 * @return Drapeaux du graphe (ARCS_NEGATIFS, SANS_CIRCUIT)
+	 * @throws IllegalArgumentException Le fichier n'est pas un graphe binaire valide
+	 */
+	public static int lireDrapeaux(File fichier) throws IOException {
+		try (FileChannel canal = FileChannel.open(fichier.toPath(), StandardOpenOption.READ)) {
+			ByteBuffer entete = ByteBuffer.allocate(TAILLE_ENTETE).order(ByteOrder.LITTLE_ENDIAN);
+			while (entete.hasRemaining() && canal.read(entete) >= 0);
+			if (entete.hasRemaining() || entete.getInt(0) != MAGIC)
+				throw new IllegalArgumentException(fichier + " n'est pas un graphe binaire");
+			return entete.getInt(8);
+		}
+	}
+}
@@ -0,0 +1,362 @@
+package graphes.ihm;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import exceptions.NoPathEx;
+import graphes.IGraphe;
+import graphes.ResultatPCC;
+import graphes.types.GrapheCSR;
+import pcc.ClassificationGraphe;
+import pcc.PCCAutomatique;
+import pcc.Taches;
+
+/**
+ * Gnre des graphes au format texte de graphes/ (nombre de noeuds, un arc
+ * "source valuation cible" par ligne, puis "dbut 0 fin" du chemin  trouver),
+ * de taille quelconque : les noeuds sont dcoups en blocs, gnrs en
+ * parallle et crits dans l'ordre au fur et  mesure, sans jamais garder le
+ * graphe en mmoire. Chaque bloc a son propre gnrateur, driv de la graine :
+ * le fichier ne dpend que des paramtres, pas du nombre de fils.
+ *
+ * En ligne de commande :
+ * 		java graphes.ihm.GenerateurGraphes famille noeuds arcs graphe.txt [reponse.txt]
+ * 				[-graine g] [-vmax v] [-fils n]
+ * famille est le nom d'une Famille (en minuscules accept) ; la rponse, au
+ * format de reponses/, est calcule par PCCAutomatique sur le graphe relu.
+ */
+public final class GenerateurGraphes {
+	/**
+	 * Familles de graphes. Les valuations "de base" sont tires dans [1, vmax].
+	 */
+	public enum Famille {
+		// Arcs vers des noeuds tirs uniformment, degr sortant arcs / noeuds
+		ALEATOIRE,
+		// Grille carre, arcs dans les deux sens entre voisins, de mme valuation
+		// (type rseau routier) ; le nombre d'arcs est fix par la grille
+		GRILLE,
+		// Cibles tires selon une loi de puissance : les premiers noeuds concentrent
+		// les arcs entrants (degrs entrants en k^-2,5)
+		PUISSANCE,
+		// Couches successives d'environ racine(noeuds) noeuds, arcs vers les deux
+		// couches suivantes seulement : sans circuit (cas sc / Bellman)
+		DAG_COUCHES,
+		// Comme ALEATOIRE, chaque arc u -> v revalu en w + p(u) - p(v) pour un
+		// potentiel p alatoire dans [0, 2.vmax] : nombreux arcs ngatifs, mais
+		// tout circuit garde sa valuation w positive, donc aucun circuit absorbant
+		NEGATIFS
+	}
+
+	// Arcs viss par bloc : quelques Mo de texte, un bloc par tche
+	private static final int ARCS_PAR_BLOC = 1 << 18;
+
+	private final Famille famille;
+	private final int nbSommets;
+	private final long nbArcs;
+	private final long graine;
+	private final int valuationMax;
+	// Dcoupage en couches (DAG_COUCHES) ou en lignes (GRILLE)
+	private final int largeur;
+
+	/**
+	 * @param famille Famille de graphe
+	 * @param nbSommets Nombre de noeuds, au moins 2
+	 * @param nbArcs Nombre d'arcs vis (ignor pour GRILLE)
+	 * @param graine Graine des tirages
+	 * @param valuationMax Valuation de base maximale, au moins 1
+	 */
+	public GenerateurGraphes(Famille famille, int nbSommets, long nbArcs, long graine, int valuationMax) {
+		if (nbSommets < 2 || nbArcs < 0 || valuationMax < 1)
+			throw new IllegalArgumentException();
+		this.famille = famille;
+		this.nbSommets = nbSommets;
+		this.nbArcs = nbArcs;
+		this.graine = graine;
+		this.valuationMax = valuationMax;
+		this.largeur = (int) Math.ceil(Math.sqrt(nbSommets));
+	}
+
+	/**
+	 * @brief crit le graphe dans un fichier
+	 * @param fichier Fichier  crer (ou remplacer)
+	 * @param pool Pool sur lequel rpartir les blocs
+	 */
+	public void ecrire(File fichier, ForkJoinPool pool) throws IOException {
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(fichier), 1 << 16)) {
+			ecrire(out, pool);
+		}
+	}
+
+	/**
+	 * @brief crit le graphe dans un flux, bloc par bloc : au plus deux blocs par
+	 * fil sont en mmoire  la fois
+	 * @param out Flux de sortie, laiss ouvert
+	 * @param pool Pool sur lequel rpartir les blocs
+	 */
+	public void ecrire(OutputStream out, ForkJoinPool pool) throws IOException {
+		Tampon entete = new Tampon(16);
+		entete.entier(nbSommets).fin();
+		entete.ecrire(out);
+
+		int degreMoyen = (int) Math.max(1, Math.min(Integer.MAX_VALUE, nbArcs / nbSommets));
+		int noeudsParBloc = Math.max(1, ARCS_PAR_BLOC / (famille == Famille.GRILLE ? 4 : degreMoyen));
+		int nbBlocs = (nbSommets + noeudsParBloc - 1) / noeudsParBloc;
+		int fenetre = 2 * pool.getParallelism();
+
+		ArrayDeque<ForkJoinTask<Tampon>> enCours = new ArrayDeque<>();
+		try {
+			int prochain = 0;
+			while (prochain < nbBlocs || !enCours.isEmpty()) {
+				while (prochain < nbBlocs && enCours.size() < fenetre) {
+					int bloc = prochain++;
+					int premier = 1 + bloc * noeudsParBloc;
+					int dernier = (int) Math.min(nbSommets, (long) premier + noeudsParBloc - 1);
+					enCours.add(pool.submit(() -> genererBloc(bloc, premier, dernier)));
+				}
+				Taches.attendre(enCours.remove()).ecrire(out);
+			}
+		} finally {
+			for (ForkJoinTask<Tampon> tache : enCours)
+				tache.cancel(false);
+		}
+
+		Tampon fin = new Tampon(32);
+		fin.entier(1).espace().entier(0).espace().entier(destination()).fin();
+		fin.ecrire(out);
+	}
+
+	/**
+	 * @return Noeud d'arrive du chemin  trouver (le dpart est le noeud 1)
+	 */
+	public int destination() {
+		switch (famille) {
+		case GRILLE:
+		case DAG_COUCHES:
+			return nbSommets;
+		default:
+			return 2 + (int) Long.remainderUnsigned(melanger(graine ^ 0x5DEECE66DL), nbSommets - 1);
+		}
+	}
+
+	/**
+	 * @return Arcs des noeuds premier..dernier, au format texte
+	 */
+	private Tampon genererBloc(int bloc, int premier, int dernier) {
+		SplittableRandom r = new SplittableRandom(melanger(graine + melanger(bloc)));
+		Tampon t = new Tampon(64 * 1024);
+		for (int u = premier; u <= dernier; ++u) {
+			switch (famille) {
+			case GRILLE:
+				genererGrille(u, r, t);
+				break;
+			case DAG_COUCHES:
+				genererCouches(u, r, t);
+				break;
+			default:
+				genererAleatoire(u, r, t);
+			}
+		}
+		return t;
+	}
+
+	/**
+	 * @return Degr sortant du noeud u, pour que les degrs totalisent nbArcs
+	 */
+	private int degre(int u) {
+		return (int) (nbArcs / nbSommets + (u <= nbArcs % nbSommets ? 1 : 0));
+	}
+
+	private int valuation(SplittableRandom r) {
+		return 1 + r.nextInt(valuationMax);
+	}
+
+	private void genererAleatoire(int u, SplittableRandom r, Tampon t) {
+		for (int k = degre(u); k > 0; --k) {
+			int v = famille == Famille.PUISSANCE
+					? 1 + (int) (nbSommets * Math.pow(r.nextDouble(), 3))
+					: 1 + r.nextInt(nbSommets);
+			if (v == u)
+				v = u % nbSommets + 1;
+			int w = valuation(r);
+			if (famille == Famille.NEGATIFS)
+				w += potentiel(u) - potentiel(v);
+			t.arc(u, w, v);
+		}
+	}
+
+	private void genererGrille(int u, SplittableRandom r, Tampon t) {
+		if ((u - 1) % largeur + 1 < largeur && u < nbSommets) {
+			int w = valuation(r);
+			t.arc(u, w, u + 1).arc(u + 1, w, u);
+		}
+		if ((long) u + largeur <= nbSommets) {
+			int w = valuation(r);
+			t.arc(u, w, u + largeur).arc(u + largeur, w, u);
+		}
+	}
+
+	private void genererCouches(int u, SplittableRandom r, Tampon t) {
+		int couche = (u - 1) / largeur;
+		long debut = (long) (couche + 1) * largeur + 1;
+		if (debut > nbSommets)
+			return;
+		int nbCibles = (int) (Math.min(nbSommets, debut + 2L * largeur - 1) - debut + 1);
+		for (int k = degre(u); k > 0; --k)
+			t.arc(u, valuation(r), (int) debut + r.nextInt(nbCibles));
+	}
+
+	/**
+	 * @return Potentiel du noeud (NEGATIFS), dans [0, 2.vmax], sans mmoire
+	 */
+	private int potentiel(int noeud) {
+		return (int) Long.remainderUnsigned(melanger(graine ^ melanger(~noeud)), 2L * valuationMax + 1);
+	}
+
+	/**
+	 * @return Mlange de z (finaliseur de SplitMix64)
+	 */
+	private static long melanger(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * @brief crit la rponse attendue au format de reponses/ : nom de
+	 * l'algorithme, distance et chemin, ou "pas de chemin entre a et b". Le
+	 * graphe est relu entirement en mmoire et rsolu par PCCAutomatique.
+	 * @param graphe Fichier du graphe
+	 * @param reponse Fichier  crer (ou remplacer)
+	 */
+	public static void ecrireReponse(File graphe, File reponse) throws IOException {
+		Arc df = new Arc();
+		IGraphe g = GrapheImporter.importer(graphe, df, GrapheCSR::new);
+		ClassificationGraphe c = ClassificationGraphe.de(g);
+		String algorithme = c.estSansCircuit() ? "Bellman sans circuit"
+				: !c.aArcNegatif() ? "Dijkstra" : "Bellman-Ford";
+		ResultatPCC resultat = new ResultatPCC();
+		StringBuilder sb = new StringBuilder();
+		try {
+			int distance = new PCCAutomatique().pc(g, df.getSource(), df.getDestination(), resultat);
+			sb.append(algorithme).append('\n').append(distance).append('\n');
+			for (int i = 0; i < resultat.getLongueur(); ++i)
+				sb.append(resultat.getNoeud(i)).append(' ');
+		}
+		catch (NoPathEx e) {
+			sb.append("pas de chemin entre ").append(df.getSource()).append(" et ").append(df.getDestination());
+		}
+		try (PrintWriter out = new PrintWriter(reponse, StandardCharsets.ISO_8859_1)) {
+			out.print(sb);
+		}
+	}
+
+	/**
+	 * Texte ASCII d'un bloc, crit sans passer par String
+	 */
+	private static final class Tampon {
+		private byte[] octets;
+		private int taille;
+
+		Tampon(int capacite) {
+			octets = new byte[capacite];
+		}
+
+		Tampon arc(int source, int valuation, int cible) {
+			return entier(source).espace().entier(valuation).espace().entier(cible).fin();
+		}
+
+		Tampon entier(int valeur) {
+			if (octets.length - taille < 12)
+				octets = Arrays.copyOf(octets, octets.length * 2);
+			long v = valeur;
+			if (v < 0) {
+				octets[taille++] = '-';
+				v = -v;
+			}
+			int debut = taille;
+			do {
+				octets[taille++] = (byte) ('0' + v % 10);
+				v /= 10;
+			} while (v != 0);
+			for (int i = debut, j = taille - 1; i < j; ++i, --j) {
+				byte c = octets[i];
+				octets[i] = octets[j];
+				octets[j] = c;
+			}
+			return this;
+		}
+
+		Tampon espace() {
+			return caractere(' ');
+		}
+
+		Tampon fin() {
+			return caractere('\n');
+		}
+
+		private Tampon caractere(char c) {
+			if (taille == octets.length)
+				octets = Arrays.copyOf(octets, octets.length * 2);
+			octets[taille++] = (byte) c;
+			return this;
+		}
+
+		void ecrire(OutputStream out) throws IOException {
+			out.write(octets, 0, taille);
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		long graine = 1;
+		int valuationMax = 10;
+		int fils = Runtime.getRuntime().availableProcessors();
+		String[] positions = new String[5];
+		int nbPositions = 0;
+		for (int i = 0; i < args.length; ++i) {
+			switch (args[i]) {
+			case "-graine": graine = Long.parseLong(args[++i]); break;
+			case "-vmax": valuationMax = Integer.parseInt(args[++i]); break;
+			case "-fils": fils = Integer.parseInt(args[++i]); break;
+			default:
+				if (nbPositions == positions.length)
+					throw new IllegalArgumentException("Argument en trop : " + args[i]);
+				positions[nbPositions++] = args[i];
+			}
+		}
+		if (nbPositions < 4) {
+			System.out.println("java graphes.ihm.GenerateurGraphes famille noeuds arcs graphe.txt [reponse.txt]"
+					+ " [-graine g] [-vmax v] [-fils n]");
+			System.out.println("familles : " + Arrays.toString(Famille.values()));
+			return;
+		}
+		GenerateurGraphes generateur = new GenerateurGraphes(Famille.valueOf(positions[0].toUpperCase()),
+				Integer.parseInt(positions[1]), Long.parseLong(positions[2]), graine, valuationMax);
+		File graphe = new File(positions[3]);
+		ForkJoinPool pool = new ForkJoinPool(fils);
+		long debut = System.nanoTime();
+		try {
+			generateur.ecrire(graphe, pool);
+		}
+		finally {
+			pool.shutdown();
+		}
+		System.out.println(graphe + " : " + graphe.length() + " octets en "
+				+ (System.nanoTime() - debut) / 1000000 + " ms");
+		if (nbPositions == 5) {
+			File reponse = new File(positions[4]);
+			debut = System.nanoTime();
+			ecrireReponse(graphe, reponse);
+			System.out.println(reponse + " en " + (System.nanoTime() - debut) / 1000000 + " ms");
+		}
+	}
+}
@@ -4,12 +4,15 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
 
 import exceptions.NoPathEx;
+import graphes.IFabriqueGraphe;
 import graphes.IGraphe;
 import graphes.IPCC;
+import graphes.types.GrapheHorsTas;
 import graphes.types.GrapheLA;
 import pcc.Dijkstra;
 
@@ -79,6 +82,16 @@ public class GrapheImporter {
 	
 	public static boolean comparer(String fichierGraphe, String fichierReponse, IPCC algo)
 					throws NumberFormatException, IOException {
+		return comparer(fichierGraphe, fichierReponse, algo, false);
+	}
+	
+	/**
+	 * Compare le chemin calcul par l'algorithme  la rponse attendue
+	 * @param bavard Affiche les chemins et les distances compars
+	 * @return true si la distance est celle attendue et que le chemin est valide
+	 */
+	public static boolean comparer(String fichierGraphe, String fichierReponse, IPCC algo, boolean bavard)
+					throws NumberFormatException, IOException {
 		ArrayList<Integer> cheminPossible = new ArrayList<>();
 		ArrayList<Integer> cheminCalcule = new ArrayList<>();
 		Arc df = new Arc();
@@ -87,17 +100,20 @@ public class GrapheImporter {
 		try {
 			int distanceCalculee = algo.pc(g, df.getSource(), df.getDestination(), cheminCalcule);
 			int distanceAttendue = GrapheImporter.importerReponse(fichierReponse, cheminPossible);
-			System.out.println(fichierGraphe + " vs " +  fichierReponse);
-			System.out.println("Chemin possible : "+ cheminToString(cheminPossible));
-			System.out.println("Chemin calcule : "+ cheminToString(cheminCalcule));
-			System.out.println("Distance attendue : " + distanceAttendue);
-			System.out.println("Distance calculee : " + distanceCalculee);
+			if (bavard) {
+				System.out.println(fichierGraphe + " vs " +  fichierReponse);
+				System.out.println("Chemin possible : "+ cheminToString(cheminPossible));
+				System.out.println("Chemin calcule : "+ cheminToString(cheminCalcule));
+				System.out.println("Distance attendue : " + distanceAttendue);
+				System.out.println("Distance calculee : " + distanceCalculee);
+			}
 			if (distanceCalculee != distanceAttendue)
 				return false;
 			int distanceVerifiee = g.distance(cheminCalcule);
 			if (distanceVerifiee == IGraphe.INFINI)
 				throw new RuntimeException("Le chemin retourne est invalide");
-			System.out.println("Distance verifiee "+ distanceVerifiee);
+			if (bavard)
+				System.out.println("Distance verifiee "+ distanceVerifiee);
 			return true;
 		}
 		
@@ -112,10 +128,10 @@ public class GrapheImporter {
 		}
 	}
 	
-public static void verifierGraphes() throws FileNotFoundException {
+public static void verifierGraphes() throws IOException {
 	IGraphe g;
 	Arc df = new Arc(); 
-	String dirStr = System.getProperty("user.dir")+ "\\graphes\\sc";
+	String dirStr = System.getProperty("user.dir")+ File.separator + "graphes" + File.separator + "sc";
 	System.out.println("Working Directory = " + dirStr);
 	File dir = new File(dirStr);
 	  File[] directoryListing = dir.listFiles();
@@ -157,31 +173,59 @@ public static void verifierGraphes() throws FileNotFoundException {
 	 * @param file
 	 * @param df
 	 * @return
-	 * @throws FileNotFoundException
+	 * @throws IOException
 	 */
-	private static IGraphe importer(File file, Arc df) throws FileNotFoundException {
-		Scanner sc = new Scanner(file);
-		String line;
-		IGraphe g;
-		if (! sc.hasNextLine()) {
-			sc.close();
-    		throw new IllegalArgumentException("Pas de graphe dans "+ file);
-		}
-		line = sc.nextLine();
-		int nbNodes = Integer.parseInt(line.trim());
-		g = new GrapheLA(nbNodes);
-		Arc a;
-		while (sc.hasNextLine()) {
-			line = sc.nextLine();
-			a = parse(line);
-			if (sc.hasNextLine())
-				g.ajouterArc(a.getSource(),  a.getValuation(), a.getDestination());
-			else {// la derniere ligne n'est pas un arc mais le debut et la fin du chemin à trouver
-				df.set(a);
+	private static IGraphe importer(File file, Arc df) throws IOException {
+		return importer(file, df, GrapheLA::new);
+	}
+	
+	/**
+	 * Retourne le graphe initialis, construit en une fois par la fabrique.
+	 * Les entiers sont lus directement depuis les octets du fichier, sans
+	 * objet intermdiaire par ligne ; la dernire ligne n'est pas un arc mais
+	 * le dbut et la fin du chemin  trouver.
+	 * @param file
+	 * @param df
+	 * @param fabrique Type de graphe  construire (GrapheLA::new, GrapheCSR::new...)
+	 * @return
+	 * @throws IOException
+	 */
+	public static IGraphe importer(File file, Arc df, IFabriqueGraphe fabrique) throws IOException {
+		try (LecteurEntiers lecteur = new LecteurEntiers(file)) {
+			if (!lecteur.suivant())
+				throw new IllegalArgumentException("Pas de graphe dans "+ file);
+			int nbNodes = lecteur.valeur();
+			
+			// Environ 8 octets par arc dans les fichiers fournis
+			int capacite = (int) Math.max(16, Math.min(Integer.MAX_VALUE - 8, file.length() / 8));
+			int[] sources = new int[capacite];
+			int[] valuations = new int[capacite];
+			int[] cibles = new int[capacite];
+			int nbTriplets = 0;
+			
+			while (lecteur.suivant()) {
+				if (nbTriplets == sources.length) {
+					capacite = sources.length * 2;
+					sources = Arrays.copyOf(sources, capacite);
+					valuations = Arrays.copyOf(valuations, capacite);
+					cibles = Arrays.copyOf(cibles, capacite);
+				}
+				sources[nbTriplets] = lecteur.valeur();
+				if (!lecteur.suivant())
+					throw new IllegalArgumentException(sources[nbTriplets] + " n'est pas un arc");
+				valuations[nbTriplets] = lecteur.valeur();
+				if (!lecteur.suivant())
+					throw new IllegalArgumentException(sources[nbTriplets] + " " + valuations[nbTriplets] + " n'est pas un arc");
+				cibles[nbTriplets++] = lecteur.valeur();
+			}
+			
+			// le dernier triplet n'est pas un arc mais le debut et la fin du chemin  trouver
+			if (nbTriplets > 0) {
+				--nbTriplets;
+				df.set(new Arc(sources[nbTriplets], valuations[nbTriplets], cibles[nbTriplets]));
 			}
+			return fabrique.creer(nbNodes, sources, valuations, cibles, nbTriplets);
 		}
-		sc.close();
-		return g;		
 	}
 	
 	/**
@@ -199,6 +243,30 @@ public static void verifierGraphes() throws FileNotFoundException {
 		return importer(file, df);
       }
 	
+	/**
+	 * Retourne le graphe initialis, construit par la fabrique
+	 * @param filepath
+	 * @param df
+	 * @param fabrique Type de graphe  construire
+	 * @return
+	 * @throws IOException
+	 */
+	public static IGraphe importer(String filepath, Arc df, IFabriqueGraphe fabrique) throws IOException {
+		return importer(new File(filepath), df, fabrique);
+	}
+	
+	/**
+	 * Retourne le graphe projet en mmoire depuis un fichier au format binaire
+	 * (voir FormatBinaire), sans analyse ni copie des arcs
+	 * @param file
+	 * @param df
+	 * @return Graphe,  fermer pour librer la projection
+	 * @throws IOException
+	 */
+	public static GrapheHorsTas importerBinaire(File file, Arc df) throws IOException {
+		return FormatBinaire.lire(file, df);
+	}
+	
 	/**
 	 * Retourne la distance et le chemin
 	 * @param filePath
@@ -207,19 +275,42 @@ public static void verifierGraphes() throws FileNotFoundException {
 	 * @throws FileNotFoundException
 	 */
 	public static int importerReponse(String filePath, List<Integer> chemin) throws FileNotFoundException {
-		File file = new File(filePath);
+		return importerReponse(new File(filePath), chemin);
+	}
+	
+	/**
+	 * Retourne la distance et le chemin, ou INFINI (chemin laiss vide) si la
+	 * rponse indique qu'il n'y a pas de chemin
+	 * @param file
+	 * @param[inout] chemin
+	 * @return distance
+	 * @throws FileNotFoundException
+	 */
+	public static int importerReponse(File file, List<Integer> chemin) throws FileNotFoundException {
 		Scanner sc = new Scanner(file);
 		String line;
 		if (! sc.hasNextLine()) {
 			sc.close();
     		throw new IllegalArgumentException("Pas de reponse dans "+ file);
 		}
-		line = sc.nextLine(); // nom de l'algo recommand
+		line = sc.nextLine(); // nom de l'algo recommand, ou absence de chemin
+		if (line.trim().startsWith("pas de chemin")) {
+			sc.close();
+			return IGraphe.INFINI;
+		}
+		if (! sc.hasNextLine()) {
+			sc.close();
+			throw new IllegalArgumentException("Reponse incomplete dans "+ file);
+		}
 		line = sc.nextLine(); // distance attendue
 		int distance = Integer.parseInt(line.trim());
+		if (! sc.hasNextLine()) {
+			sc.close();
+			throw new IllegalArgumentException("Reponse incomplete dans "+ file);
+		}
 		line = sc.nextLine(); // chemin
 		sc.close();
-		String[] noeuds = line.split(" ");
+		String[] noeuds = line.trim().split("\\s+");
 		for(String s : noeuds)
 			chemin.add(Integer.parseInt(s));
 		return distance;
@@ -0,0 +1,99 @@
+package graphes.ihm;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lit une suite d'entiers spars par des blancs directement depuis les
+ * octets d'un fichier, par blocs, sans crer d'objet par ligne.
+ */
+final class LecteurEntiers implements AutoCloseable {
+	private static final int TAILLE_TAMPON = 1 << 20;
+
+	private final FileChannel canal;
+	private final ByteBuffer tampon;
+	private final byte[] octets;
+	private int position;
+	private int limite;
+	private int valeur;
+
+	LecteurEntiers(File fichier) throws IOException {
+		canal = FileChannel.open(fichier.toPath(), StandardOpenOption.READ);
+		tampon = ByteBuffer.allocate(TAILLE_TAMPON);
+		octets = tampon.array();
+		position = limite = 0;
+	}
+
+	/**
+	 * @return Le dernier entier lu par suivant()
+	 */
+	int valeur() {
+		return valeur;
+	}
+
+	/**
+	 * @brief Lit l'entier suivant
+	 * @return true si un entier a t lu, false si la fin du fichier est atteinte
+	 * @throws IOException Erreur de lecture
+	 * @throws IllegalArgumentException Le fichier contient autre chose qu'un entier
+	 */
+	boolean suivant() throws IOException, IllegalArgumentException {
+		int c = octetSuivant();
+		while (estBlanc(c))
+			c = octetSuivant();
+		if (c < 0)
+			return false;
+
+		boolean negatif = c == '-';
+		if (negatif)
+			c = octetSuivant();
+		if (c < '0' || c > '9')
+			throw new IllegalArgumentException("caractre inattendu : " + (char) c);
+
+		long v = 0;
+		do {
+			v = v * 10 + (c - '0');
+			if (v > 1L + Integer.MAX_VALUE)
+				throw new IllegalArgumentException("entier trop grand");
+			c = octetSuivant();
+		} while (c >= '0' && c <= '9');
+
+		if (c >= 0 && !estBlanc(c))
+			throw new IllegalArgumentException("caractre inattendu : " + (char) c);
+		v = negatif ? -v : v;
+		if (v > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("entier trop grand");
+		valeur = (int) v;
+		return true;
+	}
+
+	private static boolean estBlanc(int c) {
+		return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+	}
+
+	/**
+	 * @return L'octet suivant, -1 en fin de fichier
+	 */
+	private int octetSuivant() throws IOException {
+		if (position == limite) {
+			tampon.clear();
+			int lus;
+			do {
+				lus = canal.read(tampon);
+			} while (lus == 0);
+			if (lus < 0)
+				return -1;
+			position = 0;
+			limite = lus;
+		}
+		return octets[position++];
+	}
+
+	@Override
+	public void close() throws IOException {
+		canal.close();
+	}
+}
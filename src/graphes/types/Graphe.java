@@ -1,8 +1,89 @@
 package graphes.types;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import graphes.IEcouteurArc;
 import graphes.IGraphe;
 
 public abstract class Graphe implements IGraphe {
+	// Incrmente  chaque modification du graphe
+	private long version = 0;
+	// Proprits drives, valables pour la version versionMemoire
+	private final Map<Object, Object> memoire = new HashMap<>();
+	private long versionMemoire = 0;
+	// Prvenus de chaque ajout d'arc, dans l'ordre d'inscription
+	private final List<IEcouteurArc> ecouteurs = new CopyOnWriteArrayList<>();
+	
+	@Override
+	public long getVersion() {
+		return version;
+	}
+	
+	/**
+	 * @brief Le calcul est fait hors verrou : il peut lui-mme mmoriser d'autres
+	 * proprits. Deux fils peuvent alors calculer la mme proprit, le premier
+	 * rsultat est conserv.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T memoriser(Object cle, Function<IGraphe, T> calcul) {
+		long v;
+		synchronized (memoire) {
+			v = version;
+			if (versionMemoire != v) {
+				memoire.clear();
+				versionMemoire = v;
+			}
+			Object valeur = memoire.get(cle);
+			if (valeur != null)
+				return (T) valeur;
+		}
+		T valeur = calcul.apply(this);
+		synchronized (memoire) {
+			if (versionMemoire == v && version == v)
+				return (T) memoire.computeIfAbsent(cle, c -> valeur);
+		}
+		return valeur;
+	}
+	
+	/**
+	 * @brief Signale une modification du graphe (ajout ou changement d'arc)
+	 */
+	protected void modifier() {
+		++version;
+	}
+	
+	/**
+	 * @brief Signale l'ajout ou le changement d'un arc, puis en prvient les couteurs
+	 * @param a Noeud de dpart de l'arc
+	 * @param v Nouvelle valuation de l'arc
+	 * @param b Noeud de destination de l'arc
+	 * @param remplacee Valuation remplace, INFINI si l'arc s'ajoute aux existants
+	 */
+	protected void modifier(int a, int v, int b, int remplacee) {
+		modifier();
+		for (IEcouteurArc ecouteur : ecouteurs)
+			ecouteur.arcAjoute(a, v, b, remplacee);
+	}
+	
+	/**
+	 * @param ecouteur Prvenu de chaque ajout d'arc  venir, jusqu' son retrait
+	 */
+	public void ajouterEcouteur(IEcouteurArc ecouteur) {
+		ecouteurs.add(ecouteur);
+	}
+	
+	/**
+	 * @param ecouteur couteur  ne plus prvenir
+	 */
+	public void retirerEcouteur(IEcouteurArc ecouteur) {
+		ecouteurs.remove(ecouteur);
+	}
+	
 	/**
 	 * @param n Numro du noeud  tester
 	 * @return true si le noeud peut exister, false sinon
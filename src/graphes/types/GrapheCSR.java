@@ -0,0 +1,177 @@
+package graphes.types;
+
+import graphes.IGraphe;
+import graphes.IVisiteurArc;
+
+/**
+ * Graphe immuable au format CSR (compressed sparse row) : les successeurs
+ * d'un noeud occupent une tranche contigu des tableaux cibles et valuations,
+ * dlimite par debuts[i-1] (inclus) et debuts[i] (exclu).
+ * Dans chaque tranche, les arcs sont tris par noeud cible.
+ */
+public class GrapheCSR extends GrapheCompresse {
+	private final int[] debuts;
+	private final int[] cibles;
+	private final int[] valuations;
+	// Graphe invers, construit au premier parcours des prdcesseurs
+	private volatile GrapheCSR inverse;
+
+	/**
+	 * @brief Construit le graphe  partir d'une liste d'arcs
+	 * @param nbNoeuds Nombre de noeuds du graphe
+	 * @param sources Noeud de dpart de chaque arc
+	 * @param valuations Valuation de chaque arc
+	 * @param cibles Noeud de destination de chaque arc
+	 * @param nbArcs Nombre d'arcs  lire dans les tableaux
+	 * @throws IllegalArgumentException Un des arcs ne peut pas exister
+	 */
+	public GrapheCSR(int nbNoeuds, int[] sources, int[] valuations, int[] cibles, int nbArcs)
+			throws IllegalArgumentException {
+		this.debuts = new int[nbNoeuds + 1];
+		this.cibles = new int[nbArcs];
+		this.valuations = new int[nbArcs];
+
+		for (int k = 0; k < nbArcs; ++k)
+			if (sources[k] < 1 || sources[k] > nbNoeuds || cibles[k] < 1 || cibles[k] > nbNoeuds)
+				throw new IllegalArgumentException();
+
+		// Premier tri (par comptage) sur la cible
+		int[] parCible = trierParComptage(nbNoeuds, cibles, nbArcs, null);
+		// Second tri, stable, sur la source : les tranches restent tries par cible
+		int[] ordre = trierParComptage(nbNoeuds, sources, nbArcs, parCible);
+
+		for (int k = 0; k < nbArcs; ++k) {
+			this.cibles[k] = cibles[ordre[k]];
+			this.valuations[k] = valuations[ordre[k]];
+			++debuts[sources[k]];
+		}
+		for (int i = 1; i <= nbNoeuds; ++i)
+			debuts[i] += debuts[i - 1];
+	}
+
+	/**
+	 * @brief Graphe  remplir, debuts[0] = 0
+	 */
+	private GrapheCSR(int nbNoeuds, int nbArcs) {
+		this.debuts = new int[nbNoeuds + 1];
+		this.cibles = new int[nbArcs];
+		this.valuations = new int[nbArcs];
+	}
+
+	/**
+	 * @brief Tri par comptage stable des indices d'arcs selon un noeud
+	 * @param nbNoeuds Nombre de noeuds du graphe
+	 * @param noeuds Noeud associ  chaque arc
+	 * @param nbArcs Nombre d'arcs
+	 * @param ordreInitial Ordre des arcs  conserver entre gaux (null pour l'ordre naturel)
+	 * @return Indices des arcs tris
+	 */
+	static int[] trierParComptage(int nbNoeuds, int[] noeuds, int nbArcs, int[] ordreInitial) {
+		int[] positions = new int[nbNoeuds + 1];
+		for (int k = 0; k < nbArcs; ++k)
+			++positions[noeuds[k]];
+		for (int i = 1; i <= nbNoeuds; ++i)
+			positions[i] += positions[i - 1];
+
+		int[] ordre = new int[nbArcs];
+		for (int k = 0; k < nbArcs; ++k) {
+			int arc = ordreInitial == null ? k : ordreInitial[k];
+			ordre[positions[noeuds[arc] - 1]++] = arc;
+		}
+		return ordre;
+	}
+
+	/**
+	 * @brief Construit le graphe invers (chaque arc a -> b devient b -> a) en O(V+E)
+	 * @param g Graphe  inverser
+	 * @return Graphe invers au format CSR
+	 */
+	public static GrapheCSR inverser(IGraphe g) {
+		int nbNoeuds = g.getNbSommets();
+		int nbArcs = 0;
+		for (int i = 1; i <= nbNoeuds; ++i)
+			nbArcs += g.degreSortant(i);
+		
+		int[] sources = new int[nbArcs];
+		int[] valuations = new int[nbArcs];
+		int[] cibles = new int[nbArcs];
+		int[] k = {0};
+		IVisiteurArc inversion = (a, v, b) -> {
+			sources[k[0]] = b;
+			valuations[k[0]] = v;
+			cibles[k[0]++] = a;
+		};
+		for (int i = 1; i <= nbNoeuds; ++i)
+			g.parcourirSuccesseurs(i, inversion);
+		return new GrapheCSR(nbNoeuds, sources, valuations, cibles, nbArcs);
+	}
+
+	/**
+	 * @return Graphe invers, calcul une seule fois puis conserv
+	 */
+	public GrapheCSR getInverse() {
+		GrapheCSR resultat = inverse;
+		if (resultat == null) {
+			resultat = new GrapheCSR(getNbSommets(), getNbArcs());
+			inverserDans(resultat);
+			inverse = resultat;
+		}
+		return resultat;
+	}
+
+	@Override
+	public int getNbSommets() {
+		return debuts.length - 1;
+	}
+
+	@Override
+	public int getNbArcs() {
+		return cibles.length;
+	}
+
+	@Override
+	public int debutSuccesseurs(int i) {
+		return debuts[i - 1];
+	}
+
+	@Override
+	public int finSuccesseurs(int i) {
+		return debuts[i];
+	}
+
+	@Override
+	public int cible(int k) {
+		return cibles[k];
+	}
+
+	@Override
+	public int valuation(int k) {
+		return valuations[k];
+	}
+
+	@Override
+	void fixerFin(int i, int fin) {
+		debuts[i] = fin;
+	}
+
+	@Override
+	void placer(int k, int cible, int valuation) {
+		cibles[k] = cible;
+		valuations[k] = valuation;
+	}
+
+	@Override
+	public void parcourirSuccesseurs(int a, IVisiteurArc visiteur) {
+		if (!estNoeudOK(a)) throw new IllegalArgumentException();
+		for (int k = debuts[a - 1]; k < debuts[a]; ++k)
+			visiteur.visiter(a, valuations[k], cibles[k]);
+	}
+
+	@Override
+	public void parcourirPredecesseurs(int b, IVisiteurArc visiteur) {
+		if (!estNoeudOK(b)) throw new IllegalArgumentException();
+		GrapheCSR inv = getInverse();
+		for (int k = inv.debuts[b - 1]; k < inv.debuts[b]; ++k)
+			visiteur.visiter(inv.cibles[k], inv.valuations[k], b);
+	}
+}
@@ -0,0 +1,119 @@
+package graphes.types;
+
+/**
+ * Partie commune des graphes immuables au format CSR (GrapheCSR sur le tas,
+ * GrapheHorsTas hors du tas) : les successeurs du noeud i sont les arcs
+ * d'indices debutSuccesseurs(i) (inclus)  finSuccesseurs(i) (exclu), tris
+ * par noeud cible. Seuls les accs aux tableaux dpendent du rangement ; les
+ * parcours de successeurs et de prdcesseurs, appels  chaque relchement,
+ * restent propres  chaque type.
+ */
+abstract class GrapheCompresse extends Graphe {
+	/**
+	 * @return Nombre d'arcs du graphe
+	 */
+	public abstract int getNbArcs();
+
+	/**
+	 * @param i Numro du noeud
+	 * @return Indice du premier arc sortant du noeud i
+	 */
+	public abstract int debutSuccesseurs(int i);
+
+	/**
+	 * @param i Numro du noeud
+	 * @return Indice suivant le dernier arc sortant du noeud i
+	 */
+	public abstract int finSuccesseurs(int i);
+
+	/**
+	 * @param k Indice de l'arc
+	 * @return Noeud de destination de l'arc
+	 */
+	public abstract int cible(int k);
+
+	/**
+	 * @param k Indice de l'arc
+	 * @return Valuation de l'arc
+	 */
+	public abstract int valuation(int k);
+
+	/**
+	 * @brief Fixe la fin de la tranche du noeud i (graphe en construction)
+	 */
+	abstract void fixerFin(int i, int fin);
+
+	/**
+	 * @brief Range l'arc d'indice k (graphe en construction)
+	 */
+	abstract void placer(int k, int cible, int valuation);
+
+	/**
+	 * @brief Remplit inv avec les arcs inverss (chaque arc a -> b devient b -> a)
+	 * en O(V+E)
+	 * @param inv Graphe en construction, de mmes dimensions
+	 */
+	void inverserDans(GrapheCompresse inv) {
+		int nbSommets = getNbSommets();
+		int[] positions = new int[nbSommets + 1];
+		for (int k = 0, nbArcs = getNbArcs(); k < nbArcs; ++k)
+			++positions[cible(k)];
+		for (int i = 1; i <= nbSommets; ++i) {
+			positions[i] += positions[i - 1];
+			inv.fixerFin(i, positions[i]);
+		}
+		// positions[b - 1] devient la prochaine place libre de la tranche de b.
+		// Les arcs sont parcourus par source croissante : chaque tranche du
+		// graphe invers reste trie par cible
+		for (int a = 1; a <= nbSommets; ++a)
+			for (int k = debutSuccesseurs(a), fin = finSuccesseurs(a); k < fin; ++k)
+				inv.placer(positions[cible(k) - 1]++, a, valuation(k));
+	}
+
+	@Override
+	public int getValuation(int a, int b) throws IllegalArgumentException {
+		if (!estArcOK(a,b)) throw new IllegalArgumentException();
+		// Recherche dichotomique du premier arc de a vers b, puis des arcs parallles
+		int bas = debutSuccesseurs(a);
+		int fin = finSuccesseurs(a);
+		int haut = fin;
+		while (bas < haut) {
+			int milieu = (bas + haut) >>> 1;
+			if (cible(milieu) < b)
+				bas = milieu + 1;
+			else
+				haut = milieu;
+		}
+		int valuation = INFINI;
+		for (; bas < fin && cible(bas) == b; ++bas)
+			valuation = Math.min(valuation, valuation(bas));
+		return valuation;
+	}
+
+	@Override
+	public int degreSortant(int a) {
+		if (!estNoeudOK(a)) throw new IllegalArgumentException();
+		return finSuccesseurs(a) - debutSuccesseurs(a);
+	}
+
+	/**
+	 * @brief Le graphe est immuable
+	 * @throws UnsupportedOperationException Toujours
+	 */
+	@Override
+	public void ajouterArc(int a, int v, int b) throws UnsupportedOperationException {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		for (int i = 1; i <= getNbSommets(); ++i) {
+			str.append(i + " =>");
+			for (int k = debutSuccesseurs(i); k < finSuccesseurs(i); ++k)
+				str.append(" " + cible(k) + "(" + valuation(k) + ")");
+			str.append("\n");
+		}
+		return str.toString();
+	}
+}
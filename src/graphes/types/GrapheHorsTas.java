@@ -0,0 +1,280 @@
+package graphes.types;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+import graphes.IVisiteurArc;
+
+/**
+ * Graphe immuable au format CSR, comme GrapheCSR, mais rang hors du tas Java,
+ * dans des ByteBuffer directs : le ramasse-miettes ne voit que quelques objets,
+ * quel que soit le nombre d'arcs.
+ *
+ * La mmoire est libre par close(), sans attendre le ramasse-miettes. Le
+ * graphe n'est alors plus utilisable : close() ne doit pas tre appel pendant
+ * qu'un calcul le parcourt encore.
+ */
+public class GrapheHorsTas extends GrapheCompresse implements AutoCloseable {
+	// Libration immdiate d'un ByteBuffer direct (null si indisponible :
+	// la mmoire est alors rendue quand le ramasse-miettes collecte le tampon)
+	private static final Object UNSAFE;
+	private static final Method LIBERER;
+	static {
+		Object unsafe = null;
+		Method liberer = null;
+		try {
+			Class<?> classe = Class.forName("sun.misc.Unsafe");
+			Field champ = classe.getDeclaredField("theUnsafe");
+			champ.setAccessible(true);
+			unsafe = champ.get(null);
+			liberer = classe.getMethod("invokeCleaner", ByteBuffer.class);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			unsafe = null;
+			liberer = null;
+		}
+		UNSAFE = unsafe;
+		LIBERER = liberer;
+	}
+
+	private final int nbSommets;
+	private final int nbArcs;
+	private ByteBuffer memoire;
+	// Vues sur memoire : debuts (nbSommets + 1), cibles puis valuations (nbArcs chacun)
+	private IntBuffer debuts;
+	private IntBuffer cibles;
+	private IntBuffer valuations;
+	// Graphe invers, construit au premier parcours des prdcesseurs, libr avec celui-ci
+	private volatile GrapheHorsTas inverse;
+
+	/**
+	 * @brief Construit le graphe  partir d'une liste d'arcs. Les tableaux ne
+	 * sont lus que pendant la construction (GrapheHorsTas::new peut servir de
+	 * fabrique  GrapheImporter).
+	 * @param nbNoeuds Nombre de noeuds du graphe
+	 * @param sources Noeud de dpart de chaque arc
+	 * @param valuations Valuation de chaque arc
+	 * @param cibles Noeud de destination de chaque arc
+	 * @param nbArcs Nombre d'arcs  lire dans les tableaux
+	 * @throws IllegalArgumentException Un des arcs ne peut pas exister
+	 */
+	public GrapheHorsTas(int nbNoeuds, int[] sources, int[] valuations, int[] cibles, int nbArcs)
+			throws IllegalArgumentException {
+		this(nbNoeuds, nbArcs);
+		for (int k = 0; k < nbArcs; ++k)
+			if (sources[k] < 1 || sources[k] > nbNoeuds || cibles[k] < 1 || cibles[k] > nbNoeuds)
+				throw new IllegalArgumentException();
+
+		// Mmes tris que GrapheCSR : par source, puis par cible dans chaque tranche
+		int[] parCible = GrapheCSR.trierParComptage(nbNoeuds, cibles, nbArcs, null);
+		int[] ordre = GrapheCSR.trierParComptage(nbNoeuds, sources, nbArcs, parCible);
+		for (int k = 0; k < nbArcs; ++k) {
+			this.cibles.put(k, cibles[ordre[k]]);
+			this.valuations.put(k, valuations[ordre[k]]);
+		}
+		int[] degres = new int[nbNoeuds + 1];
+		for (int k = 0; k < nbArcs; ++k)
+			++degres[sources[k]];
+		for (int i = 1; i <= nbNoeuds; ++i) {
+			degres[i] += degres[i - 1];
+			debuts.put(i, degres[i]);
+		}
+	}
+
+	/**
+	 * @brief Rserve la mmoire hors tas, debuts[0] = 0
+	 */
+	private GrapheHorsTas(int nbNoeuds, int nbArcs) {
+		this(ByteBuffer.allocateDirect(taille(nbNoeuds, nbArcs)).order(ByteOrder.nativeOrder()),
+				0, nbNoeuds, nbArcs);
+	}
+
+	/**
+	 * @param memoire Tampon adopt par le graphe
+	 * @param position Position de debuts[0] dans le tampon, en octets
+	 */
+	private GrapheHorsTas(ByteBuffer memoire, int position, int nbNoeuds, int nbArcs) {
+		this.nbSommets = nbNoeuds;
+		this.nbArcs = nbArcs;
+		this.memoire = memoire;
+		debuts = tranche(position, nbNoeuds + 1);
+		cibles = tranche(position + 4 * (nbNoeuds + 1), nbArcs);
+		valuations = tranche(position + 4 * (nbNoeuds + 1 + nbArcs), nbArcs);
+	}
+
+	/**
+	 * @return Nombre d'octets des tableaux debuts, cibles et valuations
+	 * @throws IllegalArgumentException Le graphe ne tient pas dans un seul tampon
+	 */
+	public static int taille(int nbNoeuds, int nbArcs) throws IllegalArgumentException {
+		long octets = 4L * ((long) nbNoeuds + 1 + 2L * nbArcs);
+		if (nbNoeuds < 0 || nbArcs < 0 || octets > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("graphe trop grand : " + octets + " octets");
+		return (int) octets;
+	}
+
+	/**
+	 * @brief Graphe lu directement dans un tampon existant, sans copie (un
+	 * fichier projet en mmoire, par exemple).  partir de position, le tampon
+	 * contient debuts (nbNoeuds + 1 entiers, debuts[0] = 0), cibles puis
+	 * valuations (nbArcs entiers chacun), dans l'ordre d'octets du tampon ; dans
+	 * chaque tranche, les arcs sont tris par noeud cible. Le graphe devient
+	 * propritaire du tampon : close() le libre.
+	 * @param tampon Tampon direct (ni duplicata ni tranche, pour pouvoir tre libr)
+	 * @param position Position de debuts[0] dans le tampon, en octets
+	 * @param nbNoeuds Nombre de noeuds du graphe
+	 * @param nbArcs Nombre d'arcs du graphe
+	 * @return Graphe s'appuyant sur le tampon
+	 * @throws IllegalArgumentException Le tampon est trop petit, ou les tranches sont incohrentes
+	 */
+	public static GrapheHorsTas projeter(ByteBuffer tampon, int position, int nbNoeuds, int nbArcs)
+			throws IllegalArgumentException {
+		if (position < 0 || (long) position + taille(nbNoeuds, nbArcs) > tampon.capacity())
+			throw new IllegalArgumentException("tampon trop petit");
+		GrapheHorsTas g = new GrapheHorsTas(tampon, position, nbNoeuds, nbArcs);
+		// Les cibles ne sont pas relues (ce qui reviendrait  tout charger), mais
+		// les tranches doivent couvrir exactement les arcs
+		int precedent = g.debuts.get(0);
+		if (precedent != 0 || g.debuts.get(nbNoeuds) != nbArcs)
+			throw new IllegalArgumentException("tranches incohrentes");
+		for (int i = 1; i <= nbNoeuds; ++i) {
+			int debut = g.debuts.get(i);
+			if (debut < precedent)
+				throw new IllegalArgumentException("tranches incohrentes");
+			precedent = debut;
+		}
+		return g;
+	}
+
+	private IntBuffer tranche(int debut, int taille) {
+		return memoire.duplicate().position(debut).limit(debut + 4 * taille)
+				.slice().order(memoire.order()).asIntBuffer();
+	}
+
+	/**
+	 * @return Graphe invers, calcul une seule fois puis conserv hors tas
+	 */
+	public GrapheHorsTas getInverse() {
+		verifierOuvert();
+		GrapheHorsTas resultat = inverse;
+		if (resultat != null)
+			return resultat;
+		// Construit une seule fois : l'inverse ne doit pas tre allou (et perdu) en double
+		synchronized (this) {
+			verifierOuvert();
+			if (inverse == null) {
+				GrapheHorsTas inv = new GrapheHorsTas(nbSommets, nbArcs);
+				inverserDans(inv);
+				inverse = inv;
+			}
+			return inverse;
+		}
+	}
+
+	/**
+	 * @return Nombre d'octets occups hors tas par le graphe (et son inverse s'il a t construit)
+	 */
+	public long getTailleHorsTas() {
+		GrapheHorsTas inv = inverse;
+		return (memoire == null ? 0 : memoire.capacity()) + (inv == null ? 0 : inv.getTailleHorsTas());
+	}
+
+	/**
+	 * @brief Libre la mmoire hors tas du graphe et de son inverse. Sans effet
+	 * si le graphe est dj ferm.
+	 */
+	@Override
+	public synchronized void close() {
+		if (memoire == null)
+			return;
+		if (inverse != null) {
+			inverse.close();
+			inverse = null;
+		}
+		ByteBuffer m = memoire;
+		memoire = null;
+		debuts = cibles = valuations = null;
+		if (LIBERER != null)
+			try {
+				LIBERER.invoke(UNSAFE, m);
+			} catch (ReflectiveOperationException e) {
+				// Le ramasse-miettes librera la mmoire
+			}
+	}
+
+	/**
+	 * @return true si close() a t appel
+	 */
+	public boolean estFerme() {
+		return memoire == null;
+	}
+
+	private void verifierOuvert() throws IllegalStateException {
+		if (memoire == null)
+			throw new IllegalStateException("graphe ferm");
+	}
+
+	@Override
+	public int getNbSommets() {
+		return nbSommets;
+	}
+
+	@Override
+	public int getNbArcs() {
+		return nbArcs;
+	}
+
+	@Override
+	public int debutSuccesseurs(int i) {
+		verifierOuvert();
+		return debuts.get(i - 1);
+	}
+
+	@Override
+	public int finSuccesseurs(int i) {
+		verifierOuvert();
+		return debuts.get(i);
+	}
+
+	@Override
+	public int cible(int k) {
+		verifierOuvert();
+		return cibles.get(k);
+	}
+
+	@Override
+	public int valuation(int k) {
+		verifierOuvert();
+		return valuations.get(k);
+	}
+
+	@Override
+	void fixerFin(int i, int fin) {
+		debuts.put(i, fin);
+	}
+
+	@Override
+	void placer(int k, int cible, int valuation) {
+		cibles.put(k, cible);
+		valuations.put(k, valuation);
+	}
+
+	@Override
+	public void parcourirSuccesseurs(int a, IVisiteurArc visiteur) {
+		if (!estNoeudOK(a)) throw new IllegalArgumentException();
+		verifierOuvert();
+		IntBuffer c = cibles, v = valuations;
+		for (int k = debuts.get(a - 1), fin = debuts.get(a); k < fin; ++k)
+			visiteur.visiter(a, v.get(k), c.get(k));
+	}
+
+	@Override
+	public void parcourirPredecesseurs(int b, IVisiteurArc visiteur) {
+		if (!estNoeudOK(b)) throw new IllegalArgumentException();
+		GrapheHorsTas inv = getInverse();
+		for (int k = inv.debuts.get(b - 1), fin = inv.debuts.get(b); k < fin; ++k)
+			visiteur.visiter(inv.cibles.get(k), inv.valuations.get(k), b);
+	}
+}
@@ -3,6 +3,8 @@ package graphes.types;
 import java.util.ArrayList;
 import java.util.List;
 
+import graphes.IVisiteurArc;
+
 public class GrapheLA extends Graphe{
 	private static class Stub {
 		public int valuation;
@@ -14,13 +16,44 @@ public class GrapheLA extends Graphe{
 	}
 	private	List<Stub>[] la;
 	
-	@SuppressWarnings("unchecked")
 	public GrapheLA(int nbNoeuds) {
 		super();
-		la = new List[nbNoeuds]; // necessite le SuppressWarnings ci-dessus
+		la = allouer(nbNoeuds);
 		for (int i = 0; i < nbNoeuds; ++i)
 			la[i] = new ArrayList<>();
 	}
+	
+	/**
+	 * @brief Construit le graphe en une fois, chaque liste tant alloue  sa taille finale
+	 * @param nbNoeuds Nombre de noeuds du graphe
+	 * @param sources Noeud de dpart de chaque arc
+	 * @param valuations Valuation de chaque arc
+	 * @param cibles Noeud de destination de chaque arc
+	 * @param nbArcs Nombre d'arcs  lire dans les tableaux
+	 * @throws IllegalArgumentException Un des arcs ne peut pas exister
+	 */
+	public GrapheLA(int nbNoeuds, int[] sources, int[] valuations, int[] cibles, int nbArcs) 
+			throws IllegalArgumentException {
+		super();
+		int[] degres = new int[nbNoeuds];
+		for (int k = 0; k < nbArcs; ++k)
+			if (sources[k] >= 1 && sources[k] <= nbNoeuds)
+				++degres[sources[k]-1];
+		la = allouer(nbNoeuds);
+		for (int i = 0; i < nbNoeuds; ++i)
+			la[i] = new ArrayList<>(degres[i]);
+		for (int k = 0; k < nbArcs; ++k)
+			ajouterArc(sources[k], valuations[k], cibles[k]);
+	}
+	
+	/**
+	 * @brief Tableau des listes, vide : Java ne sait pas crer un tableau de
+	 * List<Stub>, d'o le tableau brut et les deux avertissements supprims
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static List<Stub>[] allouer(int nbNoeuds) {
+		return new List[nbNoeuds];
+	}
 
 	@Override
 	public int getNbSommets() {
@@ -30,17 +63,73 @@ public class GrapheLA extends Graphe{
 	@Override
 	public int getValuation(int a, int b) throws IllegalArgumentException {
 		if (!estArcOK(a,b)) throw new IllegalArgumentException();
+		// Arcs parallles : le plus lger
+		int valuation = INFINI;
+		for (Stub s : la[a-1])
+			if (s.cible == b && s.valuation < valuation)
+				valuation = s.valuation;
+		return valuation;
+	}
+
+	@Override
+	public void parcourirSuccesseurs(int a, IVisiteurArc visiteur) {
+		if (!estNoeudOK(a)) throw new IllegalArgumentException();
 		List<Stub> stubs = la[a-1];
-		for (Stub s : stubs)
-			if (s.cible == b)
-				return s.valuation;
-		return INFINI;
+		for (int k = 0; k < stubs.size(); ++k) {
+			Stub s = stubs.get(k);
+			visiteur.visiter(a, s.valuation, s.cible);
+		}
+	}
+	
+	/**
+	 * @brief Parcourt toutes les listes une fois (O(V+E)), en visitant chaque
+	 * arc entrant, arcs parallles compris
+	 */
+	@Override
+	public void parcourirPredecesseurs(int b, IVisiteurArc visiteur) {
+		if (!estNoeudOK(b)) throw new IllegalArgumentException();
+		for (int i = 0; i < la.length; ++i) {
+			List<Stub> stubs = la[i];
+			for (int k = 0; k < stubs.size(); ++k) {
+				Stub s = stubs.get(k);
+				if (s.cible == b)
+					visiteur.visiter(i+1, s.valuation, b);
+			}
+		}
+	}
+	
+	@Override
+	public int degreSortant(int a) {
+		if (!estNoeudOK(a)) throw new IllegalArgumentException();
+		return la[a-1].size();
 	}
 
 	@Override
 	public void ajouterArc(int a, int v, int b) throws IllegalArgumentException {
 		if (!estArcOK(a,b)) throw new IllegalArgumentException();
 		la[a-1].add(new Stub(v, b));
+		modifier(a, v, b, INFINI);
+	}
+	
+	/**
+	 * @return Copie immuable du graphe au format CSR
+	 */
+	public GrapheCSR figer() {
+		int nbArcs = 0;
+		for (List<Stub> stubs : la)
+			nbArcs += stubs.size();
+		
+		int[] sources = new int[nbArcs];
+		int[] valuations = new int[nbArcs];
+		int[] cibles = new int[nbArcs];
+		int k = 0;
+		for (int i = 0; i < la.length; ++i)
+			for (Stub s : la[i]) {
+				sources[k] = i+1;
+				valuations[k] = s.valuation;
+				cibles[k++] = s.cible;
+			}
+		return new GrapheCSR(la.length, sources, valuations, cibles, nbArcs);
 	}
 	
 
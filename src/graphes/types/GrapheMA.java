@@ -1,5 +1,7 @@
 package graphes.types;
 
+import graphes.IVisiteurArc;
+
 public class GrapheMA extends Graphe{
 	private int[][] ma;
 
@@ -10,6 +12,22 @@ public class GrapheMA extends Graphe{
 				ma[a][b] = INFINI;
 	}
 	
+	/**
+	 * @brief Construit le graphe en une fois  partir d'une liste d'arcs
+	 * @param nbNoeuds Nombre de noeuds du graphe
+	 * @param sources Noeud de dpart de chaque arc
+	 * @param valuations Valuation de chaque arc
+	 * @param cibles Noeud de destination de chaque arc
+	 * @param nbArcs Nombre d'arcs  lire dans les tableaux
+	 * @throws IllegalArgumentException Un des arcs ne peut pas exister
+	 */
+	public GrapheMA(int nbNoeuds, int[] sources, int[] valuations, int[] cibles, int nbArcs)
+			throws IllegalArgumentException {
+		this(nbNoeuds);
+		for (int k = 0; k < nbArcs; ++k)
+			ajouterArc(sources[k], valuations[k], cibles[k]);
+	}
+	
 	@Override
 	public int getNbSommets() { return ma.length; }
 	
@@ -19,10 +37,50 @@ public class GrapheMA extends Graphe{
 		return ma[a-1][b-1];
 	}
 	
+	@Override
+	public void parcourirSuccesseurs(int a, IVisiteurArc visiteur) {
+		if (!estNoeudOK(a)) throw new IllegalArgumentException();
+		int[] ligne = ma[a-1];
+		for (int b = 0; b < ligne.length; ++b)
+			if (ligne[b] != INFINI)
+				visiteur.visiter(a, ligne[b], b+1);
+	}
+	
+	@Override
+	public void parcourirPredecesseurs(int b, IVisiteurArc visiteur) {
+		if (!estNoeudOK(b)) throw new IllegalArgumentException();
+		for (int a = 0; a < ma.length; ++a)
+			if (ma[a][b-1] != INFINI)
+				visiteur.visiter(a+1, ma[a][b-1], b);
+	}
+	
+	@Override
+	public int degreSortant(int a) {
+		if (!estNoeudOK(a)) throw new IllegalArgumentException();
+		int degre = 0;
+		for (int v : ma[a-1])
+			if (v != INFINI)
+				++degre;
+		return degre;
+	}
+	
+	/**
+	 * @brief Copie la matrice dans un tableau  une dimension, ligne par ligne :
+	 * la valuation de a vers b est  l'indice (a-1)*n + (b-1)
+	 * @param tampon[out] Tableau d'au moins n*n cases
+	 */
+	public void copierDans(int[] tampon) {
+		int n = ma.length;
+		for (int a = 0; a < n; ++a)
+			System.arraycopy(ma[a], 0, tampon, a * n, n);
+	}
+
 	@Override
 	public void ajouterArc(int a, int v, int b) throws IllegalArgumentException {
 		if (!estArcOK(a,b)) throw new IllegalArgumentException();
+		int remplacee = ma[a-1][b-1];
 		ma[a-1][b-1] = v;
+		modifier(a, v, b, remplacee);
 	}
 	
 
@@ -0,0 +1,198 @@
+package pcc;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import exceptions.ArcNgatifEx;
+import exceptions.NoPathEx;
+import graphes.ArbrePCC;
+import graphes.IGraphe;
+import graphes.IVisiteurArc;
+import graphes.ResultatPCC;
+
+/**
+ * ALT (A*, Landmarks, ingalit Triangulaire) : A* guid par des bornes
+ * infrieures tires de quelques noeuds repres.
+ * 		- Prtraitement : k repres sont choisis ; les distances depuis et vers
+ * 		  chacun d'eux sont calcules (2k arbres, en parallle)
+ * 		- Requte : pour un repre L, d(L,t) - d(L,v) et d(v,L) - d(t,L) minorent
+ * 		  d(v,t). Le maximum sur les repres est un potentiel cohrent qui oriente
+ * 		  la recherche vers le noeud d'arrive
+ * Le prtraitement est conserv sur le graphe (IGraphe.memoriser), pour chaque
+ * nombre de repres, tant que le graphe n'est pas modifi : un mme ALT peut
+ * servir sur plusieurs graphes et  plusieurs fils  la fois.
+ */
+public class ALT extends Dijkstra {
+	/**
+	 * Distances entre les repres et chaque noeud, ranges noeud par noeud :
+	 * les k valeurs d'un mme noeud sont contigus (indice noeud * k + repre)
+	 */
+	private static final class Reperes {
+		private final int[] reperes;
+		private final int[] depuis;	// d(repre, noeud)
+		private final int[] vers;	// d(noeud, repre)
+
+		Reperes(IGraphe g, IGraphe inverse, int nbReperes) {
+			int nbSommets = g.getNbSommets();
+			int k = Math.min(nbReperes, nbSommets);
+			this.reperes = choisir(g, k);
+			this.depuis = new int[(nbSommets + 1) * k];
+			this.vers = new int[(nbSommets + 1) * k];
+
+			// Un arbre par repre et par sens, calculs indpendamment
+			DijkstraTas dijkstra = new DijkstraTas();
+			IntStream.range(0, 2 * k).parallel().forEach(tache -> {
+				int r = tache % k;
+				boolean avant = tache < k;
+				ArbrePCC arbre = new ArbrePCC();
+				dijkstra.arbreSansVerification(avant ? g : inverse, reperes[r], arbre);
+				int[] distances = arbre.getDistances();
+				int[] destination = avant ? depuis : vers;
+				for (int v = 1; v <= nbSommets; ++v)
+					destination[v * k + r] = distances[v];
+			});
+		}
+
+		/**
+		 * @brief Choisit des repres loigns les uns des autres : chaque
+		 * nouveau repre est le noeud le plus loin (en nombre d'arcs) des repres
+		 * dj choisis, un noeud qu'aucun d'eux n'atteint tant prfr
+		 */
+		private static int[] choisir(IGraphe g, int k) {
+			int nbSommets = g.getNbSommets();
+			int[] choix = new int[k];
+			if (k == 0)
+				return choix;
+			int[] sauts = new int[nbSommets + 1];	// distance au plus proche repre
+			Arrays.fill(sauts, IGraphe.INFINI);
+			int[] file = new int[nbSommets];
+			int[] fin = {0};
+			IVisiteurArc parcours = (a, v, b) -> {
+				if (sauts[b] > sauts[a] + 1) {
+					sauts[b] = sauts[a] + 1;
+					file[fin[0]++] = b;
+				}
+			};
+
+			choix[0] = 1 + new Random(nbSommets).nextInt(nbSommets);
+			for (int r = 0; ; ++r) {
+				// Parcours en largeur depuis le nouveau repre
+				sauts[choix[r]] = 0;
+				fin[0] = 0;
+				file[fin[0]++] = choix[r];
+				for (int debut = 0; debut < fin[0]; ++debut)
+					g.parcourirSuccesseurs(file[debut], parcours);
+				if (r == k - 1)
+					return choix;
+				int plusLoin = 1;
+				for (int v = 2; v <= nbSommets; ++v)
+					if (sauts[v] > sauts[plusLoin])
+						plusLoin = v;
+				choix[r + 1] = plusLoin;
+			}
+		}
+
+		/**
+		 * @return Minorant de d(v, t), 0 si aucun repre ne donne d'information,
+		 * 		   INFINI si un repre prouve que t n'est pas atteignable depuis v
+		 */
+		int potentiel(int v, int t) {
+			int k = reperes.length;
+			int borne = 0;
+			for (int r = 0; r < k; ++r) {
+				int lv = depuis[v * k + r], lt = depuis[t * k + r];
+				int vl = vers[v * k + r], tl = vers[t * k + r];
+				// L atteint v mais pas t, ou t atteint L mais pas v : aucun chemin de v  t
+				if ((lv != IGraphe.INFINI && lt == IGraphe.INFINI) || (tl != IGraphe.INFINI && vl == IGraphe.INFINI))
+					return IGraphe.INFINI;
+				if (lv != IGraphe.INFINI && lt - lv > borne)
+					borne = lt - lv;
+				if (tl != IGraphe.INFINI && vl - tl > borne)
+					borne = vl - tl;
+			}
+			return borne;
+		}
+	}
+
+	private final int nbReperes;
+	// Cl du prtraitement dans la mmoire du graphe
+	private final List<Object> cle;
+
+	/**
+	 * @param nbReperes Nombre de repres (0 revient  l'algorithme de Dijkstra)
+	 */
+	public ALT(int nbReperes) {
+		if (nbReperes < 0) throw new IllegalArgumentException();
+		this.nbReperes = nbReperes;
+		this.cle = List.of(ALT.class, nbReperes);
+	}
+
+	/**
+	 * @brief 16 repres par dfaut
+	 */
+	public ALT() {
+		this(16);
+	}
+
+	/**
+	 * @brief Effectue le prtraitement du graphe s'il n'est pas dj fait
+	 * @param g Graphe, sans arc ngatif
+	 * @throws ArcNgatifEx Le graphe contient un arc ngatif
+	 */
+	public void pretraiter(IGraphe g) throws ArcNgatifEx {
+		if (!estOK(g)) { throw new ArcNgatifEx(); }
+		reperes(g);
+	}
+
+	private Reperes reperes(IGraphe g) {
+		return g.memoriser(cle, h -> new Reperes(h, CacheInverse.inverse(h), nbReperes));
+	}
+
+	@Override
+	int pcSansVerification(IGraphe g, int noeudD, int noeudA, ResultatPCC resultat,
+			EspaceTravail espace) throws NoPathEx {
+		Reperes lt = reperes(g);
+
+		espace.preparer(g.getNbSommets());
+		// Valeur annexe : potentiel de chaque noeud, calcul  sa premire rencontre
+		EspaceTravail.Recherche recherche = espace.avant();
+		recherche.atteindre(noeudD, 0, AUCUN);
+		TasIndexe tas = recherche.getTas();
+		int potentielD = lt.potentiel(noeudD, noeudA);
+		if (potentielD != IGraphe.INFINI)
+			tas.insererOuDiminuer(noeudD, potentielD);
+
+		// La cl d'un noeud dans le tas est sa distance augmente de son potentiel
+		IVisiteurArc relachement = (noeudP, valuation, noeudS) -> {
+			recherche.compterArc();
+			int distance = recherche.distance(noeudP) + valuation;
+			if (!recherche.estMarque(noeudS) && distance < recherche.distance(noeudS)) {
+				if (!recherche.aValeur(noeudS))
+					recherche.setValeur(noeudS, lt.potentiel(noeudS, noeudA));
+				// Noeud d'o le noeud d'arrive est inatteignable : inutile de l'explorer
+				if (recherche.valeur(noeudS) == IGraphe.INFINI)
+					return;
+				recherche.atteindre(noeudS, distance, noeudP);
+				tas.insererOuDiminuer(noeudS, distance + recherche.valeur(noeudS));
+			}
+		};
+
+		while (!tas.estVide()) {
+			int noeudActuel = tas.extraireMin();
+			recherche.marquer(noeudActuel);
+			if (noeudActuel == noeudA)
+				break;
+			g.parcourirSuccesseurs(noeudActuel, relachement);
+		}
+
+		int distance = recherche.distance(noeudA);
+		if (distance == IGraphe.INFINI)
+			throw new NoPathEx();
+
+		espace.commencerChemin();
+		resultat.remplirParPredecesseurs(recherche.getLiens(), noeudA, distance);
+		return distance;
+	}
+}
@@ -0,0 +1,212 @@
+package pcc;
+
+import exceptions.ArcNgatifEx;
+import exceptions.NoPathEx;
+import graphes.ArbrePCC;
+import graphes.IEcouteurArc;
+import graphes.IGraphe;
+import graphes.IVisiteurArc;
+import graphes.ResultatPCC;
+import graphes.types.Graphe;
+
+/**
+ * Arbre des plus courts chemins depuis une source, tenu  jour pendant que le
+ * graphe est modifi (Ramalingam et Reps) : seule la partie de l'arbre touche
+ * par un ajout d'arc est recalcule, et les requtes sont servies par l'arbre.
+ * 		- arc raccourcissant le chemin vers sa cible : Dijkstra depuis la cible,
+ * 		  limit aux noeuds dont la distance diminue
+ * 		- valuation augmente (GrapheMA) d'un arc de l'arbre : les noeuds du
+ * 		  sous-arbre de sa cible sont retirs, puis rattachs au reste de l'arbre
+ * 		  par leurs prdcesseurs et par un Dijkstra limit au sous-arbre
+ * 		- tout autre arc : rien  faire
+ * Un arc ngatif rend l'arbre invalide : il est recalcul entirement  la
+ * requte suivante, si le graphe n'a alors plus d'arc ngatif.
+ */
+public class ArbreDynamique implements IEcouteurArc, AutoCloseable {
+	private final Graphe g;
+	private final int source;
+	private final ArbrePCC arbre = new ArbrePCC();
+	private final TasIndexe tas;
+	private final boolean[] touches;	// Noeuds du sous-arbre en cours de rparation
+	private final int[] sousArbre;
+	private int[] distances;
+	private int[] predecesseurs;
+	private boolean aRecalculer = false;
+	private int nbNoeudsRepares;
+
+	// Relchement des arcs sortants d'un noeud dont la distance a diminu
+	private final IVisiteurArc relachement;
+	// Rattachement d'un noeud du sous-arbre par un prdcesseur qui n'en est pas
+	private final IVisiteurArc rattachement;
+
+	/**
+	 * @param g Graphe  suivre, sans arc ngatif
+	 * @param source Noeud source de l'arbre
+	 * @throws ArcNgatifEx Le graphe contient un arc ngatif
+	 */
+	public ArbreDynamique(Graphe g, int source) throws ArcNgatifEx {
+		if (!g.estNoeudOK(source)) throw new IllegalArgumentException();
+		this.g = g;
+		this.source = source;
+		int n = g.getNbSommets();
+		tas = new TasIndexe(n);
+		touches = new boolean[n + 1];
+		sousArbre = new int[n];
+		relachement = (noeudP, valuation, noeudS) -> {
+			int distance = distances[noeudP] + valuation;
+			if (distance < distances[noeudS]) {
+				distances[noeudS] = distance;
+				predecesseurs[noeudS] = noeudP;
+				tas.insererOuDiminuer(noeudS, distance);
+			}
+		};
+		rattachement = (noeudP, valuation, noeudS) -> {
+			if (!touches[noeudP] && distances[noeudP] != IGraphe.INFINI)
+				relachement.visiter(noeudP, valuation, noeudS);
+		};
+		// Inscrit avant le calcul : un ajout concurrent attend la fin du calcul
+		synchronized (this) {
+			g.ajouterEcouteur(this);
+			try {
+				recalculer();
+			} catch (RuntimeException e) {
+				g.retirerEcouteur(this);
+				throw e;
+			}
+		}
+	}
+
+	private void recalculer() throws ArcNgatifEx {
+		new DijkstraTas().arbre(g, source, arbre);
+		distances = arbre.getDistances();
+		predecesseurs = arbre.getPredecesseurs();
+		nbNoeudsRepares = g.getNbSommets();
+		aRecalculer = false;
+	}
+
+	@Override
+	public synchronized void arcAjoute(int a, int v, int b, int remplacee) {
+		nbNoeudsRepares = 0;
+		if (aRecalculer)
+			return;
+		if (v < 0) {
+			aRecalculer = true;
+			return;
+		}
+		if (v > remplacee && predecesseurs[b] == a && distances[a] != IGraphe.INFINI
+				&& distances[a] + remplacee == distances[b])
+			reparerAugmentation(b);
+		else if (v != IGraphe.INFINI && distances[a] != IGraphe.INFINI && distances[a] + v < distances[b]) {
+			distances[b] = distances[a] + v;
+			predecesseurs[b] = a;
+			tas.insererOuDiminuer(b, distances[b]);
+			propager();
+		}
+	}
+
+	/**
+	 * @brief Fixe les noeuds du tas par distance croissante, en propageant leur
+	 * nouvelle distance  leurs successeurs
+	 */
+	private void propager() {
+		while (!tas.estVide()) {
+			int noeud = tas.extraireMin();
+			++nbNoeudsRepares;
+			g.parcourirSuccesseurs(noeud, relachement);
+		}
+	}
+
+	/**
+	 * @brief Recalcule les distances du sous-arbre de racine, dont l'arc entrant
+	 * dans l'arbre s'est allong
+	 */
+	private void reparerAugmentation(int racine) {
+		// Sous-arbre : descendants de la racine par les arcs de l'arbre
+		int fin = 0;
+		sousArbre[fin++] = racine;
+		touches[racine] = true;
+		int[] finSousArbre = {fin};
+		IVisiteurArc descente = (noeudP, valuation, noeudS) -> {
+			if (!touches[noeudS] && predecesseurs[noeudS] == noeudP) {
+				touches[noeudS] = true;
+				sousArbre[finSousArbre[0]++] = noeudS;
+			}
+		};
+		for (int debut = 0; debut < finSousArbre[0]; ++debut)
+			g.parcourirSuccesseurs(sousArbre[debut], descente);
+		fin = finSousArbre[0];
+
+		for (int k = 0; k < fin; ++k) {
+			distances[sousArbre[k]] = IGraphe.INFINI;
+			predecesseurs[sousArbre[k]] = ArbrePCC.AUCUN;
+		}
+		for (int k = 0; k < fin; ++k)
+			g.parcourirPredecesseurs(sousArbre[k], rattachement);
+		for (int k = 0; k < fin; ++k)
+			touches[sousArbre[k]] = false;
+		propager();
+	}
+
+	/**
+	 * @brief Recalcule l'arbre s'il a t invalid par un arc ngatif
+	 * @throws ArcNgatifEx Le graphe contient encore un arc ngatif
+	 */
+	private void verifier() throws ArcNgatifEx {
+		if (aRecalculer)
+			recalculer();
+	}
+
+	/**
+	 * @return Noeud source de l'arbre
+	 */
+	public int getSource() {
+		return source;
+	}
+
+	/**
+	 * @return Nombre de noeuds dont la distance a t refixe par le dernier ajout d'arc
+	 */
+	public synchronized int getNbNoeudsRepares() {
+		return nbNoeudsRepares;
+	}
+
+	/**
+	 * @param cible Noeud
+	 * @return true si le noeud est atteignable depuis la source, false sinon
+	 * @throws ArcNgatifEx Le graphe contient un arc ngatif
+	 */
+	public synchronized boolean estAtteignable(int cible) throws ArcNgatifEx {
+		verifier();
+		return arbre.estAtteignable(cible);
+	}
+
+	/**
+	 * @param cible Noeud
+	 * @return Distance depuis la source, INFINI si le noeud n'est pas atteignable
+	 * @throws ArcNgatifEx Le graphe contient un arc ngatif
+	 */
+	public synchronized int distanceVers(int cible) throws ArcNgatifEx {
+		verifier();
+		return arbre.distanceVers(cible);
+	}
+
+	/**
+	 * @param cible Noeud
+	 * @param resultat[out] Chemin de la source jusqu'au noeud, et sa distance
+	 * @return Distance depuis la source
+	 * @throws ArcNgatifEx Le graphe contient un arc ngatif
+	 * @throws NoPathEx Le noeud n'est pas atteignable
+	 */
+	public synchronized int cheminVers(int cible, ResultatPCC resultat) throws ArcNgatifEx, NoPathEx {
+		verifier();
+		return arbre.cheminVers(cible, resultat);
+	}
+
+	/**
+	 * @brief Cesse de suivre les modifications du graphe
+	 */
+	@Override
+	public void close() {
+		g.retirerEcouteur(this);
+	}
+}
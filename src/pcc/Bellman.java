@@ -1,204 +1,148 @@
 package pcc;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 import exceptions.CircuitAbsorbantEx;
 import exceptions.NoPathEx;
+import graphes.ArbrePCC;
 import graphes.IGraphe;
-import graphes.IPCC;
+import graphes.IPCCArbre;
+import graphes.IVisiteurArc;
+import graphes.ResultatPCC;
 
-public class Bellman implements IPCC {
+public class Bellman implements IPCCArbre {
+	// Observateur des requtes, null si elles ne sont pas mesures
+	private IMesuresPCC mesures;
+	
 	/**
-	 * @brief Suppression des noeud avec pas ou plus de predecesseurs
-	 * @param g Graphe
-	 * @param listePredecesseurs HashMap des prdecesseurs de chaque noeud
-	 * @param listeNoeudsTriesTemporaire Liste des noeuds venant d'tre tris
-	 * @param listeNoeudsParNiveau Liste des noeuds tris par niveau
+	 * @param mesures Observateur de chaque requte pc, null pour ne plus mesurer
 	 */
-	private static void nettoyagePredecesseurs(IGraphe g, Map<Integer, List<Integer>> listePredecesseurs, List<Integer> listeNoeudsTriesTemporaire, List<Integer> listeNoeudsParNiveau) {
-		for (Integer i : g) {
-			if (listePredecesseurs.containsKey(i) && listePredecesseurs.get(i).isEmpty()) {
-				listeNoeudsTriesTemporaire.add(i);
-				listePredecesseurs.remove(i);
-				listeNoeudsParNiveau.add(i);
-			}
-		}
+	public void setMesures(IMesuresPCC mesures) {
+		this.mesures = mesures;
 	}
 	
-	
 	/**
-	 * @brief On supprime les noeuds de la liste de la liste de
-	 * prdesesseurs de tous les autres noeuds
-	 * @param g Graphe
-	 * @param listePredecesseurs HashMap des prdecesseurs de chaque noeud
-	 * @param listeNoeudsTriesTemporaire Liste des noeuds venant d'tre tris
+	 * @return true si le graphe est sans circuit, en O(1) tant que le graphe
+	 * n'a pas chang depuis la dernire vrification
 	 */
-	private static void suppressionPredecesseurs(IGraphe g, Map<Integer, List<Integer>> listePredecesseurs, List<Integer> listeNoeudsTriesTemporaire) {
-		for (Integer i : g) {
-			for (Integer j : listeNoeudsTriesTemporaire) {
-				/* Si un noeud venant d'tre tri est encore prsent en tant que prdcesseur,
-				 * alors le supprimer de la liste des prdecesseurs */
-				if (listePredecesseurs.containsKey(i) && listePredecesseurs.get(i).contains(j))
-					listePredecesseurs.get(i).remove(j);
-			}
-		}
-	}
-	
 	@Override
 	public boolean estOK(IGraphe g) {
-		List<Integer> listeNoeudsParNiveau = new ArrayList<>();// Liste des noeuds tries par niveau
-		Map<Integer, List<Integer>> listePredecesseurs = listePredecesseurs(g);// Liste de prdecesseur de chaque noeud
-				
-		// Tant qu'il existe des noeuds non tris
-		while(listeNoeudsParNiveau.size() < g.getNbSommets()) { 
-			ArrayList<Integer> listeNoeudsTriesTemporaire = new ArrayList<>();// Liste temporaire de noeuds venant d'tre attribu
-			
-			int nbNoeudTriee = listeNoeudsParNiveau.size();
-			
-			// Detection des noeuds de niveau suprieur
-			nettoyagePredecesseurs(g, listePredecesseurs, listeNoeudsTriesTemporaire, listeNoeudsParNiveau);
-			
-			// Si aucun noeud n'a t tri, c'est la preuve d'un circuit
-			if (listeNoeudsParNiveau.size() == nbNoeudTriee)
-				return false;
-			
-			// Suppression de la liste des prdecesseurs des noeuds venant d'tre tris
-			suppressionPredecesseurs(g, listePredecesseurs, listeNoeudsTriesTemporaire);
-		}
-		// Si l'algorithme est parvenu jusque l, c'est la preuve de l'abscence de circuit.
-		return true;
+		return ClassificationGraphe.estSansCircuit(g);
 	}
 	
 	/**
 	 * @param g Graphe
-	 * @return Retourne les prdecesseurs de chaque noeud
+	 * @return Classification du graphe, qui fournit l'ordre topologique de tous ses noeuds
+	 * @throws CircuitAbsorbantEx Le graphe contient un circuit
 	 */
-	private static Map<Integer, List<Integer>> listePredecesseurs(IGraphe g){
-		Map<Integer, List<Integer>> predecesseurs = new HashMap<>();
-		// Insersion des prdcesseurs
-		for (Integer noeudSucc : g) {
-			predecesseurs.put(noeudSucc, new ArrayList<>());
-			for (Integer noeudPrec : g)
-				if (g.aArc(noeudPrec, noeudSucc))
-					predecesseurs.get(noeudSucc).add(noeudPrec);
-		}
-		return predecesseurs;
+	private static ClassificationGraphe classer(IGraphe g) throws CircuitAbsorbantEx {
+		ClassificationGraphe c = ClassificationGraphe.de(g);
+		if (!c.estSansCircuit())
+			throw new CircuitAbsorbantEx();
+		return c;
 	}
 	
 	/**
-	 * @brief Trie par niveau les noeuds
+	 * @brief Relche les arcs sortants des noeuds atteints, dans l'ordre topologique
 	 * @param g Graphe
-	 * @param distances La distance du noeud de dpart pour chaque noeud
-	 * @param listeNoeudsParNiveau Liste des noeuds trie par niveau
-	 * @param noeudD Noeud de dpart
-	 * @param noeudA Noeud d'arrive
-	 * @throws NoPathEx
+	 * @param ordre Noeuds du graphe dans l'ordre topologique
+	 * @param debut Rang du noeud de dpart
+	 * @param fin Rang du premier noeud  ne pas relcher
+	 * @param distances[inout] Distances,  INFINI sauf le noeud de dpart (0)
+	 * @param predecesseurs[inout] Prdcesseurs,  0
 	 */
-	private static void triParNiveau(IGraphe g, Map<Integer, Integer> distances, List<Integer> listeNoeudsParNiveau, Integer noeudD, Integer noeudA) throws NoPathEx{
-		// Contient la liste de prdecesseur de chaque noeud
-		Map<Integer, List<Integer>> listePredecesseurs = listePredecesseurs(g);
-		distances.put(noeudD, 0);
-		
-		// Suppression les prdecesseurs inutiles
-		preSuppresionPredecesseurs(g, noeudD, noeudA, listePredecesseurs);
-		
-		int nbNoeudTrieeMax = listePredecesseurs.size();
-		
-		// Tant qu'il existe des noeuds non tris
-		while(listeNoeudsParNiveau.size() < nbNoeudTrieeMax) { 
-			ArrayList<Integer> listeNoeudsTriesTemporaire = new ArrayList<>(); // Liste temporaire de noeuds venant d'tre attribu
-			
-			// Detection des noeuds de niveau suprieur
-			nettoyagePredecesseurs(g, listePredecesseurs, listeNoeudsTriesTemporaire, listeNoeudsParNiveau);
-			
-			// Suppression de la liste des prdecesseurs des noeuds venant d'tre tris
-			suppressionPredecesseurs(g, listePredecesseurs, listeNoeudsTriesTemporaire);
+	private static void relacherDansOrdre(IGraphe g, int[] ordre, int debut, int fin,
+			int[] distances, int[] predecesseurs) {
+		/* Les noeuds tant tris topologiquement, la distance d'un noeud est dfinitive
+		 * lorsqu'il est atteint : on relche alors ses arcs sortants */
+		IVisiteurArc relachement = (noeudP, valuation, noeudS) -> {
+			int distance = distances[noeudP] + valuation;
+			if (distance < distances[noeudS]) {
+				distances[noeudS] = distance;
+				predecesseurs[noeudS] = noeudP;
+			}
+		};
+		for (int rang = debut; rang < fin; ++rang)
+			if (distances[ordre[rang]] != IGraphe.INFINI)
+				g.parcourirSuccesseurs(ordre[rang], relachement);
+	}
+	
+	@Override
+	public int pc(IGraphe g, int noeudD, int noeudA, ResultatPCC resultat) throws CircuitAbsorbantEx, NoPathEx {
+		try (EspaceTravail espace = EspaceTravail.acquerir()) {
+			return pc(g, noeudD, noeudA, resultat, espace);
 		}
 	}
-
+	
 	/**
-	 * @brief Supprime tous les prdecesseurs, jusqu'au noeud de dpart
-	 * @param g Graphe
-	 * @param noeudD Noeud de dpart
-	 * @param noeudA Noeud d'arrive
-	 * @param listePredecesseurs Liste des prdecesseurs de chaque noeud
+	 * @brief Comme pc(g, noeudD, noeudA, resultat), dans un espace de travail
+	 * fourni : la requte ne paie que les noeuds rangs entre le dpart et l'arrive
+	 * @param espace Espace de travail, prpar par la requte
 	 */
-	private static void preSuppresionPredecesseurs(IGraphe g, Integer noeudD, Integer noeudA,
-			Map<Integer, List<Integer>> listePredecesseurs) throws NoPathEx {
-		/* On supprimer temporairement le noeud de dpart pour que
-		 * ses successeurs ne soient pas supprims*/
-		listePredecesseurs.remove(noeudD);
-		
-		// Tant qu'il reste des noeud sans prdcesseurs : 
-		while(listePredecesseurs.containsValue(new ArrayList<>())) {
-			for (Integer noeudASupprimer : g) {
-				// Si le noeud n'a pas ou plus de prdecesseurs
-				if (listePredecesseurs.containsKey(noeudASupprimer) && listePredecesseurs.get(noeudASupprimer).isEmpty()) {
-					/* Si le noeud en question est le noeud de dpart,
-					 * cela signifie qu'il n'existe aucun chemin entre
-					 * lui et le noeud de dpart*/
-					if (noeudASupprimer.equals(noeudA))
-						throw new NoPathEx();
-					
-					listePredecesseurs.remove(noeudASupprimer);
-					
-					// Parcourir la liste de prdecesseurs de noeuds.
-					for (Integer i : g)
-						// Si le noeud  supprimer existe en tant que prdecesseur, le supprimer
-						if (listePredecesseurs.containsKey(i) && listePredecesseurs.get(i).contains(noeudASupprimer))
-							listePredecesseurs.get(i).remove(noeudASupprimer);
-				}
-			}
+	public int pc(IGraphe g, int noeudD, int noeudA, ResultatPCC resultat, EspaceTravail espace)
+			throws CircuitAbsorbantEx, NoPathEx {
+		IMesuresPCC m = mesures;
+		if (m == null) {
+			ClassificationGraphe c = classer(g);
+			return pcDansOrdre(g, c.getOrdre(), c.getRangs(), noeudD, noeudA, resultat, espace);
+		}
+		espace.commencerMesure(getClass().getSimpleName(), noeudD, noeudA);
+		int distance = IGraphe.INFINI;
+		try {
+			ClassificationGraphe c = classer(g);
+			espace.terminerVerification();
+			distance = pcDansOrdre(g, c.getOrdre(), c.getRangs(), noeudD, noeudA, resultat, espace);
+			return distance;
+		}
+		finally {
+			m.requeteTerminee(espace.terminerMesure(distance));
 		}
-		
-		// Reinsrer le noeud de dpart
-		listePredecesseurs.put(noeudD, new ArrayList<>());
 	}
 	
-
-	/*
-	 * 	Vrifie si toutes les conditions suivantes sont runies :
-	 * 		- Il existe un arc entre le noeud "actuel" et le noeud actuellement test
-	 *  	- L'une des conditions suivantes doit tre remplie :
-	 * 			- Aucun chemin avec le noeud successeur n'a encore t calcul
-	 * 			- Le chemin test est plus optimis que le chemin actuel
+	/**
+	 * @brief Comme pc(g, noeudD, noeudA, resultat, espace), avec un ordre
+	 * topologique de tout le graphe dj calcul : seuls les noeuds rangs entre
+	 * le dpart et l'arrive peuvent se trouver sur un chemin de l'un  l'autre
+	 * @param ordre Noeuds du graphe sans circuit, dans l'ordre topologique
+	 * @param rangs Rang de chaque noeud dans ordre, index par noeud
 	 */
-	private static boolean peutRemplacerDistanceActuelle(IGraphe g, Map<Integer, Integer> distances, Integer noeudS, Integer noeudP) {
-		return g.aArc(noeudP, noeudS) && (!distances.containsKey(noeudS) || 
-				distances.get(noeudS) > g.getValuation(noeudP, noeudS) + 
-				distances.get(noeudP));
+	static int pcDansOrdre(IGraphe g, int[] ordre, int[] rangs, int noeudD, int noeudA,
+			ResultatPCC resultat, EspaceTravail espace) throws NoPathEx {
+		if (rangs[noeudA] < rangs[noeudD])
+			throw new NoPathEx();
+		espace.preparer(g.getNbSommets());
+		EspaceTravail.Recherche recherche = espace.avant();
+		recherche.atteindre(noeudD, 0, 0);
+
+		IVisiteurArc relachement = (noeudP, valuation, noeudS) -> {
+			recherche.compterArc();
+			int distance = recherche.distance(noeudP) + valuation;
+			if (distance < recherche.distance(noeudS))
+				recherche.atteindre(noeudS, distance, noeudP);
+		};
+		for (int rang = rangs[noeudD]; rang < rangs[noeudA]; ++rang)
+			if (recherche.distance(ordre[rang]) != IGraphe.INFINI) {
+				recherche.marquer(ordre[rang]);
+				g.parcourirSuccesseurs(ordre[rang], relachement);
+			}
+
+		int distance = recherche.distance(noeudA);
+		if (distance == IGraphe.INFINI)
+			throw new NoPathEx();
+		espace.commencerChemin();
+		resultat.remplirParPredecesseurs(recherche.getLiens(), noeudA, distance);
+		return distance;
 	}
 	
 	@Override
-	public int pc(IGraphe g, Integer noeudD, Integer noeudA, List<Integer> chemin) throws CircuitAbsorbantEx, NoPathEx {
-		if (!estOK(g))
-			throw new CircuitAbsorbantEx();
-		
-		Map<Integer, Integer> distances = new HashMap<>();
-		Map<Integer, Integer> predecesseurs = new HashMap<>();
-		List<Integer> listeNoeudsParNiveau = new ArrayList<>();
-		
-		triParNiveau(g, distances, listeNoeudsParNiveau, noeudD, noeudA);
-		
-		for (Integer noeudS : listeNoeudsParNiveau) {
-			for (int idx = 0, noeudP = listeNoeudsParNiveau.get(idx); noeudP != noeudS; noeudP = listeNoeudsParNiveau.get(++idx)) {
-				if (peutRemplacerDistanceActuelle(g, distances, noeudS, noeudP)) {
-					distances.put(noeudS, g.getValuation(noeudP, noeudS) + distances.get(noeudP));
-					predecesseurs.put(noeudS, noeudP);
-				}	
-			}
-		}
-		
-		Integer noeud = noeudA;
-		
-		while(noeud != null) {
-			chemin.add(0, noeud);
-			noeud = predecesseurs.get(noeud);
-		}
-		
-		return distances.get(noeudA);
+	public void arbre(IGraphe g, int source, ArbrePCC arbre) throws CircuitAbsorbantEx {
+		classer(g);
+		arbreSansVerification(g, source, arbre);
+	}
+	
+	@Override
+	public void arbreSansVerification(IGraphe g, int source, ArbrePCC arbre) {
+		ClassificationGraphe c = ClassificationGraphe.de(g);
+		arbre.preparer(g, source);
+		relacherDansOrdre(g, c.getOrdre(), c.getRangs()[source], g.getNbSommets(),
+				arbre.getDistances(), arbre.getPredecesseurs());
 	}
 }
@@ -0,0 +1,193 @@
+package pcc;
+
+import exceptions.CircuitAbsorbantEx;
+import exceptions.NoPathEx;
+import graphes.ArbrePCC;
+import graphes.IGraphe;
+import graphes.IPCCArbre;
+import graphes.IVisiteurArc;
+import graphes.ResultatPCC;
+
+/**
+ * Bellman-Ford avec file (SPFA) : seuls les noeuds dont la distance vient de
+ * diminuer voient leurs arcs sortants relchs, et le calcul s'arrte ds que
+ * la file est vide. Contrairement  Bellman, les circuits sont accepts tant
+ * qu'ils ne sont pas absorbants.
+ *
+ * Un circuit absorbant est dtect en comptant les arcs du chemin provisoire
+ * de chaque noeud : sans circuit absorbant, un plus court chemin compte au
+ * plus n-1 arcs. Chaque noeud ne pouvant tre amlior que par des chemins de
+ * longueur croissante, le calcul reste en O(V.E) dans le pire des cas.
+ */
+public class BellmanFord implements IPCCArbre {
+	// Numro indiquant l'absence de prdcesseur
+	private static final int AUCUN = 0;
+
+	/**
+	 * @return true si le graphe ne contient aucun circuit absorbant, o qu'il
+	 * soit, false sinon. Le rsultat est conserv sur le graphe tant qu'il ne
+	 * change pas.
+	 */
+	@Override
+	public boolean estOK(IGraphe g) {
+		ClassificationGraphe c = ClassificationGraphe.de(g);
+		if (!c.aArcNegatif() || c.estSansCircuit())
+			return true;
+		return g.memoriser(BellmanFord.class, h -> {
+			try {
+				potentiels(h);
+				return true;
+			}
+			catch (CircuitAbsorbantEx e) {
+				return false;
+			}
+		});
+	}
+
+	/**
+	 * @brief Distances depuis une source virtuelle relie  chaque noeud par un
+	 * arc de valuation 0 : tous les circuits sont atteints. Pour tout arc u -> v,
+	 * potentiels[u] + valuation >= potentiels[v].
+	 * @param g Graphe
+	 * @return Potentiel (ngatif ou nul) de chaque noeud, index par noeud
+	 * @throws CircuitAbsorbantEx Le graphe contient un circuit absorbant
+	 */
+	static int[] potentiels(IGraphe g) throws CircuitAbsorbantEx {
+		int nbSommets = g.getNbSommets();
+		int[] departs = new int[nbSommets];
+		for (int i = 0; i < nbSommets; ++i)
+			departs[i] = i + 1;
+		try (EspaceTravail espace = EspaceTravail.acquerir()) {
+			EspaceTravail.Recherche recherche = preparer(g, departs, espace);
+			if (!relacher(g, departs, recherche, espace.getFile()))
+				throw new CircuitAbsorbantEx();
+			int[] distances = new int[nbSommets + 1];
+			for (int i = 1; i <= nbSommets; ++i)
+				distances[i] = recherche.distance(i);
+			return distances;
+		}
+	}
+
+	/**
+	 * @brief Prpare l'espace de travail : les noeuds de dpart sont  distance 0
+	 * @return Recherche o seuls les noeuds de dpart sont atteints
+	 */
+	private static EspaceTravail.Recherche preparer(IGraphe g, int[] departs, EspaceTravail espace) {
+		espace.preparer(g.getNbSommets());
+		EspaceTravail.Recherche recherche = espace.avant();
+		for (int noeud : departs) {
+			recherche.atteindre(noeud, 0, AUCUN);
+			recherche.setValeur(noeud, 0);
+		}
+		return recherche;
+	}
+
+	/**
+	 * @brief Relche les arcs depuis les noeuds de dpart jusqu' stabilisation.
+	 * La valeur annexe d'un noeud atteint est le nombre d'arcs de son chemin
+	 * provisoire, sa marque indique sa prsence dans la file.
+	 * @param g Graphe
+	 * @param departs Noeuds dont la distance est initialement connue
+	 * @param recherche[inout] Recherche o seuls les noeuds de dpart sont atteints
+	 * @param file File d'au moins nbSommets cases
+	 * @return true si les distances sont stables, false si un circuit absorbant atteignable a t trouv
+	 */
+	private static boolean relacher(IGraphe g, int[] departs, EspaceTravail.Recherche recherche, int[] file) {
+		int nbSommets = g.getNbSommets();
+		// File circulaire : un noeud n'y figure qu'une fois  la fois
+		int[] fin = {0};
+		int[] nbEnFile = {0};
+		boolean[] absorbant = {false};
+
+		IVisiteurArc relachement = (noeudP, valuation, noeudS) -> {
+			int distance = recherche.distance(noeudP) + valuation;
+			if (distance >= recherche.distance(noeudS))
+				return;
+			recherche.atteindre(noeudS, distance, noeudP);
+			int longueur = recherche.valeur(noeudP) + 1;
+			recherche.setValeur(noeudS, longueur);
+			if (longueur >= nbSommets)
+				absorbant[0] = true;
+			else if (!recherche.estMarque(noeudS)) {
+				recherche.marquer(noeudS);
+				file[fin[0]] = noeudS;
+				fin[0] = (fin[0] + 1) % nbSommets;
+				++nbEnFile[0];
+			}
+		};
+
+		for (int noeud : departs) {
+			recherche.marquer(noeud);
+			file[fin[0]] = noeud;
+			fin[0] = (fin[0] + 1) % nbSommets;
+			++nbEnFile[0];
+		}
+		for (int debut = 0; nbEnFile[0] > 0 && !absorbant[0]; debut = (debut + 1) % nbSommets) {
+			int noeud = file[debut];
+			--nbEnFile[0];
+			recherche.demarquer(noeud);
+			g.parcourirSuccesseurs(noeud, relachement);
+		}
+		return !absorbant[0];
+	}
+
+	/**
+	 * @brief Calcule les distances depuis la source
+	 * @return Recherche contenant les distances et prdcesseurs des noeuds atteints
+	 * @throws CircuitAbsorbantEx Un circuit absorbant est atteignable depuis la source
+	 */
+	private static EspaceTravail.Recherche rechercher(IGraphe g, int source, EspaceTravail espace)
+			throws CircuitAbsorbantEx {
+		int[] departs = {source};
+		EspaceTravail.Recherche recherche = preparer(g, departs, espace);
+		if (!relacher(g, departs, recherche, espace.getFile()))
+			throw new CircuitAbsorbantEx();
+		return recherche;
+	}
+
+	@Override
+	public int pc(IGraphe g, int noeudD, int noeudA, ResultatPCC resultat)
+			throws CircuitAbsorbantEx, NoPathEx {
+		try (EspaceTravail espace = EspaceTravail.acquerir()) {
+			return pc(g, noeudD, noeudA, resultat, espace);
+		}
+	}
+
+	/**
+	 * @brief Comme pc(g, noeudD, noeudA, resultat), dans un espace de travail
+	 * fourni : la requte ne paie que les noeuds qu'elle atteint
+	 * @param espace Espace de travail, prpar par la requte
+	 */
+	public int pc(IGraphe g, int noeudD, int noeudA, ResultatPCC resultat, EspaceTravail espace)
+			throws CircuitAbsorbantEx, NoPathEx {
+		EspaceTravail.Recherche recherche = rechercher(g, noeudD, espace);
+		int distance = recherche.distance(noeudA);
+		if (distance == IGraphe.INFINI)
+			throw new NoPathEx();
+		resultat.remplirParPredecesseurs(recherche.getLiens(), noeudA, distance);
+		return distance;
+	}
+
+	/**
+	 * @throws CircuitAbsorbantEx Un circuit absorbant est atteignable depuis la source
+	 */
+	@Override
+	public void arbre(IGraphe g, int source, ArbrePCC arbre) throws CircuitAbsorbantEx {
+		arbre.preparer(g, source);
+		try (EspaceTravail espace = EspaceTravail.acquerir()) {
+			EspaceTravail.Recherche recherche = rechercher(g, source, espace);
+			int[] distances = arbre.getDistances();
+			int[] predecesseurs = arbre.getPredecesseurs();
+			for (int v = 1; v < distances.length; ++v)
+				if (recherche.distance(v) != IGraphe.INFINI) {
+					distances[v] = recherche.distance(v);
+					predecesseurs[v] = recherche.lien(v);
+				}
+		}
+	}
+
+	@Override
+	public void arbreSansVerification(IGraphe g, int source, ArbrePCC arbre) {
+		arbre(g, source, arbre);
+	}
+}
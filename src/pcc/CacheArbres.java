@@ -0,0 +1,169 @@
+package pcc;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import exceptions.NoPathEx;
+import graphes.ArbrePCC;
+import graphes.IGraphe;
+import graphes.IPCCArbre;
+import graphes.ResultatPCC;
+
+/**
+ * Cache born des arbres de plus courts chemins, indexs par graphe et par
+ * noeud source. Les requtes depuis une source dj calcule sont servies
+ * sans nouvelle recherche, tant que la version du graphe n'a pas chang.
+ * Les arbres les moins rcemment utiliss sont retirs en premier.
+ *
+ * Seul l'accs  la table est verrouill : un arbre absent est calcul hors
+ * verrou, les autres sources restent servies pendant ce temps. Les requtes
+ * concurrentes sur la mme source attendent le mme calcul.
+ */
+public class CacheArbres implements IPCCArbre {
+	/**
+	 * Cl du cache : le graphe est compar par identit
+	 */
+	private static final class Cle {
+		private final IGraphe g;
+		private final int source;
+
+		Cle(IGraphe g, int source) {
+			this.g = g;
+			this.source = source;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Cle))
+				return false;
+			Cle c = (Cle) o;
+			return c.g == g && c.source == source;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(g) + source;
+		}
+	}
+
+	/**
+	 * Arbre d'une source, calcul ou en cours de calcul, pour une version du graphe
+	 */
+	private static final class Entree {
+		private final long version;
+		private final CompletableFuture<ArbrePCC> arbre = new CompletableFuture<>();
+
+		Entree(long version) {
+			this.version = version;
+		}
+	}
+
+	private final IPCCArbre algo;
+	private final Map<Cle, Entree> arbres;
+
+	/**
+	 * @param algo Algorithme utilis pour calculer les arbres absents du cache
+	 * @param capacite Nombre maximal d'arbres conservs
+	 */
+	public CacheArbres(IPCCArbre algo, int capacite) {
+		if (capacite < 1) throw new IllegalArgumentException();
+		this.algo = algo;
+		// Ordre d'accs : le premier lment est le moins rcemment utilis
+		this.arbres = new LinkedHashMap<Cle, Entree>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Cle, Entree> plusAncien) {
+				return size() > capacite;
+			}
+		};
+	}
+
+	/**
+	 * @return Nombre d'arbres actuellement en cache
+	 */
+	public int taille() {
+		synchronized (arbres) {
+			return arbres.size();
+		}
+	}
+
+	/**
+	 * @brief Vide le cache
+	 */
+	public void vider() {
+		synchronized (arbres) {
+			arbres.clear();
+		}
+	}
+
+	/**
+	 * @param g Graphe
+	 * @param source Noeud source
+	 * @return L'arbre en cache s'il correspond  la version actuelle du graphe,
+	 * 		   un arbre nouvellement calcul (et mis en cache) sinon.
+	 * 		   L'arbre retourn est partag et ne doit pas tre modifi.
+	 */
+	@Override
+	public ArbrePCC arbre(IGraphe g, int source) throws IllegalArgumentException {
+		Cle cle = new Cle(g, source);
+		long version = g.getVersion();
+		Entree entree;
+		boolean aCalculer = false;
+		synchronized (arbres) {
+			entree = arbres.get(cle);
+			if (entree == null || entree.version != version) {
+				entree = new Entree(version);
+				arbres.put(cle, entree);
+				aCalculer = true;
+			}
+		}
+		if (aCalculer) {
+			try {
+				entree.arbre.complete(algo.arbre(g, source));
+			} catch (RuntimeException | Error e) {
+				// chec transmis aux requtes en attente, la source sera recalcule
+				synchronized (arbres) {
+					arbres.remove(cle, entree);
+				}
+				entree.arbre.completeExceptionally(e);
+				throw e;
+			}
+		}
+		try {
+			return entree.arbre.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/**
+	 * @brief Copie l'arbre (en cache ou calcul) dans celui fourni
+	 */
+	@Override
+	public void arbre(IGraphe g, int source, ArbrePCC arbre) throws IllegalArgumentException {
+		ArbrePCC enCache = arbre(g, source);
+		arbre.preparer(g, source);
+		System.arraycopy(enCache.getDistances(), 0, arbre.getDistances(), 0, enCache.getDistances().length);
+		System.arraycopy(enCache.getPredecesseurs(), 0, arbre.getPredecesseurs(), 0, enCache.getPredecesseurs().length);
+	}
+
+	@Override
+	public void arbreSansVerification(IGraphe g, int source, ArbrePCC arbre) {
+		arbre(g, source, arbre);
+	}
+
+	@Override
+	public boolean estOK(IGraphe g) {
+		return algo.estOK(g);
+	}
+
+	@Override
+	public int pc(IGraphe g, int noeudD, int noeudA, ResultatPCC resultat) throws NoPathEx {
+		return arbre(g, noeudD).cheminVers(noeudA, resultat);
+	}
+}
@@ -0,0 +1,26 @@
+package pcc;
+
+import graphes.IGraphe;
+import graphes.types.GrapheCSR;
+import graphes.types.GrapheHorsTas;
+
+/**
+ * Graphe invers (index des prdcesseurs), conserv sur le graphe tant que
+ * sa version ne change pas. Un GrapheCSR ou un GrapheHorsTas fournit
+ * directement son propre inverse.
+ */
+final class CacheInverse {
+	private CacheInverse() {}
+
+	/**
+	 * @param g Graphe
+	 * @return Graphe invers de g, calcul une fois par graphe et par version
+	 */
+	static IGraphe inverse(IGraphe g) {
+		if (g instanceof GrapheCSR)
+			return ((GrapheCSR) g).getInverse();
+		if (g instanceof GrapheHorsTas)
+			return ((GrapheHorsTas) g).getInverse();
+		return g.memoriser(CacheInverse.class, GrapheCSR::inverser);
+	}
+}
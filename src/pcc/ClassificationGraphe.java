@@ -0,0 +1,197 @@
+package pcc;
+
+import graphes.IGraphe;
+import graphes.IVisiteurArc;
+
+/**
+ * Proprits d'un graphe utiles au choix et  la vrification des algorithmes,
+ * calcules en O(V+E) : un premier parcours compte les arcs, relve les
+ * valuations extrmes et les degrs, puis TriTopologique trie les noeuds
+ *  partir des degrs entrants ainsi compts, pour dtecter les circuits.
+ *
+ * de(g) conserve la classification sur le graphe (IGraphe.memoriser) : elle
+ * n'est recalcule qu'aprs une modification du graphe. Les proprits dj
+ * connues  la lecture du graphe (en-tte d'un fichier binaire) peuvent tre
+ * renseignes par connaitre() : aArcNegatif(g) et estSansCircuit(g) les
+ * utilisent alors sans classer le graphe.
+ */
+public final class ClassificationGraphe {
+	// Cls des proprits mmorises seules sur le graphe
+	private enum Propriete { ARC_NEGATIF, SANS_CIRCUIT }
+
+	private final int nbSommets;
+	private final long nbArcs;
+	private final int valuationMin;		// INFINI sans arc
+	private final int valuationMax;		// -INFINI sans arc
+	private final int degreSortantMax;
+	private final int degreEntrantMax;
+	private final int[] ordre;	// Ordre topologique, null si le graphe a un circuit
+	private final int[] rangs;	// Rang de chaque noeud dans ordre
+
+	/**
+	 * @param g Graphe
+	 * @return Classification de g, calcule une fois par version du graphe
+	 */
+	public static ClassificationGraphe de(IGraphe g) {
+		return g.memoriser(ClassificationGraphe.class, ClassificationGraphe::new);
+	}
+
+	/**
+	 * @param g Graphe
+	 * @return true si le graphe a un arc ngatif, sans le classer si c'est dj connu
+	 */
+	public static boolean aArcNegatif(IGraphe g) {
+		return g.memoriser(Propriete.ARC_NEGATIF, h -> de(h).aArcNegatif());
+	}
+
+	/**
+	 * @param g Graphe
+	 * @return true si le graphe est sans circuit, sans le classer si c'est dj connu
+	 */
+	public static boolean estSansCircuit(IGraphe g) {
+		return g.memoriser(Propriete.SANS_CIRCUIT, h -> de(h).estSansCircuit());
+	}
+
+	/**
+	 * @brief Renseigne des proprits du graphe connues par ailleurs, valables
+	 * jusqu' sa prochaine modification
+	 * @param g Graphe
+	 * @param aArcNegatif true si le graphe a un arc ngatif
+	 * @param estSansCircuit true si le graphe est sans circuit
+	 */
+	public static void connaitre(IGraphe g, boolean aArcNegatif, boolean estSansCircuit) {
+		g.memoriser(Propriete.ARC_NEGATIF, h -> aArcNegatif);
+		g.memoriser(Propriete.SANS_CIRCUIT, h -> estSansCircuit);
+	}
+
+	/**
+	 * @param g Graphe  classer
+	 */
+	public ClassificationGraphe(IGraphe g) {
+		nbSommets = g.getNbSommets();
+		int[] degresEntrants = new int[nbSommets + 1];
+		long[] nb = {0};
+		int[] extremes = {IGraphe.INFINI, -IGraphe.INFINI};
+		IVisiteurArc comptage = (a, v, b) -> {
+			++degresEntrants[b];
+			++nb[0];
+			if (v < extremes[0])
+				extremes[0] = v;
+			if (v > extremes[1])
+				extremes[1] = v;
+		};
+		long total = 0;
+		int degreMax = 0;
+		for (int i = 1; i <= nbSommets; ++i) {
+			g.parcourirSuccesseurs(i, comptage);
+			degreMax = (int) Math.max(degreMax, nb[0] - total);
+			total = nb[0];
+		}
+		nbArcs = nb[0];
+		valuationMin = extremes[0];
+		valuationMax = extremes[1];
+		degreSortantMax = degreMax;
+		int degreEntrantMax = 0;
+		for (int i = 1; i <= nbSommets; ++i)
+			degreEntrantMax = Math.max(degreEntrantMax, degresEntrants[i]);
+		this.degreEntrantMax = degreEntrantMax;
+
+		TriTopologique tri = new TriTopologique(g, 0, degresEntrants);
+		if (tri.estSansCircuit()) {
+			ordre = tri.getOrdre();
+			rangs = new int[nbSommets + 1];
+			for (int rang = 0; rang < nbSommets; ++rang)
+				rangs[ordre[rang]] = rang;
+		}
+		else {
+			ordre = null;
+			rangs = null;
+		}
+	}
+
+	/**
+	 * @return Nombre de noeuds du graphe
+	 */
+	public int getNbSommets() {
+		return nbSommets;
+	}
+
+	/**
+	 * @return Nombre d'arcs du graphe
+	 */
+	public long getNbArcs() {
+		return nbArcs;
+	}
+
+	/**
+	 * @return true si au moins un arc a une valuation ngative
+	 */
+	public boolean aArcNegatif() {
+		return valuationMin < 0;
+	}
+
+	/**
+	 * @return Plus petite valuation d'arc, INFINI si le graphe n'a pas d'arc
+	 */
+	public int getValuationMin() {
+		return valuationMin;
+	}
+
+	/**
+	 * @return Plus grande valuation d'arc, -INFINI si le graphe n'a pas d'arc
+	 */
+	public int getValuationMax() {
+		return valuationMax;
+	}
+
+	/**
+	 * @return Plus grand nombre d'arcs sortant d'un mme noeud
+	 */
+	public int getDegreSortantMax() {
+		return degreSortantMax;
+	}
+
+	/**
+	 * @return Plus grand nombre d'arcs entrant dans un mme noeud
+	 */
+	public int getDegreEntrantMax() {
+		return degreEntrantMax;
+	}
+
+	/**
+	 * @return Nombre moyen d'arcs sortant d'un noeud
+	 */
+	public double getDegreMoyen() {
+		return nbSommets == 0 ? 0 : (double) nbArcs / nbSommets;
+	}
+
+	/**
+	 * @return true si le graphe ne contient aucun circuit
+	 */
+	public boolean estSansCircuit() {
+		return ordre != null;
+	}
+
+	/**
+	 * @return true si le graphe est assez dense pour que le Dijkstra sur tableau,
+	 * en O(V), batte le Dijkstra sur tas, en O(E log V)
+	 */
+	public boolean estDense() {
+		double log = Math.max(1.0, Math.log(nbSommets) / Math.log(2));
+		return nbArcs * log > (double) nbSommets * nbSommets;
+	}
+
+	/**
+	 * @return Noeuds dans l'ordre topologique (null si le graphe a un circuit),  ne pas modifier
+	 */
+	int[] getOrdre() {
+		return ordre;
+	}
+
+	/**
+	 * @return Rang de chaque noeud dans l'ordre topologique, index par noeud,  ne pas modifier
+	 */
+	int[] getRangs() {
+		return rangs;
+	}
+}
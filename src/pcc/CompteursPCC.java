@@ -0,0 +1,105 @@
+package pcc;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Totaux des mesures de toutes les requtes observes, utilisables par
+ * plusieurs fils d'excution  la fois. instantane() en donne une copie.
+ */
+public class CompteursPCC implements IMesuresPCC {
+	/**
+	 * Copie des compteurs  un instant donn
+	 */
+	public static final class Instantane {
+		private final long nbRequetes;
+		private final long nbEchecs;
+		private final long nbNoeudsFixes;
+		private final long nbArcsRelaches;
+		private final long nbOperationsTas;
+		private final long tailleTasMax;
+		private final long capaciteEspaceMax;
+		private final long dureeVerification;
+		private final long dureeRecherche;
+		private final long dureeChemin;
+
+		private Instantane(CompteursPCC c) {
+			nbRequetes = c.nbRequetes.sum();
+			nbEchecs = c.nbEchecs.sum();
+			nbNoeudsFixes = c.nbNoeudsFixes.sum();
+			nbArcsRelaches = c.nbArcsRelaches.sum();
+			nbOperationsTas = c.nbOperationsTas.sum();
+			tailleTasMax = c.tailleTasMax.get();
+			capaciteEspaceMax = c.capaciteEspaceMax.get();
+			dureeVerification = c.dureeVerification.sum();
+			dureeRecherche = c.dureeRecherche.sum();
+			dureeChemin = c.dureeChemin.sum();
+		}
+
+		public long getNbRequetes() { return nbRequetes; }
+		public long getNbEchecs() { return nbEchecs; }
+		public long getNbNoeudsFixes() { return nbNoeudsFixes; }
+		public long getNbArcsRelaches() { return nbArcsRelaches; }
+		public long getNbOperationsTas() { return nbOperationsTas; }
+		public long getTailleTasMax() { return tailleTasMax; }
+		public long getCapaciteEspaceMax() { return capaciteEspaceMax; }
+		public long getDureeVerification() { return dureeVerification; }
+		public long getDureeRecherche() { return dureeRecherche; }
+		public long getDureeChemin() { return dureeChemin; }
+
+		@Override
+		public String toString() {
+			return nbRequetes + " requtes (" + nbEchecs + " sans chemin), "
+					+ nbNoeudsFixes + " noeuds fixs, " + nbArcsRelaches + " arcs relchs, "
+					+ nbOperationsTas + " oprations sur le tas (max " + tailleTasMax + "), "
+					+ "espace max " + capaciteEspaceMax + " noeuds, "
+					+ "vrification " + dureeVerification / 1000000 + " ms, "
+					+ "recherche " + dureeRecherche / 1000000 + " ms, "
+					+ "chemin " + dureeChemin / 1000000 + " ms";
+		}
+	}
+
+	private final LongAdder nbRequetes = new LongAdder();
+	private final LongAdder nbEchecs = new LongAdder();
+	private final LongAdder nbNoeudsFixes = new LongAdder();
+	private final LongAdder nbArcsRelaches = new LongAdder();
+	private final LongAdder nbOperationsTas = new LongAdder();
+	private final LongAccumulator tailleTasMax = new LongAccumulator(Math::max, 0);
+	private final LongAccumulator capaciteEspaceMax = new LongAccumulator(Math::max, 0);
+	private final LongAdder dureeVerification = new LongAdder();
+	private final LongAdder dureeRecherche = new LongAdder();
+	private final LongAdder dureeChemin = new LongAdder();
+
+	@Override
+	public void requeteTerminee(MesureRequete mesure) {
+		nbRequetes.increment();
+		if (!mesure.estReussie())
+			nbEchecs.increment();
+		nbNoeudsFixes.add(mesure.getNbNoeudsFixes());
+		nbArcsRelaches.add(mesure.getNbArcsRelaches());
+		nbOperationsTas.add(mesure.getNbOperationsTas());
+		tailleTasMax.accumulate(mesure.getTailleTasMax());
+		capaciteEspaceMax.accumulate(mesure.getCapaciteEspace());
+		dureeVerification.add(mesure.getDureeVerification());
+		dureeRecherche.add(mesure.getDureeRecherche());
+		dureeChemin.add(mesure.getDureeChemin());
+	}
+
+	/**
+	 * @return Copie des compteurs (cohrente si aucune requte n'est en cours)
+	 */
+	public Instantane instantane() {
+		return new Instantane(this);
+	}
+
+	/**
+	 * @brief Remet tous les compteurs  zro
+	 */
+	public void reinitialiser() {
+		for (LongAdder a : new LongAdder[] {nbRequetes, nbEchecs, nbNoeudsFixes, nbArcsRelaches,
+				nbOperationsTas, dureeVerification, dureeRecherche, dureeChemin})
+			a.reset();
+		tailleTasMax.reset();
+		capaciteEspaceMax.reset();
+	}
+}
@@ -0,0 +1,249 @@
+package pcc;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+import exceptions.ArcNgatifEx;
+import exceptions.NoPathEx;
+import graphes.ArbrePCC;
+import graphes.IGraphe;
+import graphes.IPCCArbre;
+import graphes.IVisiteurArc;
+import graphes.ResultatPCC;
+
+/**
+ * Delta-stepping (Meyer et Sanders) : les distances provisoires sont ranges
+ * dans des seaux de largeur delta, traits dans l'ordre. Tous les noeuds d'un
+ * mme seau sont relchs ensemble, en parallle :
+ * 		- les arcs lgers (valuation <= delta) peuvent faire entrer des noeuds
+ * 		  dans le seau courant, qui est retrait jusqu' ce qu'il soit vide
+ * 		- les arcs lourds ne peuvent atteindre que des seaux suivants : ils ne
+ * 		  sont relchs qu'une fois, quand le seau courant est vid
+ *
+ * Distance et prdcesseur d'un noeud forment un seul long
+ * (distance << 32 | prdcesseur) : une seule opration compareAndSet suffit
+ *  les mettre  jour ensemble, sans verrou.
+ */
+public class DeltaStepping extends Dijkstra implements IPCCArbre {
+	// En dessous de ce nombre de noeuds  relcher, le paralllisme ne paie pas
+	private static final int SEUIL_PARALLELE = 256;
+	private static final long INCONNU = (long) IGraphe.INFINI << 32 | AUCUN;
+
+	private final ForkJoinPool pool;
+	private final int delta;	// 0 : choisi selon les valuations du graphe
+
+	/**
+	 * @brief Delta choisi selon le graphe, noeuds rpartis sur le pool commun
+	 */
+	public DeltaStepping() {
+		this(ForkJoinPool.commonPool(), 0);
+	}
+
+	/**
+	 * @param pool Pool sur lequel rpartir les relchements
+	 * @param delta Largeur des seaux, 0 pour la choisir selon les valuations du graphe
+	 */
+	public DeltaStepping(ForkJoinPool pool, int delta) {
+		if (delta < 0) throw new IllegalArgumentException();
+		this.pool = pool;
+		this.delta = delta;
+	}
+
+	/**
+	 * @brief Choisit delta de l'ordre de (valuation maximale / degr moyen) :
+	 * assez large pour que chaque seau contienne de nombreux noeuds  relcher
+	 * en parallle, assez troit pour limiter les relchements rpts
+	 * @param g Graphe sans arc ngatif
+	 * @return Largeur des seaux, au moins 1
+	 */
+	public static int choisirDelta(IGraphe g) {
+		ClassificationGraphe c = ClassificationGraphe.de(g);
+		double degreMoyen = Math.max(1.0, c.getDegreMoyen());
+		return (int) Math.max(1, Math.round(valuationMax(c) / degreMoyen));
+	}
+
+	/**
+	 * @return Valuation maximale du graphe, 0 s'il n'a pas d'arc
+	 */
+	private static int valuationMax(ClassificationGraphe c) {
+		return Math.max(0, c.getValuationMax());
+	}
+
+	private static int distance(long etat) {
+		return (int) (etat >>> 32);
+	}
+
+	private static int predecesseur(long etat) {
+		return (int) etat;
+	}
+
+	/**
+	 * Seaux de noeuds, grs en tableau circulaire : toutes les distances
+	 * provisoires sont comprises entre le seau courant et delta + valuation max.
+	 * Un noeud peut rester dans un seau qui ne correspond plus  sa distance :
+	 * il est ignor quand ce seau est trait.
+	 */
+	private static final class Seaux {
+		private final int[][] noeuds;
+		private final int[] tailles;
+		private long nbEntrees;
+
+		Seaux(int nbSeaux) {
+			noeuds = new int[nbSeaux][16];
+			tailles = new int[nbSeaux];
+		}
+
+		void ajouter(long indice, int noeud) {
+			int s = (int) (indice % noeuds.length);
+			if (tailles[s] == noeuds[s].length)
+				noeuds[s] = Arrays.copyOf(noeuds[s], 2 * tailles[s]);
+			noeuds[s][tailles[s]++] = noeud;
+			++nbEntrees;
+		}
+
+		boolean estVide() {
+			return nbEntrees == 0;
+		}
+	}
+
+	/**
+	 * @brief Calcule les plus courts chemins depuis noeudD
+	 * @param g Graphe sans arc ngatif
+	 * @param noeudD Noeud de dpart
+	 * @param noeudA Noeud d'arrive (arrt ds que sa distance est dfinitive), AUCUN pour tous
+	 * @return tat (distance, prdcesseur) de chaque noeud
+	 */
+	private AtomicLongArray rechercher(IGraphe g, int noeudD, int noeudA) {
+		int nbSommets = g.getNbSommets();
+		int largeur = delta > 0 ? delta : choisirDelta(g);
+
+		AtomicLongArray etats = new AtomicLongArray(nbSommets + 1);
+		for (int i = 1; i <= nbSommets; ++i)
+			etats.set(i, INCONNU);
+		etats.set(noeudD, (long) 0 << 32 | AUCUN);
+
+		Seaux seaux = new Seaux(valuationMax(ClassificationGraphe.de(g)) / largeur + 2);
+		seaux.ajouter(0, noeudD);
+		int[] vus = new int[nbSommets + 1];	// Dernire passe ayant retenu chaque noeud
+		int passe = 0;
+		int[] fixes = new int[16];			// Noeuds retirs du seau courant
+
+		for (long courant = 0; !seaux.estVide(); ++courant) {
+			int s = (int) (courant % seaux.noeuds.length);
+			int nbFixes = 0;
+			// Le seau courant est vid, relch, puis retrait tant qu'il se remplit
+			while (seaux.tailles[s] > 0) {
+				++passe;
+				int[] frontiere = seaux.noeuds[s];
+				int taille = seaux.tailles[s];
+				seaux.noeuds[s] = new int[16];
+				seaux.tailles[s] = 0;
+				seaux.nbEntrees -= taille;
+
+				int n = 0;
+				for (int k = 0; k < taille; ++k) {
+					int v = frontiere[k];
+					if (vus[v] != passe && distance(etats.get(v)) / largeur == courant) {
+						vus[v] = passe;
+						frontiere[n++] = v;
+					}
+				}
+				if (nbFixes + n > fixes.length)
+					fixes = Arrays.copyOf(fixes, Math.max(nbFixes + n, 2 * fixes.length));
+				System.arraycopy(frontiere, 0, fixes, nbFixes, n);
+				nbFixes += n;
+				relacher(g, etats, frontiere, n, largeur, true, seaux);
+			}
+			// Les arcs lourds sont relchs une seule fois, depuis les noeuds dsormais fixs
+			relacher(g, etats, fixes, nbFixes, largeur, false, seaux);
+
+			if (noeudA != AUCUN && distance(etats.get(noeudA)) / largeur <= courant)
+				break;
+		}
+		return etats;
+	}
+
+	/**
+	 * @brief Relche les arcs lgers (ou lourds) des noeuds donns, en parallle si
+	 * ils sont assez nombreux, puis range les noeuds amliors dans leur seau
+	 */
+	private void relacher(IGraphe g, AtomicLongArray etats, int[] noeuds, int nb,
+			int largeur, boolean legers, Seaux seaux) {
+		if (nb == 0)
+			return;
+		// Chaque amlioration russie inscrit le noeud amlior, une fois au plus par arc relch
+		int nbArcs = 0;
+		for (int k = 0; k < nb; ++k)
+			nbArcs += g.degreSortant(noeuds[k]);
+		int[] ameliores = new int[nbArcs];
+		AtomicInteger nbAmeliores = new AtomicInteger();
+
+		IVisiteurArc relachement = (noeudP, valuation, noeudS) -> {
+			if ((valuation <= largeur) != legers)
+				return;
+			int nouvelle = distance(etats.get(noeudP)) + valuation;
+			long actuel = etats.get(noeudS);
+			// Minimum atomique : on ressaie tant qu'un autre fil n'a pas fait mieux
+			while (nouvelle < distance(actuel)) {
+				if (etats.compareAndSet(noeudS, actuel, (long) nouvelle << 32 | noeudP)) {
+					ameliores[nbAmeliores.getAndIncrement()] = noeudS;
+					break;
+				}
+				actuel = etats.get(noeudS);
+			}
+		};
+
+		if (nb < SEUIL_PARALLELE)
+			for (int k = 0; k < nb; ++k)
+				g.parcourirSuccesseurs(noeuds[k], relachement);
+		else
+			Taches.executer(pool, () -> IntStream.range(0, nb).parallel()
+					.forEach(k -> g.parcourirSuccesseurs(noeuds[k], relachement)));
+
+		for (int k = 0, fin = nbAmeliores.get(); k < fin; ++k) {
+			int v = ameliores[k];
+			seaux.ajouter(distance(etats.get(v)) / largeur, v);
+		}
+	}
+
+	/**
+	 * @brief Les tats des noeuds, modifis en parallle, restent propres  la
+	 * requte : seul le chemin trouv passe par l'espace de travail
+	 */
+	@Override
+	int pcSansVerification(IGraphe g, int noeudD, int noeudA, ResultatPCC resultat,
+			EspaceTravail espace) throws NoPathEx {
+		AtomicLongArray etats = rechercher(g, noeudD, noeudA);
+		int distance = distance(etats.get(noeudA));
+		if (distance == IGraphe.INFINI)
+			throw new NoPathEx();
+
+		espace.preparer(g.getNbSommets());
+		EspaceTravail.Recherche recherche = espace.avant();
+		for (int v = noeudA; v != AUCUN; v = predecesseur(etats.get(v)))
+			recherche.atteindre(v, distance(etats.get(v)), predecesseur(etats.get(v)));
+		resultat.remplirParPredecesseurs(recherche.getLiens(), noeudA, distance);
+		return distance;
+	}
+
+	@Override
+	public void arbre(IGraphe g, int source, ArbrePCC arbre) throws ArcNgatifEx {
+		if (!estOK(g)) { throw new ArcNgatifEx(); }
+		arbreSansVerification(g, source, arbre);
+	}
+
+	@Override
+	public void arbreSansVerification(IGraphe g, int source, ArbrePCC arbre) {
+		arbre.preparer(g, source);
+		AtomicLongArray etats = rechercher(g, source, AUCUN);
+		int[] distances = arbre.getDistances();
+		int[] predecesseurs = arbre.getPredecesseurs();
+		for (int v = 1; v < distances.length; ++v) {
+			distances[v] = distance(etats.get(v));
+			predecesseurs[v] = predecesseur(etats.get(v));
+		}
+	}
+}
@@ -1,74 +1,49 @@
 package pcc;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 import exceptions.ArcNgatifEx;
 import exceptions.NoPathEx;
 import graphes.IGraphe;
-import graphes.IPCC;
+import graphes.IPCCPrimitif;
+import graphes.IVisiteurArc;
+import graphes.ResultatPCC;
 
-public class Dijkstra implements IPCC {
-	// Nombre indiquant l'absence de calcul de la distance pour le noeud concern
-	private static final int NON_CALCULE = -100;
+public class Dijkstra implements IPCCPrimitif {
+	// Numro indiquant l'absence de noeud (prdcesseur, noeud suivant)
+	static final int AUCUN = 0;
 	
-	@Override
-	public boolean estOK(IGraphe g) {
-		for (Integer i : g)
-			for (Integer j : g)
-				if (g.aArc(i, j) && g.getValuation(i, j) < 0)
-					return false;
-		return true;
-	}
+	// Observateur des requtes, null si elles ne sont pas mesures
+	private IMesuresPCC mesures;
 	
+	/**
+	 * @param mesures Observateur de chaque requte pc, null pour ne plus mesurer
+	 */
+	public void setMesures(IMesuresPCC mesures) {
+		this.mesures = mesures;
+	}
 	
 	/**
-	 * @brief Initialise la HashMap de longueur de chaque noeud
-	 * @param g Graphe
-	 * @param noeudD Noeud de dpart
-	 * @return HashMap initialise de la longueur du chemin actuel entre le noeud
-	 * 		   de dpart en indtermine (sauf le noeud de dpart, fixe  0) et
-	 * 		   le noeud en cl
+	 * @return true si le graphe n'a aucun arc ngatif, en O(1) tant que le
+	 * graphe n'a pas chang depuis la dernire vrification
 	 */
-	private static Map<Integer, Integer> initialisationDistances(IGraphe g,
-											Integer noeudD){
-		HashMap<Integer, Integer> distances = new HashMap<>();
-		
-		// Rempli le tableau de distance  "l'infini"
-		for (Integer i : g)
-			if (!i.equals(noeudD))
-				distances.put(i, NON_CALCULE);
-		
-		/* La longueur du chemin pour le noeud de dpart est mis  0
-		 * pour faciliter l'implmentation de l'algorithme
-		 */
-		distances.put(noeudD, 0);
-		return distances;
+	@Override
+	public boolean estOK(IGraphe g) {
+		return !ClassificationGraphe.aArcNegatif(g);
 	}
 	
 	
 	/**
-	 * @brief Vrifie si toutes les conditions suivantes sont runies :
-	 * 		- Il existe un arc du noeud prdcesseur au noeud successeur
-	 *  	- L'une des conditions suivantes doit tre remplie :
-	 * 			- Aucun chemin entre le noeud de dpart et le noeud successeur
-	 * 			  n'a encore t calcul/trouv
-	 * 			- Le chemin (en passant par le noeud prdcesseur) est plus
-	 * 			  optimis que le chemin actuel
+	 * @brief Vrifie si le chemin (en passant par le noeud prdcesseur) est
+	 * 		  plus optimis que le chemin actuel, qui peut ne pas encore avoir
+	 * 		  t trouv (INFINI)
 	 *
-	 * @param g Graphe
-	 * @param distances HashMap de la longueur du chemin actuel entre le noeud
-	 * 					de dpart et le noeud en cl
-	 * @param noeudP Noeud prdcesseur  noeudS
-	 * @param noeudS Noeud successeur  noeudP
-	 * @return true si les conditions sont runies, false sinon
+	 * @param recherche Longueur du chemin actuel entre le noeud de dpart et
+	 * 					chaque noeud
+	 * @param noeudS Noeud successeur, pas encore mis de ct
+	 * @param distance Longueur du chemin passant par le noeud prdcesseur
+	 * @return true si le chemin est plus court, false sinon
 	 */
-	private static boolean peutRemplacerDistanceActuelle(IGraphe g, 
-			Map<Integer, Integer> distances, Integer noeudP, Integer noeudS) {
-		return 	g.aArc(noeudP, noeudS) && (distances.get(noeudS) ==
-				NON_CALCULE || distances.get(noeudS) >
-				g.getValuation(noeudP, noeudS) + distances.get(noeudP));
+	private static boolean peutRemplacerDistanceActuelle(EspaceTravail.Recherche recherche, int noeudS, int distance) {
+		return distance < recherche.distance(noeudS);
 	}
 	
 	
@@ -76,86 +51,125 @@ public class Dijkstra implements IPCC {
 	 * @brief Vrifie si toutes les conditions suivantes sont runies :
 	 *  	- La distance doit avoir t dj calcule (il existe bien un chemin
 	 * 		  entre le noeud de dpart et le noeud potentiellement successeur)
-	 *  	- Le noeud potentiellement successeur ne peut tre identique au
-	 * 		  noeud "actuel"
 	 *  	- L'une des conditions suivantes doit tre remplie :
-	 *  		- Aucun noeud n'a encore t choisi comme noeud successeur au
-	 * 			  noeud "actuel"
+	 *  		- Aucun noeud n'a encore t choisi comme noeud suivant
 	 *  		- Le noeud actuellement test a une longueur de chemin
-	 * 			  infrieure au noeud successeur (et est donc plus intressant)
+	 * 			  infrieure au noeud suivant (et est donc plus intressant)
 	 *
-	 * @param distances HashMap de la longueur du chemin actuel entre le noeud
-	 * 					de dpart et le noeud en cl
-	 * @param noeudP Noeud prdcesseur  noeudSucc
-	 * @param noeudSucc Noeud successeur  noeudP
+	 * @param recherche Longueur du chemin actuel entre le noeud de dpart et
+	 * 					chaque noeud
+	 * @param noeudSucc Noeud test, pas encore mis de ct
 	 * @param noeudSuiv Noeud actuellement choisi pour tre le suivant
 	 * @return true si les conditions sont runies, false sinon
 	 */
-	private static boolean peutEtreLeProchainNoeud(Map<Integer, Integer> distances,
-							Integer noeudP, Integer noeudSucc, Integer noeudSuiv) {
-		return distances.get(noeudSucc) != NON_CALCULE &&
-				!noeudP.equals(noeudSucc) && (noeudSuiv == null || 
-				distances.get(noeudSuiv) > distances.get(noeudSucc));
+	private static boolean peutEtreLeProchainNoeud(EspaceTravail.Recherche recherche, int noeudSucc, int noeudSuiv) {
+		return recherche.distance(noeudSucc) != IGraphe.INFINI && (noeudSuiv == AUCUN || 
+				recherche.distance(noeudSuiv) > recherche.distance(noeudSucc));
 	}
 	
 	
 	/**
-	 * @brief Choisi le noeud sur lequel sera calcul les nouvelles longueur des
-	 * 		  chemin des autres noeuds
+	 * @brief Met  jour les successeurs du noeud prcdent, puis choisi le noeud
+	 * 		  sur lequel sera calcul les nouvelles longueur des chemin des
+	 * 		  autres noeuds, en parcourant tous les noeuds qui ne sont pas de ct
 	 * @param g Le graphe
-	 * @param distances HashMap de la longueur du chemin actuel entre le noeud
-	 * 					de dpart et le noeud en cl
-	 * @param predecesseurs HashMap des prdcesseurs des noeuds en cl
+	 * @param recherche Longueur du chemin actuel entre le noeud de dpart et
+	 * 					chaque noeud, noeuds mis de ct (marqus)
+	 * @param relachement Visiteur mettant  jour distances et prdcesseurs
 	 * @param noeudP Le noeud prcdant (le noeud de dpart si c'est la premire
 	 * 				 boucle, le noeudSuivant prcdant sinon)
-	 * @param noeudA : Le noeud d'arrive
-	 * @return noeudSuivant, le noeud suivant
+	 * @return noeudSuivant, le noeud suivant (AUCUN s'il n'y en a plus)
 	 */
-	private static Integer choixNoeudSuivant(IGraphe g, Map<Integer, Integer> distances,
-							Map<Integer, Integer> predecesseurs, Integer noeudP, Integer noeudA){
-		// Impossible de prendre un noeud dj termin
-		assert(distances.containsKey(noeudP));
+	private static int choixNoeudSuivant(IGraphe g, EspaceTravail.Recherche recherche,
+			IVisiteurArc relachement, int noeudP) {
+		// Mis de ct, il n'est plus utile
+		recherche.marquer(noeudP);
+		
+		// On met  jour les successeurs qui n'ont pas t mis de ct
+		g.parcourirSuccesseurs(noeudP, relachement);
 		
-		Integer noeudSuivant = null; // Aucun noeud suivant n'est choisi par dfaut
+		int noeudSuivant = AUCUN; // Aucun noeud suivant n'est choisi par dfaut
 		
 		// On parcourt tous les noeuds qui n'ont pas t mis de ct
-		for (Integer noeudS : distances.keySet()) {
-			if (peutRemplacerDistanceActuelle(g, distances, noeudP, noeudS)) {
-				distances.put(noeudS, g.getValuation(noeudP, noeudS) + distances.get(noeudP));
-				predecesseurs.put(noeudS, noeudP);
-			}
-			
-			if (peutEtreLeProchainNoeud(distances, noeudP, noeudS, noeudSuivant)){
+		for (int noeudS = 1; noeudS <= g.getNbSommets(); ++noeudS)
+			if (!recherche.estMarque(noeudS) && peutEtreLeProchainNoeud(recherche, noeudS, noeudSuivant))
 				noeudSuivant = noeudS;
-			}
-		}
 		
-		// Mit de ct, il n'est plus utile
-		if (!noeudP.equals(noeudA))
-			distances.remove(noeudP);
-			
 		return noeudSuivant;
 	}
 	
 	@Override
-	public int pc(IGraphe g, Integer noeudD, Integer noeudA, List<Integer> chemin)
+	public int pc(IGraphe g, int noeudD, int noeudA, ResultatPCC resultat)
 											throws ArcNgatifEx, NoPathEx {
-		if (!estOK(g)) { throw new ArcNgatifEx(); }
-		
-		// HashMap des longueurs de chemins pour chaque noeud
-		Map<Integer, Integer> distances = initialisationDistances(g, noeudD);
+		try (EspaceTravail espace = EspaceTravail.acquerir()) {
+			return pc(g, noeudD, noeudA, resultat, espace);
+		}
+	}
+	
+	/**
+	 * @brief Comme pc(g, noeudD, noeudA, resultat), dans un espace de travail
+	 * fourni : la requte ne paie que les noeuds qu'elle atteint
+	 * @param espace Espace de travail, prpar par la requte
+	 */
+	public int pc(IGraphe g, int noeudD, int noeudA, ResultatPCC resultat, EspaceTravail espace)
+											throws ArcNgatifEx, NoPathEx {
+		IMesuresPCC m = mesures;
+		if (m == null) {
+			if (!estOK(g)) { throw new ArcNgatifEx(); }
+			return pcSansVerification(g, noeudD, noeudA, resultat, espace);
+		}
+		espace.commencerMesure(getClass().getSimpleName(), noeudD, noeudA);
+		int distance = IGraphe.INFINI;
+		try {
+			boolean ok = estOK(g);
+			espace.terminerVerification();
+			if (!ok) { throw new ArcNgatifEx(); }
+			distance = pcSansVerification(g, noeudD, noeudA, resultat, espace);
+			return distance;
+		}
+		finally {
+			m.requeteTerminee(espace.terminerMesure(distance));
+		}
+	}
+	
+	/**
+	 * @brief Comme pc(g, noeudD, noeudA, resultat), sans vrifier le graphe :
+	 * l'absence d'arc ngatif doit dj tre connue
+	 */
+	int pcSansVerification(IGraphe g, int noeudD, int noeudA, ResultatPCC resultat) throws NoPathEx {
+		try (EspaceTravail espace = EspaceTravail.acquerir()) {
+			return pcSansVerification(g, noeudD, noeudA, resultat, espace);
+		}
+	}
+	
+	/**
+	 * @brief Comme pc(g, noeudD, noeudA, resultat, espace), sans vrifier le graphe
+	 */
+	int pcSansVerification(IGraphe g, int noeudD, int noeudA, ResultatPCC resultat,
+			EspaceTravail espace) throws NoPathEx {
+		espace.preparer(g.getNbSommets());
+		/* Longueurs de chemins et prdcesseur de chaque noeud, noeuds dont la
+		 * longueur de chemin est dfinitive (marqus). La longueur du chemin
+		 * pour le noeud de dpart est mise  0 pour faciliter l'implmentation
+		 * de l'algorithme */
+		EspaceTravail.Recherche recherche = espace.avant();
+		recherche.atteindre(noeudD, 0, AUCUN);
 		
-		// HashMap de prdcecesseur de chaque noeud
-		Map<Integer, Integer> predecesseurs = new HashMap<>();
+		IVisiteurArc relachement = (noeudP, valuation, noeudS) -> {
+			recherche.compterArc();
+			int distance = recherche.distance(noeudP) + valuation;
+			if (!recherche.estMarque(noeudS) && peutRemplacerDistanceActuelle(recherche, noeudS, distance))
+				recherche.atteindre(noeudS, distance, noeudP);
+		};
 		
 		// Noeud sur lequel sera calcul les longueur des chemins
-		Integer noeudActuel = noeudD;
+		int noeudActuel = noeudD;
 		
 		/* Tant que le noeud d'arrive n'a pas la certitude d'avoir eu le chemin
 		   le plus court, poursuivre l'algorithme */
-		while(!noeudActuel.equals(noeudA)) {
+		while(noeudActuel != noeudA) {
 			// On actualise en permanence le noeud "actuel"
-			noeudActuel = choixNoeudSuivant(g, distances, predecesseurs, noeudActuel, noeudA);
+			noeudActuel = choixNoeudSuivant(g, recherche, relachement, noeudActuel);
 			
 			/* 
 			 * Si aucun noeud n'a t choisi comme prochain noeud de calcul
@@ -163,17 +177,12 @@ public class Dijkstra implements IPCC {
 			 * certifi optimis, alors il n'y a pas de chemins atteignable
 			 * pour le noeud d'arrive
 			 */
-			if (noeudActuel == null)
+			if (noeudActuel == AUCUN)
 				throw new NoPathEx();
 		}
 		
-		Integer noeud = noeudA;
-		
-		while(noeud != null) {
-			chemin.add(0, noeud);
-			noeud = predecesseurs.get(noeud);
-		}
-		
-		return distances.get(noeudA);
+		espace.commencerChemin();
+		resultat.remplirParPredecesseurs(recherche.getLiens(), noeudA, recherche.distance(noeudA));
+		return recherche.distance(noeudA);
 	}
 }
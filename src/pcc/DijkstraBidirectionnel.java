@@ -0,0 +1,110 @@
+package pcc;
+
+import exceptions.NoPathEx;
+import graphes.IGraphe;
+import graphes.IVisiteurArc;
+import graphes.ResultatPCC;
+
+/**
+ * Dijkstra bidirectionnel : une recherche avant depuis le noeud de dpart et
+ * une recherche arrire depuis le noeud d'arrive (sur le graphe invers)
+ * progressent alternativement jusqu' se rejoindre. Pour une requte point 
+ * point, chaque recherche ne couvre qu'une boule de rayon environ moiti.
+ *
+ * Critre d'arrt : mu tant la longueur du meilleur chemin dj vu passant
+ * par un noeud atteint des deux cts, la recherche s'arrte ds que
+ * min(tas avant) + min(tas arrire) >= mu ; aucun chemin plus court ne peut
+ * alors exister.
+ */
+public class DijkstraBidirectionnel extends Dijkstra {
+	@Override
+	int pcSansVerification(IGraphe g, int noeudD, int noeudA, ResultatPCC resultat,
+			EspaceTravail espace) throws NoPathEx {
+		if (noeudD == noeudA) {
+			resultat.remplir(new int[] {noeudD}, 1, 0);
+			return 0;
+		}
+
+		IGraphe inv = CacheInverse.inverse(g);
+		espace.preparer(g.getNbSommets());
+		// Liens : prdcesseurs vers le noeud de dpart, successeurs vers le noeud d'arrive
+		EspaceTravail.Recherche av = espace.avant(), ar = espace.arriere();
+		av.atteindre(noeudD, 0, AUCUN);
+		ar.atteindre(noeudA, 0, AUCUN);
+		TasIndexe tasAv = av.getTas();
+		TasIndexe tasAr = ar.getTas();
+		tasAv.insererOuDiminuer(noeudD, 0);
+		tasAr.insererOuDiminuer(noeudA, 0);
+
+		// meilleur[0] : longueur mu du meilleur chemin vu, meilleur[1] : noeud de jonction
+		int[] meilleur = {IGraphe.INFINI, AUCUN};
+
+		IVisiteurArc relachementAv = (noeudP, valuation, noeudS) -> {
+			av.compterArc();
+			int distance = av.distance(noeudP) + valuation;
+			if (!av.estMarque(noeudS) && distance < av.distance(noeudS)) {
+				av.atteindre(noeudS, distance, noeudP);
+				tasAv.insererOuDiminuer(noeudS, distance);
+			}
+			if (ar.distance(noeudS) != IGraphe.INFINI
+					&& (long) av.distance(noeudS) + ar.distance(noeudS) < meilleur[0]) {
+				meilleur[0] = av.distance(noeudS) + ar.distance(noeudS);
+				meilleur[1] = noeudS;
+			}
+		};
+		// Sur le graphe invers, l'arc visit noeudS -> noeudP est l'arc noeudP -> noeudS du graphe
+		IVisiteurArc relachementAr = (noeudS, valuation, noeudP) -> {
+			ar.compterArc();
+			int distance = ar.distance(noeudS) + valuation;
+			if (!ar.estMarque(noeudP) && distance < ar.distance(noeudP)) {
+				ar.atteindre(noeudP, distance, noeudS);
+				tasAr.insererOuDiminuer(noeudP, distance);
+			}
+			if (av.distance(noeudP) != IGraphe.INFINI
+					&& (long) av.distance(noeudP) + ar.distance(noeudP) < meilleur[0]) {
+				meilleur[0] = av.distance(noeudP) + ar.distance(noeudP);
+				meilleur[1] = noeudP;
+			}
+		};
+
+		// Si l'un des tas se vide, tous les chemins possibles ont dj t vus
+		while (!tasAv.estVide() && !tasAr.estVide()
+				&& (long) tasAv.cleMin() + tasAr.cleMin() < meilleur[0]) {
+			// On fait progresser la recherche dont la frontire est la plus proche
+			if (tasAv.cleMin() <= tasAr.cleMin()) {
+				int noeud = tasAv.extraireMin();
+				av.marquer(noeud);
+				g.parcourirSuccesseurs(noeud, relachementAv);
+			}
+			else {
+				int noeud = tasAr.extraireMin();
+				ar.marquer(noeud);
+				inv.parcourirSuccesseurs(noeud, relachementAr);
+			}
+		}
+
+		if (meilleur[0] == IGraphe.INFINI)
+			throw new NoPathEx();
+
+		espace.commencerChemin();
+		// Chemin : dpart -> jonction par les prdcesseurs, puis jonction -> arrive par les successeurs
+		int jonction = meilleur[1];
+		int[] predecesseurs = av.getLiens(), successeurs = ar.getLiens();
+		int longueur = 0;
+		for (int noeud = jonction; noeud != AUCUN; noeud = predecesseurs[noeud])
+			++longueur;
+		int debutArriere = longueur;
+		for (int noeud = successeurs[jonction]; noeud != AUCUN; noeud = successeurs[noeud])
+			++longueur;
+		int[] chemin = new int[longueur];
+		int i = debutArriere;
+		for (int noeud = jonction; noeud != AUCUN; noeud = predecesseurs[noeud])
+			chemin[--i] = noeud;
+		i = debutArriere;
+		for (int noeud = successeurs[jonction]; noeud != AUCUN; noeud = successeurs[noeud])
+			chemin[i++] = noeud;
+
+		resultat.remplir(chemin, longueur, meilleur[0]);
+		return meilleur[0];
+	}
+}
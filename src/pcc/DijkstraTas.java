@@ -0,0 +1,109 @@
+package pcc;
+
+import exceptions.ArcNgatifEx;
+import exceptions.NoPathEx;
+import graphes.ArbrePCC;
+import graphes.IGraphe;
+import graphes.IPCCArbre;
+import graphes.IVisiteurArc;
+import graphes.ResultatPCC;
+
+/**
+ * Variante de Dijkstra choisissant le prochain noeud grce  un tas index
+ * (O(log V) par noeud fix) au lieu de parcourir tous les noeuds restants.
+ * Les distances et prdcesseurs sont stocks dans des tableaux d'entiers
+ * indexs par numro de noeud.
+ */
+public class DijkstraTas extends Dijkstra implements IPCCArbre {
+	/**
+	 * @brief Fixe les noeuds par distance croissante depuis le noeud de dpart
+	 * @param g Graphe
+	 * @param noeudD Noeud de dpart
+	 * @param noeudA Noeud d'arrive, AUCUN pour fixer tous les noeuds atteignables
+	 * @param distances[inout] Distances,  INFINI sauf le noeud de dpart (0)
+	 * @param predecesseurs[inout] Prdcesseurs,  AUCUN
+	 */
+	private static void rechercher(IGraphe g, int noeudD, int noeudA, int[] distances, int[] predecesseurs) {
+		int nbSommets = g.getNbSommets();
+		boolean[] fixes = new boolean[nbSommets + 1];
+		TasIndexe tas = new TasIndexe(nbSommets);
+		tas.insererOuDiminuer(noeudD, 0);
+
+		// Relchement des arcs sortants du noeud qui vient d'tre fix
+		IVisiteurArc relachement = (noeudP, valuation, noeudS) -> {
+			int distance = distances[noeudP] + valuation;
+			if (!fixes[noeudS] && distance < distances[noeudS]) {
+				distances[noeudS] = distance;
+				predecesseurs[noeudS] = noeudP;
+				tas.insererOuDiminuer(noeudS, distance);
+			}
+		};
+
+		// Tant que le noeud d'arrive n'est pas fix et qu'il reste des noeuds atteignables
+		while (!tas.estVide()) {
+			int noeudActuel = tas.extraireMin();
+			fixes[noeudActuel] = true;
+			if (noeudActuel == noeudA)
+				return;
+			g.parcourirSuccesseurs(noeudActuel, relachement);
+		}
+	}
+
+	/**
+	 * @brief Comme rechercher(g, noeudD, noeudA, distances, predecesseurs),
+	 * dans un espace de travail : seuls les noeuds atteints sont touchs
+	 * @param recherche[inout] Recherche prpare, o seul le noeud de dpart est atteint
+	 */
+	private static void rechercher(IGraphe g, int noeudD, int noeudA, EspaceTravail.Recherche recherche) {
+		TasIndexe tas = recherche.getTas();
+		tas.insererOuDiminuer(noeudD, 0);
+
+		IVisiteurArc relachement = (noeudP, valuation, noeudS) -> {
+			recherche.compterArc();
+			int distance = recherche.distance(noeudP) + valuation;
+			if (!recherche.estMarque(noeudS) && distance < recherche.distance(noeudS)) {
+				recherche.atteindre(noeudS, distance, noeudP);
+				tas.insererOuDiminuer(noeudS, distance);
+			}
+		};
+
+		while (!tas.estVide()) {
+			int noeudActuel = tas.extraireMin();
+			recherche.marquer(noeudActuel);
+			if (noeudActuel == noeudA)
+				return;
+			g.parcourirSuccesseurs(noeudActuel, relachement);
+		}
+	}
+
+	@Override
+	int pcSansVerification(IGraphe g, int noeudD, int noeudA, ResultatPCC resultat,
+			EspaceTravail espace) throws NoPathEx {
+		espace.preparer(g.getNbSommets());
+		EspaceTravail.Recherche recherche = espace.avant();
+		recherche.atteindre(noeudD, 0, AUCUN);
+
+		rechercher(g, noeudD, noeudA, recherche);
+
+		// Plus aucun noeud atteignable : le noeud d'arrive ne l'est pas
+		int distance = recherche.distance(noeudA);
+		if (distance == IGraphe.INFINI)
+			throw new NoPathEx();
+
+		espace.commencerChemin();
+		resultat.remplirParPredecesseurs(recherche.getLiens(), noeudA, distance);
+		return distance;
+	}
+
+	@Override
+	public void arbre(IGraphe g, int source, ArbrePCC arbre) throws ArcNgatifEx {
+		if (!estOK(g)) { throw new ArcNgatifEx(); }
+		arbreSansVerification(g, source, arbre);
+	}
+
+	@Override
+	public void arbreSansVerification(IGraphe g, int source, ArbrePCC arbre) {
+		arbre.preparer(g, source);
+		rechercher(g, source, AUCUN, arbre.getDistances(), arbre.getPredecesseurs());
+	}
+}
@@ -0,0 +1,288 @@
+package pcc;
+
+import graphes.IGraphe;
+
+/**
+ * Tableaux d'une requte de plus court chemin (distances, liens, marques, tas),
+ * rutilisables d'une requte  l'autre sans tre rinitialiss : chaque case
+ * porte l'poque de sa dernire criture, et une case d'une poque passe vaut
+ * sa valeur initiale. Prparer une requte ne cote donc que O(1), et une
+ * requte ne paie que les noeuds qu'elle touche.
+ *
+ * Un espace ne sert qu' une requte  la fois. acquerir() prte celui du fil
+ * d'excution courant, rendu par close() ; un espace cr directement
+ * appartient  son crateur.
+ */
+public final class EspaceTravail implements AutoCloseable {
+	private static final ThreadLocal<EspaceTravail> LOCAL = ThreadLocal.withInitial(EspaceTravail::new);
+
+	/**
+	 * Une direction de recherche : la recherche avant suit les prdcesseurs,
+	 * la recherche arrire (bidirectionnelle) les successeurs
+	 */
+	public static final class Recherche {
+		private int epoque;
+		private int[] vus = new int[0];			// poque de la distance et du lien de chaque noeud
+		private int[] distances = new int[0];
+		private int[] liens = new int[0];
+		private int[] marques = new int[0];		// poque du marquage de chaque noeud
+		private int[] valeursVues = new int[0];	// poque de la valeur annexe de chaque noeud
+		private int[] valeurs = new int[0];
+		private TasIndexe tas = new TasIndexe(0);
+		// Compteurs de la requte en cours
+		private long nbAtteints;
+		private long nbMarques;
+		private long nbArcs;
+
+		private void agrandir(int nbSommets) {
+			vus = new int[nbSommets + 1];
+			distances = new int[nbSommets + 1];
+			liens = new int[nbSommets + 1];
+			marques = new int[nbSommets + 1];
+			valeursVues = new int[nbSommets + 1];
+			valeurs = new int[nbSommets + 1];
+			tas = new TasIndexe(nbSommets);
+		}
+
+		/**
+		 * @param noeud Noeud
+		 * @return Distance atteinte par la requte en cours, INFINI si le noeud n'a pas t atteint
+		 */
+		public int distance(int noeud) {
+			return vus[noeud] == epoque ? distances[noeud] : IGraphe.INFINI;
+		}
+
+		/**
+		 * @param noeud Noeud atteint
+		 * @param distance Nouvelle distance du noeud
+		 * @param lien Noeud par lequel il est atteint (Dijkstra.AUCUN pour l'origine)
+		 */
+		public void atteindre(int noeud, int distance, int lien) {
+			vus[noeud] = epoque;
+			distances[noeud] = distance;
+			liens[noeud] = lien;
+			++nbAtteints;
+		}
+
+		/**
+		 * @param noeud Noeud atteint par la requte en cours
+		 * @return Noeud par lequel il a t atteint
+		 */
+		public int lien(int noeud) {
+			return liens[noeud];
+		}
+
+		/**
+		 * @return Tableau interne des liens, index par noeud : seules les cases des
+		 * noeuds atteints par la requte en cours sont valides, ce qui suffit 
+		 * remonter un chemin depuis un noeud atteint
+		 */
+		public int[] getLiens() {
+			return liens;
+		}
+
+		/**
+		 * @param noeud Noeud
+		 * @return true si le noeud a t marqu (fix, en file...) par la requte en cours
+		 */
+		public boolean estMarque(int noeud) {
+			return marques[noeud] == epoque;
+		}
+
+		/**
+		 * @param noeud Noeud  marquer pour la requte en cours
+		 */
+		public void marquer(int noeud) {
+			marques[noeud] = epoque;
+			++nbMarques;
+		}
+
+		/**
+		 * @param noeud Noeud  ne plus considrer comme marqu
+		 */
+		public void demarquer(int noeud) {
+			marques[noeud] = 0;
+		}
+
+		/**
+		 * @param noeud Noeud
+		 * @return true si la valeur annexe du noeud a t fixe par la requte en cours
+		 */
+		public boolean aValeur(int noeud) {
+			return valeursVues[noeud] == epoque;
+		}
+
+		/**
+		 * @param noeud Noeud dont la valeur annexe a t fixe par la requte en cours
+		 * @return Valeur annexe (potentiel, nombre d'arcs...) du noeud
+		 */
+		public int valeur(int noeud) {
+			return valeurs[noeud];
+		}
+
+		/**
+		 * @param noeud Noeud
+		 * @param valeur Valeur annexe du noeud pour la requte en cours
+		 */
+		public void setValeur(int noeud, int valeur) {
+			valeursVues[noeud] = epoque;
+			valeurs[noeud] = valeur;
+		}
+
+		/**
+		 * @brief Compte un arc relch par la requte en cours
+		 */
+		public void compterArc() {
+			++nbArcs;
+		}
+
+		private void reinitialiserCompteurs() {
+			nbAtteints = 0;
+			nbMarques = 0;
+			nbArcs = 0;
+			tas.reinitialiserCompteurs();
+		}
+
+		/**
+		 * @return Tas de la requte, vide au dbut de chaque requte
+		 */
+		public TasIndexe getTas() {
+			return tas;
+		}
+	}
+
+	private final Recherche avant = new Recherche();
+	private final Recherche arriere = new Recherche();
+	private int capacite = -1;
+	private int epoque = 0;
+	private int[] file = new int[0];
+	private boolean prete = false;	// Espace du fil courant, prt par acquerir()
+	// Mesures de la requte en cours, prises seulement si mesureActive
+	private final MesureRequete mesure = new MesureRequete();
+	private boolean mesureActive = false;
+	private long debut, finVerification, debutChemin;
+
+	/**
+	 * @return Espace du fil d'excution courant s'il est libre, un nouvel espace
+	 * sinon (requte lance pendant une autre requte du mme fil)
+	 */
+	public static EspaceTravail acquerir() {
+		EspaceTravail espace = LOCAL.get();
+		if (espace.prete)
+			return new EspaceTravail();
+		espace.prete = true;
+		return espace;
+	}
+
+	/**
+	 * @brief Rend l'espace au fil d'excution s'il a t prt par acquerir()
+	 */
+	@Override
+	public void close() {
+		prete = false;
+	}
+
+	/**
+	 * @brief Prpare une nouvelle requte : tous les noeuds redeviennent non
+	 * atteints, non marqus et sans valeur, en O(1) sauf si le graphe est plus
+	 * grand que les prcdents
+	 * @param nbSommets Nombre de noeuds du graphe de la requte
+	 */
+	public void preparer(int nbSommets) {
+		if (nbSommets > capacite) {
+			avant.agrandir(nbSommets);
+			arriere.agrandir(nbSommets);
+			file = new int[nbSommets];
+			capacite = nbSommets;
+			epoque = 0;
+		}
+		else if (epoque == Integer.MAX_VALUE) {
+			// Les poques ont fait le tour : les anciennes marques seraient reprises
+			avant.agrandir(capacite);
+			arriere.agrandir(capacite);
+			epoque = 0;
+		}
+		++epoque;
+		avant.epoque = epoque;
+		arriere.epoque = epoque;
+		avant.tas.vider();
+		arriere.tas.vider();
+		avant.reinitialiserCompteurs();
+		arriere.reinitialiserCompteurs();
+	}
+
+	/**
+	 * @return Recherche avant (depuis le noeud de dpart)
+	 */
+	public Recherche avant() {
+		return avant;
+	}
+
+	/**
+	 * @return Recherche arrire (depuis le noeud d'arrive)
+	 */
+	public Recherche arriere() {
+		return arriere;
+	}
+
+	/**
+	 * @return File d'au moins nbSommets cases, sans contenu garanti
+	 */
+	public int[] getFile() {
+		return file;
+	}
+
+	/**
+	 * @brief Commence les mesures d'une requte, avant la vrification du graphe
+	 * @param algorithme Nom de l'algorithme
+	 */
+	public void commencerMesure(String algorithme, int noeudD, int noeudA) {
+		mesure.algorithme = algorithme;
+		mesure.noeudD = noeudD;
+		mesure.noeudA = noeudA;
+		avant.reinitialiserCompteurs();
+		arriere.reinitialiserCompteurs();
+		mesureActive = true;
+		debut = System.nanoTime();
+		finVerification = debut;
+		debutChemin = 0;
+	}
+
+	/**
+	 * @brief Signale la fin de la vrification du graphe et le dbut de la recherche
+	 */
+	public void terminerVerification() {
+		if (mesureActive)
+			finVerification = System.nanoTime();
+	}
+
+	/**
+	 * @brief Signale la fin de la recherche et le dbut de la reconstruction du chemin
+	 */
+	public void commencerChemin() {
+		if (mesureActive)
+			debutChemin = System.nanoTime();
+	}
+
+	/**
+	 * @param distance Distance trouve, INFINI si la requte a chou
+	 * @return Mesures de la requte, rutilises par la requte suivante
+	 */
+	public MesureRequete terminerMesure(int distance) {
+		long fin = System.nanoTime();
+		mesureActive = false;
+		if (debutChemin == 0)
+			debutChemin = fin;
+		mesure.distance = distance;
+		mesure.nbNoeudsFixes = avant.nbMarques + arriere.nbMarques;
+		mesure.nbNoeudsAtteints = avant.nbAtteints + arriere.nbAtteints;
+		mesure.nbArcsRelaches = avant.nbArcs + arriere.nbArcs;
+		mesure.nbOperationsTas = avant.tas.getNbOperations() + arriere.tas.getNbOperations();
+		mesure.tailleTasMax = Math.max(avant.tas.getTailleMax(), arriere.tas.getTailleMax());
+		mesure.capaciteEspace = Math.max(capacite, 0);
+		mesure.dureeVerification = finVerification - debut;
+		mesure.dureeRecherche = debutChemin - finVerification;
+		mesure.dureeChemin = fin - debutChemin;
+		return mesure;
+	}
+}
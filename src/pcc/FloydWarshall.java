@@ -0,0 +1,264 @@
+package pcc;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import exceptions.CircuitAbsorbantEx;
+import graphes.IGraphe;
+import graphes.IVisiteurArc;
+import graphes.types.GrapheMA;
+
+/**
+ * Floyd-Warshall par blocs, pour les graphes denses.
+ * La matrice est copie dans un tableau  une dimension (ligne par ligne) et
+ * dcoupe en blocs de taille x taille. Pour chaque bloc diagonal kb :
+ * 		1. le bloc (kb, kb) est trait seul
+ * 		2. les blocs de la ligne kb et de la colonne kb, qui ne dpendent que du
+ * 		   bloc diagonal, sont traits en parallle
+ * 		3. tous les autres blocs, qui ne dpendent que de la ligne et de la
+ * 		   colonne kb, sont traits en parallle, par bandes de lignes
+ * Les taille lignes du bloc kb sont ainsi relues depuis le cache pendant tout le
+ * tour, au lieu d'tre relues en mmoire pour chaque k.
+ *
+ * Sans noeuds suivants, et tant que les valuations le permettent, l'infini est
+ * reprsent par une grande valeur finie (INFINI / 4) : la boucle interne se
+ * rduit alors  un minimum sans branchement, que la JVM peut vectoriser.
+ */
+public class FloydWarshall {
+	// Assez petit pour que ni INFINI_INTERNE + INFINI_INTERNE ni la diffrence de
+	// deux distances internes ne dpassent la capacit d'un int
+	private static final int INFINI_INTERNE = IGraphe.INFINI / 4;
+	// Au-del de ce seuil, une distance interne reprsente l'infini
+	private static final int SEUIL_INFINI = INFINI_INTERNE / 2;
+
+	private final ForkJoinPool pool;
+	private final int taille;
+	private final boolean avecSuivants;
+
+	/**
+	 * @brief Blocs de 64, pool commun, sans noeuds suivants
+	 */
+	public FloydWarshall() {
+		this(ForkJoinPool.commonPool(), 64, false);
+	}
+
+	/**
+	 * @param pool Pool sur lequel rpartir les blocs indpendants
+	 * @param taille Ct des blocs
+	 * @param avecSuivants true pour calculer aussi la matrice des noeuds suivants
+	 */
+	public FloydWarshall(ForkJoinPool pool, int taille, boolean avecSuivants) {
+		if (taille < 1) throw new IllegalArgumentException();
+		this.pool = pool;
+		this.taille = taille;
+		this.avecSuivants = avecSuivants;
+	}
+
+	/**
+	 * @param g Graphe dense
+	 * @return Distances entre toutes les paires de noeuds
+	 * @throws CircuitAbsorbantEx Le graphe contient un circuit absorbant
+	 */
+	public MatriceDistances calculer(GrapheMA g) throws CircuitAbsorbantEx {
+		int n = g.getNbSommets();
+		int[] d = new int[verifierTaille(n)];
+		g.copierDans(d);
+		return calculer(g, d);
+	}
+
+	/**
+	 * @param g Graphe, quelle que soit sa reprsentation
+	 * @return Distances entre toutes les paires de noeuds
+	 * @throws CircuitAbsorbantEx Le graphe contient un circuit absorbant
+	 */
+	public MatriceDistances calculer(IGraphe g) throws CircuitAbsorbantEx {
+		if (g instanceof GrapheMA)
+			return calculer((GrapheMA) g);
+		int n = g.getNbSommets();
+		int[] d = new int[verifierTaille(n)];
+		Arrays.fill(d, IGraphe.INFINI);
+		// Seul le plus lger des arcs parallles compte
+		IVisiteurArc copie = (a, v, b) -> {
+			int ij = (a - 1) * n + (b - 1);
+			if (v < d[ij])
+				d[ij] = v;
+		};
+		for (int i = 1; i <= n; ++i)
+			g.parcourirSuccesseurs(i, copie);
+		return calculer(g, d);
+	}
+
+	private static int verifierTaille(int n) {
+		if ((long) n * n > Integer.MAX_VALUE - 8)
+			throw new IllegalArgumentException("matrice trop grande pour " + n + " noeuds");
+		return n * n;
+	}
+
+	/**
+	 * @param g Graphe dont les valuations ont t copies
+	 * @param d[inout] Valuations ligne par ligne (INFINI sans arc), remplaces par les distances
+	 */
+	private MatriceDistances calculer(IGraphe g, int[] d) throws CircuitAbsorbantEx {
+		int n = g.getNbSommets();
+		long sommeNegatifs = 0;
+		long valuationMax = 0;
+		for (int v : d)
+			if (v != IGraphe.INFINI) {
+				if (v < 0)
+					sommeNegatifs -= v;
+				else if (v > valuationMax)
+					valuationMax = v;
+			}
+		// Avec un circuit absorbant, les distances intermdiaires peuvent dcrotre
+		// exponentiellement avant qu'il n'apparaisse sur la diagonale : il est
+		// recherch avant, par Bellman-Ford, d'un cot en pratique faible devant n^3
+		if (sommeNegatifs > 0)
+			BellmanFord.potentiels(g);
+
+		int[] suivants = null;
+		if (avecSuivants) {
+			suivants = new int[n * n];
+			for (int i = 0; i < n; ++i)
+				for (int j = 0; j < n; ++j)
+					if (d[i * n + j] != IGraphe.INFINI)
+						suivants[i * n + j] = j + 1;
+		}
+		// Chemin vide de chaque noeud vers lui-mme
+		for (int i = 0; i < n; ++i) {
+			d[i * n + i] = 0;
+			if (suivants != null)
+				suivants[i * n + i] = 0;
+		}
+
+		// Toute distance finie reste sous SEUIL_INFINI, et INFINI_INTERNE augment
+		// de toute suite d'arcs reste au-dessus
+		boolean sature = suivants == null && sommeNegatifs < SEUIL_INFINI
+				&& (long) (n - 1) * valuationMax < SEUIL_INFINI;
+		if (sature)
+			for (int ij = 0; ij < d.length; ++ij)
+				if (d[ij] == IGraphe.INFINI)
+					d[ij] = INFINI_INTERNE;
+
+		int nbBlocs = (n + taille - 1) / taille;
+		int[] s = suivants;
+		int[][] lignesK = new int[Math.min(taille, n)][n];
+		for (int kb = 0; kb < nbBlocs; ++kb) {
+			final int k = kb;
+			// 1. Bloc diagonal
+			traiterBloc(n, d, s, k, k, k, sature);
+			// 2. Ligne et colonne du bloc diagonal
+			Taches.executer(pool, () -> IntStream.range(0, 2 * nbBlocs).parallel().forEach(x -> {
+				int b = x >> 1;
+				if (b == k)
+					return;
+				if ((x & 1) == 0)
+					traiterBloc(n, d, s, k, b, k, sature);
+				else
+					traiterBloc(n, d, s, b, k, k, sature);
+			}));
+			// 3. Tous les autres blocs, par bandes de lignes
+			int kDebut = k * taille, kFin = Math.min(n, kDebut + taille);
+			for (int kk = kDebut; sature && kk < kFin; ++kk)
+				System.arraycopy(d, kk * n, lignesK[kk - kDebut], 0, n);
+			Taches.executer(pool, () -> IntStream.range(0, nbBlocs).parallel().forEach(ib -> {
+				if (ib != k)
+					traiterBande(n, d, s, lignesK, ib, kDebut, kFin, sature);
+			}));
+		}
+
+		if (sature)
+			for (int ij = 0; ij < d.length; ++ij)
+				if (d[ij] >= SEUIL_INFINI)
+					d[ij] = IGraphe.INFINI;
+		return new MatriceDistances(n, d, suivants);
+	}
+
+	/**
+	 * @brief Relche le bloc (ib, jb) par les noeuds intermdiaires du bloc kb
+	 */
+	private void traiterBloc(int n, int[] d, int[] suivants, int ib, int jb, int kb, boolean sature) {
+		int iDebut = ib * taille, iFin = Math.min(n, iDebut + taille);
+		int jDebut = jb * taille, jFin = Math.min(n, jDebut + taille);
+		int kDebut = kb * taille, kFin = Math.min(n, kDebut + taille);
+		for (int k = kDebut; k < kFin; ++k) {
+			int ligneK = k * n;
+			for (int i = iDebut; i < iFin; ++i) {
+				int ligneI = i * n;
+				int dik = d[ligneI + k];
+				if (sature) {
+					for (int j = jDebut; j < jFin; ++j)
+						d[ligneI + j] = Math.min(d[ligneI + j], dik + d[ligneK + j]);
+				}
+				else
+					relacherExact(d, suivants, ligneI, ligneK, dik, k, jDebut, jFin);
+			}
+		}
+	}
+
+	/**
+	 * @brief Relche les lignes du bloc ib, hors colonnes kDebut..kFin, par les
+	 * noeuds intermdiaires kDebut..kFin. Ces colonnes tant exclues, d[i][k]
+	 * ne change pas : chaque ligne i est relche par tous les k d'un coup, et
+	 * reste en cache pendant ce temps.
+	 * @param lignesK Copie des lignes kDebut..kFin, fixes pour ce tour
+	 */
+	private void traiterBande(int n, int[] d, int[] suivants, int[][] lignesK,
+			int ib, int kDebut, int kFin, boolean sature) {
+		int iDebut = ib * taille, iFin = Math.min(n, iDebut + taille);
+		if (!sature) {
+			for (int i = iDebut; i < iFin; ++i)
+				for (int k = kDebut; k < kFin; ++k) {
+					int dik = d[i * n + k];
+					relacherExact(d, suivants, i * n, k * n, dik, k, 0, kDebut);
+					relacherExact(d, suivants, i * n, k * n, dik, k, kFin, n);
+				}
+			return;
+		}
+		// La ligne i est traite dans une copie : la boucle interne ne lit et
+		// n'crit alors que des tableaux distincts au mme indice, seule forme
+		// que la JVM sait vectoriser
+		int[] ligneI = new int[n];
+		for (int i = iDebut; i < iFin; ++i) {
+			System.arraycopy(d, i * n, ligneI, 0, n);
+			for (int k = kDebut; k < kFin; ++k) {
+				int dik = ligneI[k];
+				relacherSature(ligneI, lignesK[k - kDebut], dik, 0, kDebut);
+				relacherSature(ligneI, lignesK[k - kDebut], dik, kFin, n);
+			}
+			System.arraycopy(ligneI, 0, d, i * n, n);
+		}
+	}
+
+	/**
+	 * @brief ligneI[j] = min(ligneI[j], dik + ligneK[j]) pour j dans jDebut..jFin,
+	 * par le signe de la diffrence : Math.min n'est pas vectoris, cette forme
+	 * l'est. Les bornes des distances internes excluent tout dpassement.
+	 */
+	private static void relacherSature(int[] ligneI, int[] ligneK, int dik, int jDebut, int jFin) {
+		for (int j = jDebut; j < jFin; ++j) {
+			int difference = dik + ligneK[j] - ligneI[j];
+			ligneI[j] += difference & (difference >> 31);
+		}
+	}
+
+	/**
+	 * @brief Relche d[i][j] par k pour j dans jDebut..jFin, avec INFINI
+	 * explicite et mise  jour des noeuds suivants
+	 * @param ligneI Indice de d[i][0]
+	 * @param ligneK Indice de d[k][0]
+	 */
+	private static void relacherExact(int[] d, int[] suivants, int ligneI, int ligneK,
+			int dik, int k, int jDebut, int jFin) {
+		if (dik == IGraphe.INFINI)
+			return;
+		for (int j = jDebut; j < jFin; ++j) {
+			int dkj = d[ligneK + j];
+			if (dkj != IGraphe.INFINI && dik + dkj < d[ligneI + j]) {
+				d[ligneI + j] = dik + dkj;
+				if (suivants != null)
+					suivants[ligneI + j] = suivants[ligneI + k];
+			}
+		}
+	}
+}
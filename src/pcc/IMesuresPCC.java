@@ -0,0 +1,17 @@
+package pcc;
+
+/**
+ * Observateur des requtes d'un moteur de plus courts chemins (voir
+ * Dijkstra.setMesures, Bellman.setMesures). Sans observateur, le moteur ne
+ * prend aucune mesure de temps : seuls quelques compteurs entiers, tenus dans
+ * l'espace de travail, sont incrments.
+ */
+@FunctionalInterface
+public interface IMesuresPCC {
+	/**
+	 * @brief Appele  la fin de chaque requte, russie ou non, par le fil qui l'a excute
+	 * @param mesure Mesures de la requte, valables pendant l'appel seulement
+	 * (l'objet est rutilis par la requte suivante)
+	 */
+	void requeteTerminee(MesureRequete mesure);
+}
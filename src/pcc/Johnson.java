@@ -0,0 +1,111 @@
+package pcc;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import exceptions.CircuitAbsorbantEx;
+import graphes.ArbrePCC;
+import graphes.IGraphe;
+import graphes.types.GrapheCSR;
+
+/**
+ * Algorithme de Johnson : plus courts chemins entre toutes les paires de
+ * noeuds d'un graphe pouvant contenir des arcs ngatifs.
+ * 		- Un seul passage de Bellman-Ford donne un potentiel h  chaque noeud
+ * 		- Chaque arc u -> v est revalu en w + h(u) - h(v), toujours positif ou nul,
+ * 		  sans changer les plus courts chemins
+ * 		- Un Dijkstra par noeud source, rpartis sur un ForkJoinPool, donne les
+ * 		  distances revalues, puis d(u,v) = d'(u,v) - h(u) + h(v)
+ * En O(V.E + V.(E + V) log V) au lieu de V appels  pc.
+ */
+public class Johnson {
+	private final ForkJoinPool pool;
+	private final boolean avecSuivants;
+
+	/**
+	 * @brief Pool commun, avec les noeuds suivants
+	 */
+	public Johnson() {
+		this(ForkJoinPool.commonPool(), true);
+	}
+
+	/**
+	 * @param pool Pool sur lequel rpartir les sources
+	 * @param avecSuivants true pour calculer aussi la matrice des noeuds suivants
+	 */
+	public Johnson(ForkJoinPool pool, boolean avecSuivants) {
+		this.pool = pool;
+		this.avecSuivants = avecSuivants;
+	}
+
+	/**
+	 * @param g Graphe, quelle que soit sa reprsentation
+	 * @return Distances entre toutes les paires de noeuds
+	 * @throws CircuitAbsorbantEx Le graphe contient un circuit absorbant
+	 */
+	public MatriceDistances calculer(IGraphe g) throws CircuitAbsorbantEx {
+		int n = g.getNbSommets();
+		if ((long) n * n > Integer.MAX_VALUE - 8)
+			throw new IllegalArgumentException("matrice trop grande pour " + n + " noeuds");
+		int[] h = BellmanFord.potentiels(g);
+		GrapheCSR revalue = revaluer(g, h);
+
+		int[] distances = new int[n * n];
+		int[] suivants = avecSuivants ? new int[n * n] : null;
+		ThreadLocal<ArbrePCC> arbres = ThreadLocal.withInitial(ArbrePCC::new);
+		DijkstraTas dijkstra = new DijkstraTas();
+
+		Taches.executer(pool, () -> IntStream.rangeClosed(1, n).parallel().forEach(u -> {
+			ArbrePCC arbre = arbres.get();
+			dijkstra.arbreSansVerification(revalue, u, arbre);
+			int[] d = arbre.getDistances();
+			int ligne = (u - 1) * n;
+			for (int v = 1; v <= n; ++v)
+				distances[ligne + v - 1] = d[v] == IGraphe.INFINI ? IGraphe.INFINI : d[v] - h[u] + h[v];
+			if (suivants != null)
+				remplirSuivants(u, arbre.getPredecesseurs(), suivants, ligne);
+		}));
+		return new MatriceDistances(n, distances, suivants);
+	}
+
+	/**
+	 * @return Copie CSR de g dont chaque arc u -> v vaut w + h(u) - h(v)
+	 */
+	private static GrapheCSR revaluer(IGraphe g, int[] h) {
+		int n = g.getNbSommets();
+		int nbArcs = 0;
+		for (int i = 1; i <= n; ++i)
+			nbArcs += g.degreSortant(i);
+		int[] sources = new int[nbArcs];
+		int[] valuations = new int[nbArcs];
+		int[] cibles = new int[nbArcs];
+		int[] k = {0};
+		for (int i = 1; i <= n; ++i)
+			g.parcourirSuccesseurs(i, (a, v, b) -> {
+				sources[k[0]] = a;
+				valuations[k[0]] = v + h[a] - h[b];
+				cibles[k[0]++] = b;
+			});
+		return new GrapheCSR(n, sources, valuations, cibles, nbArcs);
+	}
+
+	/**
+	 * @brief Dduit de l'arbre de source u le noeud suivant u vers chaque noeud :
+	 * celui de son prdcesseur, ou lui-mme si son prdcesseur est u
+	 */
+	private static void remplirSuivants(int u, int[] predecesseurs, int[] suivants, int ligne) {
+		int n = predecesseurs.length - 1;
+		for (int v = 1; v <= n; ++v) {
+			if (v == u || predecesseurs[v] == ArbrePCC.AUCUN || suivants[ligne + v - 1] != 0)
+				continue;
+			// Remonte jusqu' un noeud dj connu, puis redescente
+			int w = v;
+			while (predecesseurs[w] != u && suivants[ligne + w - 1] == 0)
+				w = predecesseurs[w];
+			int suivant = predecesseurs[w] == u && suivants[ligne + w - 1] == 0 ? w : suivants[ligne + w - 1];
+			for (int x = v; x != w; x = predecesseurs[x])
+				suivants[ligne + x - 1] = suivant;
+			suivants[ligne + w - 1] = suivant;
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package pcc;
+
+import exceptions.NoPathEx;
+import graphes.IGraphe;
+import graphes.ResultatPCC;
+
+/**
+ * Distances entre toutes les paires de noeuds, ranges ligne par ligne dans un
+ * seul tableau : la distance de i  j est  l'indice (i-1)*n + (j-1).
+ * La matrice des successeurs, facultative, donne pour chaque paire le noeud
+ * suivant i sur un plus court chemin de i  j, ce qui permet de retrouver le
+ * chemin sans autre calcul.
+ */
+public class MatriceDistances {
+	private final int nbSommets;
+	private final int[] distances;
+	private final int[] suivants;
+
+	/**
+	 * @param nbSommets Nombre de noeuds
+	 * @param distances Distances, ligne par ligne, INFINI si aucun chemin
+	 * @param suivants Noeuds suivants, ligne par ligne, 0 si aucun (null si non calculs)
+	 */
+	public MatriceDistances(int nbSommets, int[] distances, int[] suivants) {
+		if (distances.length != (long) nbSommets * nbSommets
+				|| (suivants != null && suivants.length != distances.length))
+			throw new IllegalArgumentException();
+		this.nbSommets = nbSommets;
+		this.distances = distances;
+		this.suivants = suivants;
+	}
+
+	/**
+	 * @return Nombre de noeuds
+	 */
+	public int getNbSommets() {
+		return nbSommets;
+	}
+
+	/**
+	 * @return Tableau interne des distances, ligne par ligne
+	 */
+	public int[] getDistances() {
+		return distances;
+	}
+
+	/**
+	 * @param i Noeud de dpart
+	 * @param j Noeud d'arrive
+	 * @return Distance la plus courte de i  j, INFINI s'il n'existe aucun chemin
+	 */
+	public int distance(int i, int j) {
+		return distances[(i - 1) * nbSommets + (j - 1)];
+	}
+
+	/**
+	 * @return true si les noeuds suivants ont t calculs, false sinon
+	 */
+	public boolean aSuivants() {
+		return suivants != null;
+	}
+
+	/**
+	 * @param i Noeud de dpart
+	 * @param j Noeud d'arrive
+	 * @return Noeud suivant i sur un plus court chemin vers j, 0 s'il n'y en a pas
+	 */
+	public int suivant(int i, int j) {
+		if (suivants == null)
+			throw new IllegalStateException("successeurs non calculs");
+		return suivants[(i - 1) * nbSommets + (j - 1)];
+	}
+
+	/**
+	 * @param noeudD Noeud de dpart
+	 * @param noeudA Noeud d'arrive
+	 * @param resultat[out] Chemin et distance
+	 * @return Distance la plus courte
+	 * @throws NoPathEx Aucun chemin entre noeudD et noeudA
+	 * @throws IllegalStateException Les noeuds suivants n'ont pas t calculs
+	 */
+	public int chemin(int noeudD, int noeudA, ResultatPCC resultat) throws NoPathEx, IllegalStateException {
+		int distance = distance(noeudD, noeudA);
+		if (distance == IGraphe.INFINI)
+			throw new NoPathEx();
+		int n = 1;
+		for (int v = noeudD; v != noeudA; v = suivant(v, noeudA))
+			++n;
+		int[] chemin = new int[n];
+		int k = 0;
+		for (int v = noeudD; v != noeudA; v = suivant(v, noeudA))
+			chemin[k++] = v;
+		chemin[k] = noeudA;
+		resultat.remplir(chemin, n, distance);
+		return distance;
+	}
+}
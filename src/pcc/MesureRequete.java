@@ -0,0 +1,134 @@
+package pcc;
+
+import graphes.IGraphe;
+
+/**
+ * Mesures d'une requte de plus court chemin, remplies par l'espace de travail
+ * de la requte. Les dures sont en nanosecondes.
+ */
+public final class MesureRequete {
+	String algorithme;
+	int noeudD;
+	int noeudA;
+	int distance;
+	long nbNoeudsFixes;
+	long nbNoeudsAtteints;
+	long nbArcsRelaches;
+	long nbOperationsTas;
+	int tailleTasMax;
+	int capaciteEspace;
+	long dureeVerification;
+	long dureeRecherche;
+	long dureeChemin;
+
+	MesureRequete() {}
+
+	/**
+	 * @return Nom de l'algorithme ayant trait la requte
+	 */
+	public String getAlgorithme() {
+		return algorithme;
+	}
+
+	/**
+	 * @return Noeud de dpart
+	 */
+	public int getNoeudD() {
+		return noeudD;
+	}
+
+	/**
+	 * @return Noeud d'arrive
+	 */
+	public int getNoeudA() {
+		return noeudA;
+	}
+
+	/**
+	 * @return Distance trouve, INFINI si la requte a chou (pas de chemin, graphe refus)
+	 */
+	public int getDistance() {
+		return distance;
+	}
+
+	/**
+	 * @return true si un chemin a t trouv
+	 */
+	public boolean estReussie() {
+		return distance != IGraphe.INFINI;
+	}
+
+	/**
+	 * @return Nombre de noeuds fixs (ou mis en file, pour Bellman-Ford)
+	 */
+	public long getNbNoeudsFixes() {
+		return nbNoeudsFixes;
+	}
+
+	/**
+	 * @return Nombre d'amliorations de distance, un mme noeud pouvant tre amlior plusieurs fois
+	 */
+	public long getNbNoeudsAtteints() {
+		return nbNoeudsAtteints;
+	}
+
+	/**
+	 * @return Nombre d'arcs relchs
+	 */
+	public long getNbArcsRelaches() {
+		return nbArcsRelaches;
+	}
+
+	/**
+	 * @return Nombre d'insertions, diminutions et extractions sur les tas
+	 */
+	public long getNbOperationsTas() {
+		return nbOperationsTas;
+	}
+
+	/**
+	 * @return Plus grand nombre de noeuds prsents  la fois dans un tas
+	 */
+	public int getTailleTasMax() {
+		return tailleTasMax;
+	}
+
+	/**
+	 * @return Nombre de noeuds que l'espace de travail peut accueillir
+	 */
+	public int getCapaciteEspace() {
+		return capaciteEspace;
+	}
+
+	/**
+	 * @return Dure de la vrification du graphe (estOK)
+	 */
+	public long getDureeVerification() {
+		return dureeVerification;
+	}
+
+	/**
+	 * @return Dure de la recherche
+	 */
+	public long getDureeRecherche() {
+		return dureeRecherche;
+	}
+
+	/**
+	 * @return Dure de la reconstruction du chemin
+	 */
+	public long getDureeChemin() {
+		return dureeChemin;
+	}
+
+	@Override
+	public String toString() {
+		return algorithme + " " + noeudD + " -> " + noeudA
+				+ " : distance " + (estReussie() ? Integer.toString(distance) : "aucune")
+				+ ", " + nbNoeudsFixes + " fixs, " + nbArcsRelaches + " arcs, "
+				+ nbOperationsTas + " oprations sur le tas (max " + tailleTasMax + ")"
+				+ ", vrification " + dureeVerification / 1000 + " s"
+				+ ", recherche " + dureeRecherche / 1000 + " s"
+				+ ", chemin " + dureeChemin / 1000 + " s";
+	}
+}
@@ -0,0 +1,71 @@
+package pcc;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Publie chaque requte comme un vnement JFR (pcc.Requete), visible dans un
+ * enregistrement Flight Recorder (-XX:StartFlightRecording, jcmd JFR.start).
+ * Tant que l'vnement n'est pas activ, une requte ne cote qu'un test.
+ */
+public class MesuresJFR implements IMesuresPCC {
+	@Name("pcc.Requete")
+	@Label("Requte de plus court chemin")
+	@Category("PCC")
+	@StackTrace(false)
+	static final class Evenement extends Event {
+		@Label("Algorithme")
+		String algorithme;
+		@Label("Noeud de dpart")
+		int noeudD;
+		@Label("Noeud d'arrive")
+		int noeudA;
+		@Label("Distance")
+		@Description("Integer.MAX_VALUE si aucun chemin n'a t trouv")
+		int distance;
+		@Label("Noeuds fixs")
+		long nbNoeudsFixes;
+		@Label("Arcs relchs")
+		long nbArcsRelaches;
+		@Label("Oprations sur le tas")
+		long nbOperationsTas;
+		@Label("Taille maximale du tas")
+		int tailleTasMax;
+		@Label("Capacit de l'espace de travail")
+		int capaciteEspace;
+		@Label("Vrification")
+		@Timespan(Timespan.NANOSECONDS)
+		long dureeVerification;
+		@Label("Recherche")
+		@Timespan(Timespan.NANOSECONDS)
+		long dureeRecherche;
+		@Label("Chemin")
+		@Timespan(Timespan.NANOSECONDS)
+		long dureeChemin;
+	}
+
+	@Override
+	public void requeteTerminee(MesureRequete mesure) {
+		Evenement e = new Evenement();
+		if (!e.isEnabled())
+			return;
+		e.algorithme = mesure.getAlgorithme();
+		e.noeudD = mesure.getNoeudD();
+		e.noeudA = mesure.getNoeudA();
+		e.distance = mesure.getDistance();
+		e.nbNoeudsFixes = mesure.getNbNoeudsFixes();
+		e.nbArcsRelaches = mesure.getNbArcsRelaches();
+		e.nbOperationsTas = mesure.getNbOperationsTas();
+		e.tailleTasMax = mesure.getTailleTasMax();
+		e.capaciteEspace = mesure.getCapaciteEspace();
+		e.dureeVerification = mesure.getDureeVerification();
+		e.dureeRecherche = mesure.getDureeRecherche();
+		e.dureeChemin = mesure.getDureeChemin();
+		e.commit();
+	}
+}
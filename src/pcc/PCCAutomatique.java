@@ -0,0 +1,74 @@
+package pcc;
+
+import exceptions.CircuitAbsorbantEx;
+import exceptions.NoPathEx;
+import graphes.IGraphe;
+import graphes.IPCCPrimitif;
+import graphes.ResultatPCC;
+
+/**
+ * Choisit l'algorithme le moins coteux qui reste correct pour le graphe :
+ * 		- sans circuit : relchement dans l'ordre topologique (Bellman), en
+ * 		  O(V+E), quelles que soient les valuations
+ * 		- avec circuit, sans arc ngatif : Dijkstra sur tableau si le graphe
+ * 		  est dense, sur tas sinon
+ * 		- avec circuit et arc ngatif : Bellman-Ford
+ *
+ * Le graphe est class une seule fois (voir ClassificationGraphe), puis 
+ * nouveau seulement s'il est modifi. Les algorithmes sont alors appels
+ * sans leur propre vrification du graphe.
+ */
+public class PCCAutomatique implements IPCCPrimitif {
+	private final Bellman bellman = new Bellman();
+	private final Dijkstra dijkstra = new Dijkstra();
+	private final DijkstraTas dijkstraTas = new DijkstraTas();
+	private final BellmanFord bellmanFord = new BellmanFord();
+
+	/**
+	 * @param g Graphe
+	 * @return Algorithme auquel les requtes sur g sont confies
+	 */
+	public IPCCPrimitif choisir(IGraphe g) {
+		ClassificationGraphe c = ClassificationGraphe.de(g);
+		if (c.estSansCircuit())
+			return bellman;
+		if (!c.aArcNegatif())
+			return c.estDense() ? dijkstra : dijkstraTas;
+		return bellmanFord;
+	}
+
+	/**
+	 * @return true si le graphe ne contient aucun circuit absorbant
+	 */
+	@Override
+	public boolean estOK(IGraphe g) {
+		return bellmanFord.estOK(g);
+	}
+
+	/**
+	 * @throws CircuitAbsorbantEx Un circuit absorbant est atteignable depuis le noeud de dpart
+	 */
+	@Override
+	public int pc(IGraphe g, int noeudD, int noeudA, ResultatPCC resultat)
+			throws CircuitAbsorbantEx, NoPathEx {
+		try (EspaceTravail espace = EspaceTravail.acquerir()) {
+			return pc(g, noeudD, noeudA, resultat, espace);
+		}
+	}
+
+	/**
+	 * @brief Comme pc(g, noeudD, noeudA, resultat), dans un espace de travail fourni
+	 * @param espace Espace de travail, prpar par la requte
+	 * @throws CircuitAbsorbantEx Un circuit absorbant est atteignable depuis le noeud de dpart
+	 */
+	public int pc(IGraphe g, int noeudD, int noeudA, ResultatPCC resultat, EspaceTravail espace)
+			throws CircuitAbsorbantEx, NoPathEx {
+		ClassificationGraphe c = ClassificationGraphe.de(g);
+		if (c.estSansCircuit())
+			return Bellman.pcDansOrdre(g, c.getOrdre(), c.getRangs(), noeudD, noeudA, resultat, espace);
+		if (!c.aArcNegatif())
+			return (c.estDense() ? dijkstra : dijkstraTas).pcSansVerification(g, noeudD, noeudA, resultat, espace);
+		// Bellman-Ford ne vrifie que les circuits atteignables depuis le dpart
+		return bellmanFord.pc(g, noeudD, noeudA, resultat, espace);
+	}
+}
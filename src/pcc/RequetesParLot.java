@@ -0,0 +1,103 @@
+package pcc;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import graphes.ArbrePCC;
+import graphes.IGraphe;
+import graphes.IPCCArbre;
+import graphes.ResultatPCC;
+
+/**
+ * Traite un lot de requtes (source, cible) en parallle.
+ * 		- Le graphe n'est vrifi (estOK) qu'une seule fois pour tout le lot
+ * 		- Les paires de mme source sont regroupes : un seul arbre de plus
+ * 		  courts chemins rpond  toutes
+ * 		- Les sources sont rparties sur un ForkJoinPool, chaque fil
+ * 		  d'excution rutilisant son propre arbre d'un calcul  l'autre
+ * Le graphe ne doit pas tre modifi pendant le traitement du lot.
+ */
+public class RequetesParLot {
+	private final IPCCArbre algo;
+	private final ForkJoinPool pool;
+
+	/**
+	 * @param algo Algorithme calculant les arbres de plus courts chemins
+	 */
+	public RequetesParLot(IPCCArbre algo) {
+		this(algo, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * @param algo Algorithme calculant les arbres de plus courts chemins
+	 * @param pool Pool sur lequel rpartir les sources
+	 */
+	public RequetesParLot(IPCCArbre algo, ForkJoinPool pool) {
+		this.algo = algo;
+		this.pool = pool;
+	}
+
+	/**
+	 * @brief Rpond  toutes les paires (sources[i], cibles[i])
+	 * @param g Graphe
+	 * @param sources Noeud de dpart de chaque paire
+	 * @param cibles Noeud d'arrive de chaque paire
+	 * @param avecChemins true pour conserver les chemins, false pour les seules distances
+	 * @return Les rponses, dans l'ordre des paires
+	 * @throws IllegalArgumentException Le graphe n'est pas compatible avec l'algorithme,
+	 * ou une paire a un noeud hors du graphe
+	 */
+	public ResultatsLot executer(IGraphe g, int[] sources, int[] cibles, boolean avecChemins)
+			throws IllegalArgumentException {
+		if (sources.length != cibles.length)
+			throw new IllegalArgumentException("autant de sources que de cibles sont attendues");
+		if (!algo.estOK(g))
+			throw new IllegalArgumentException("graphe incompatible avec " + algo.getClass().getSimpleName());
+
+		int nbSommets = g.getNbSommets();
+		int nbPaires = sources.length;
+
+		// Regroupement des paires par source (tri par comptage)
+		int[] debuts = new int[nbSommets + 2];
+		for (int i = 0; i < nbPaires; ++i) {
+			// Toutes les paires sont vrifies avant le moindre calcul
+			if (sources[i] < 1 || sources[i] > nbSommets || cibles[i] < 1 || cibles[i] > nbSommets)
+				throw new IllegalArgumentException("paire " + i + " : " + sources[i] + " -> " + cibles[i] + " hors du graphe");
+			++debuts[sources[i] + 1];
+		}
+		for (int s = 1; s <= nbSommets + 1; ++s)
+			debuts[s] += debuts[s - 1];
+		int[] paires = new int[nbPaires];
+		int[] positions = debuts.clone();
+		for (int i = 0; i < nbPaires; ++i)
+			paires[positions[sources[i]]++] = i;
+
+		int[] sourcesDistinctes = IntStream.rangeClosed(1, nbSommets)
+				.filter(s -> debuts[s + 1] > debuts[s]).toArray();
+
+		int[] distances = new int[nbPaires];
+		int[][] chemins = avecChemins ? new int[nbPaires][] : null;
+
+		// Un arbre et un rsultat par fil d'excution, rutiliss pour chaque source
+		ThreadLocal<ArbrePCC> arbres = ThreadLocal.withInitial(ArbrePCC::new);
+		ThreadLocal<ResultatPCC> resultats = ThreadLocal.withInitial(ResultatPCC::new);
+
+		Runnable traitement = () -> IntStream.range(0, sourcesDistinctes.length).parallel().forEach(k -> {
+			int source = sourcesDistinctes[k];
+			ArbrePCC arbre = arbres.get();
+			ResultatPCC resultat = resultats.get();
+			algo.arbreSansVerification(g, source, arbre);
+			for (int j = debuts[source]; j < debuts[source + 1]; ++j) {
+				int i = paires[j];
+				distances[i] = arbre.distanceVers(cibles[i]);
+				if (avecChemins && arbre.estAtteignable(cibles[i])) {
+					arbre.cheminVers(cibles[i], resultat);
+					chemins[i] = resultat.getChemin();
+				}
+			}
+		});
+
+		Taches.executer(pool, traitement);
+		return new ResultatsLot(distances, chemins);
+	}
+}
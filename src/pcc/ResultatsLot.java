@@ -0,0 +1,54 @@
+package pcc;
+
+import exceptions.NoPathEx;
+import graphes.IGraphe;
+
+/**
+ * Rponses d'un lot de requtes, dans l'ordre des paires soumises.
+ */
+public class ResultatsLot {
+	private final int[] distances;
+	private final int[][] chemins;
+
+	ResultatsLot(int[] distances, int[][] chemins) {
+		this.distances = distances;
+		this.chemins = chemins;
+	}
+
+	/**
+	 * @return Nombre de paires du lot
+	 */
+	public int taille() {
+		return distances.length;
+	}
+
+	/**
+	 * @param i Rang de la paire dans le lot
+	 * @return true s'il existe un chemin pour cette paire, false sinon
+	 */
+	public boolean estAtteignable(int i) {
+		return distances[i] != IGraphe.INFINI;
+	}
+
+	/**
+	 * @param i Rang de la paire dans le lot
+	 * @return Distance la plus courte, INFINI s'il n'existe aucun chemin
+	 */
+	public int getDistance(int i) {
+		return distances[i];
+	}
+
+	/**
+	 * @param i Rang de la paire dans le lot
+	 * @return Noeuds du plus court chemin, du dpart  l'arrive
+	 * @throws NoPathEx Aucun chemin pour cette paire
+	 * @throws IllegalStateException Les chemins n'ont pas t demands
+	 */
+	public int[] getChemin(int i) throws NoPathEx, IllegalStateException {
+		if (chemins == null)
+			throw new IllegalStateException("chemins non calculs");
+		if (!estAtteignable(i))
+			throw new NoPathEx();
+		return chemins[i];
+	}
+}
@@ -0,0 +1,52 @@
+package pcc;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Excution d'une tche sur un pool donn, en attendant sa fin. Les exceptions
+ * de la tche sont relances telles quelles dans le fil appelant.
+ */
+public final class Taches {
+	private Taches() {
+	}
+
+	/**
+	 * @brief Excute la tche sur le pool et attend sa fin
+	 * @param pool Pool d'excution (ses fils servent aussi aux flux parallles de la tche)
+	 * @param tache Tche  excuter
+	 */
+	public static void executer(ForkJoinPool pool, Runnable tache) {
+		attendre(pool.submit(tache));
+	}
+
+	/**
+	 * @brief Excute la tche sur le pool et attend son rsultat
+	 * @param pool Pool d'excution
+	 * @param tache Tche  excuter
+	 * @return Rsultat de la tche
+	 */
+	public static <T> T executer(ForkJoinPool pool, Callable<T> tache) {
+		return attendre(pool.submit(tache));
+	}
+
+	/**
+	 * @brief Attend la fin d'une tche dj soumise
+	 * @param tache Tche soumise
+	 * @return Rsultat de la tche
+	 */
+	public static <T> T attendre(Future<T> tache) {
+		try {
+			return tache.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+}
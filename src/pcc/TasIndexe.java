@@ -0,0 +1,196 @@
+package pcc;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Tas binaire minimum index par numro de noeud (de 1  n).
+ * Chaque noeud est prsent au plus une fois dans le tas, ce qui permet de
+ * diminuer sa cl en O(log n) au lieu de l'insrer une seconde fois.
+ */
+public class TasIndexe {
+	// Indique qu'un noeud n'est pas prsent dans le tas
+	private static final int ABSENT = -1;
+
+	private final int[] tas;		// Noeuds rangs selon l'ordre du tas
+	private final int[] cles;		// Cl de chaque noeud (index par noeud)
+	private final int[] positions;	// Position de chaque noeud dans le tas
+	private int taille;
+	// Compteurs, remis  zro par reinitialiserCompteurs()
+	private long nbOperations;
+	private int tailleMax;
+
+	/**
+	 * @param nbNoeuds Nombre de noeuds pouvant tre insrs (numrots de 1  nbNoeuds)
+	 */
+	public TasIndexe(int nbNoeuds) {
+		tas = new int[nbNoeuds];
+		cles = new int[nbNoeuds + 1];
+		positions = new int[nbNoeuds + 1];
+		Arrays.fill(positions, ABSENT);
+		taille = 0;
+	}
+
+	/**
+	 * @return true si le tas ne contient aucun noeud, false sinon
+	 */
+	public boolean estVide() {
+		return taille == 0;
+	}
+
+	/**
+	 * @return Nombre de noeuds prsents dans le tas
+	 */
+	public int taille() {
+		return taille;
+	}
+
+	/**
+	 * @param noeud Noeud  tester
+	 * @return true si le noeud est prsent dans le tas, false sinon
+	 */
+	public boolean contient(int noeud) {
+		return positions[noeud] != ABSENT;
+	}
+
+	/**
+	 * @param noeud Noeud prsent dans le tas
+	 * @return Cl actuelle du noeud
+	 */
+	public int cle(int noeud) {
+		return cles[noeud];
+	}
+
+	/**
+	 * @return Cl minimale du tas
+	 * @throws NoSuchElementException Le tas est vide
+	 */
+	public int cleMin() throws NoSuchElementException {
+		if (taille == 0) throw new NoSuchElementException();
+		return cles[tas[0]];
+	}
+
+	/**
+	 * @brief Insre le noeud, ou diminue sa cl s'il est dj prsent
+	 * @param noeud Noeud  insrer
+	 * @param cle Nouvelle cl du noeud
+	 * @return true si le tas a t modifi, false si la cl actuelle tait dj infrieure ou gale
+	 */
+	public boolean insererOuDiminuer(int noeud, int cle) {
+		int pos = positions[noeud];
+		if (pos == ABSENT) {
+			cles[noeud] = cle;
+			tas[taille] = noeud;
+			positions[noeud] = taille;
+			remonter(taille++);
+			++nbOperations;
+			if (taille > tailleMax)
+				tailleMax = taille;
+			return true;
+		}
+		if (cle >= cles[noeud])
+			return false;
+		cles[noeud] = cle;
+		remonter(pos);
+		++nbOperations;
+		return true;
+	}
+
+	/**
+	 * @brief Insre le noeud, ou remplace sa cl ( la hausse comme  la baisse)
+	 * @param noeud Noeud  insrer
+	 * @param cle Nouvelle cl du noeud
+	 */
+	public void modifier(int noeud, int cle) {
+		int pos = positions[noeud];
+		if (pos == ABSENT || cle < cles[noeud]) {
+			insererOuDiminuer(noeud, cle);
+			return;
+		}
+		cles[noeud] = cle;
+		descendre(pos);
+		++nbOperations;
+	}
+
+	/**
+	 * @brief Retire le noeud de cl minimale
+	 * @return Le noeud retir
+	 * @throws NoSuchElementException Le tas est vide
+	 */
+	public int extraireMin() throws NoSuchElementException {
+		if (taille == 0) throw new NoSuchElementException();
+		int min = tas[0];
+		positions[min] = ABSENT;
+		++nbOperations;
+		if (--taille > 0) {
+			tas[0] = tas[taille];
+			positions[tas[0]] = 0;
+			descendre(0);
+		}
+		return min;
+	}
+
+	/**
+	 * @brief Vide le tas en ne parcourant que les noeuds encore prsents
+	 */
+	public void vider() {
+		for (int i = 0; i < taille; ++i)
+			positions[tas[i]] = ABSENT;
+		taille = 0;
+	}
+
+	/**
+	 * @return Nombre d'insertions, de changements de cl et d'extractions
+	 */
+	public long getNbOperations() {
+		return nbOperations;
+	}
+
+	/**
+	 * @return Plus grand nombre de noeuds prsents  la fois dans le tas
+	 */
+	public int getTailleMax() {
+		return tailleMax;
+	}
+
+	/**
+	 * @brief Remet  zro le nombre d'oprations et la taille maximale
+	 */
+	public void reinitialiserCompteurs() {
+		nbOperations = 0;
+		tailleMax = taille;
+	}
+
+	private void remonter(int pos) {
+		int noeud = tas[pos];
+		int cle = cles[noeud];
+		while (pos > 0) {
+			int parent = (pos - 1) >>> 1;
+			if (cles[tas[parent]] <= cle)
+				break;
+			tas[pos] = tas[parent];
+			positions[tas[pos]] = pos;
+			pos = parent;
+		}
+		tas[pos] = noeud;
+		positions[noeud] = pos;
+	}
+
+	private void descendre(int pos) {
+		int noeud = tas[pos];
+		int cle = cles[noeud];
+		int moitie = taille >>> 1;
+		while (pos < moitie) {
+			int enfant = 2 * pos + 1;
+			if (enfant + 1 < taille && cles[tas[enfant + 1]] < cles[tas[enfant]])
+				++enfant;
+			if (cle <= cles[tas[enfant]])
+				break;
+			tas[pos] = tas[enfant];
+			positions[tas[pos]] = pos;
+			pos = enfant;
+		}
+		tas[pos] = noeud;
+		positions[noeud] = pos;
+	}
+}
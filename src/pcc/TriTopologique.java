@@ -0,0 +1,149 @@
+package pcc;
+
+import graphes.IGraphe;
+import graphes.IVisiteurArc;
+
+/**
+ * Tri topologique par comptage des degrs entrants (algorithme de Kahn).
+ * Un seul parcours en O(V+E) permet  la fois :
+ * 		- de dtecter un circuit (certains noeuds ne sont jamais tris)
+ * 		- de ne conserver que les noeuds atteignables depuis un noeud de dpart
+ * 		- d'attribuer  chacun de ces noeuds son niveau depuis le noeud de dpart
+ */
+public class TriTopologique {
+	// Niveau des noeuds non atteignables depuis le noeud de dpart
+	public static final int NON_ATTEIGNABLE = -1;
+
+	private final int[] ordre;		// Noeuds tris, dans l'ordre topologique
+	private final int nbTries;		// Nombre de noeuds effectivement tris
+	private final int[] atteignables;	// Noeuds tris atteignables depuis le dpart
+	private final int nbAtteignables;
+	private final int[] niveaux;	// Niveau de chaque noeud depuis le dpart
+
+	/**
+	 * @brief Trie tous les noeuds du graphe, sans noeud de dpart
+	 * @param g Graphe
+	 */
+	public TriTopologique(IGraphe g) {
+		this(g, 0);
+	}
+
+	/**
+	 * @brief Trie les noeuds du graphe et repre ceux atteignables depuis noeudD
+	 * @param g Graphe
+	 * @param noeudD Noeud de dpart (0 si aucun)
+	 */
+	public TriTopologique(IGraphe g, int noeudD) {
+		this(g, noeudD, degresEntrants(g));
+	}
+
+	/**
+	 * @brief Comme TriTopologique(g, noeudD), avec les degrs entrants dj compts
+	 * @param degresEntrants Degr entrant de chaque noeud, consomm par le tri
+	 */
+	TriTopologique(IGraphe g, int noeudD, int[] degresEntrants) {
+		int nbSommets = g.getNbSommets();
+		ordre = new int[nbSommets];
+		atteignables = new int[nbSommets];
+		niveaux = new int[nbSommets + 1];
+		for (int i = 1; i <= nbSommets; ++i)
+			niveaux[i] = NON_ATTEIGNABLE;
+		if (noeudD != 0)
+			niveaux[noeudD] = 0;
+
+		// Les noeuds sans prdcesseur forment la file de dpart
+		int fin = 0;
+		for (int i = 1; i <= nbSommets; ++i)
+			if (degresEntrants[i] == 0)
+				ordre[fin++] = i;
+
+		/* Le tableau ordre sert de file : chaque noeud retir voit ses arcs
+		 * sortants supprims, ses successeurs sans autre prdcesseur sont
+		 * alors ajouts en fin de file */
+		int[] finFile = {fin};
+		int[] nb = {0};
+		IVisiteurArc suppression = (a, v, b) -> {
+			if (niveaux[a] != NON_ATTEIGNABLE && niveaux[b] < niveaux[a] + 1)
+				niveaux[b] = niveaux[a] + 1;
+			if (--degresEntrants[b] == 0)
+				ordre[finFile[0]++] = b;
+		};
+		for (int debut = 0; debut < finFile[0]; ++debut) {
+			int noeud = ordre[debut];
+			if (niveaux[noeud] != NON_ATTEIGNABLE)
+				atteignables[nb[0]++] = noeud;
+			g.parcourirSuccesseurs(noeud, suppression);
+		}
+		nbTries = finFile[0];
+		nbAtteignables = nb[0];
+	}
+
+	private static int[] degresEntrants(IGraphe g) {
+		int nbSommets = g.getNbSommets();
+		int[] degresEntrants = new int[nbSommets + 1];
+		IVisiteurArc comptage = (a, v, b) -> ++degresEntrants[b];
+		for (int i = 1; i <= nbSommets; ++i)
+			g.parcourirSuccesseurs(i, comptage);
+		return degresEntrants;
+	}
+
+	/**
+	 * @return true si tous les noeuds ont pu tre tris (absence de circuit), false sinon
+	 */
+	public boolean estSansCircuit() {
+		return nbTries == ordre.length;
+	}
+
+	/**
+	 * @return Nombre de noeuds tris
+	 */
+	public int getNbTries() {
+		return nbTries;
+	}
+
+	/**
+	 * @return Tableau interne des noeuds tris, complet si le graphe est sans circuit
+	 */
+	int[] getOrdre() {
+		return ordre;
+	}
+
+	/**
+	 * @param rang Rang dans l'ordre topologique (de 0  getNbTries()-1)
+	 * @return Noeud tri  ce rang
+	 */
+	public int getNoeud(int rang) {
+		return ordre[rang];
+	}
+
+	/**
+	 * @return Nombre de noeuds tris atteignables depuis le noeud de dpart
+	 */
+	public int getNbAtteignables() {
+		return nbAtteignables;
+	}
+
+	/**
+	 * @param rang Rang parmi les noeuds atteignables (de 0  getNbAtteignables()-1)
+	 * @return Noeud atteignable  ce rang, dans l'ordre topologique
+	 */
+	public int getAtteignable(int rang) {
+		return atteignables[rang];
+	}
+
+	/**
+	 * @param noeud Noeud
+	 * @return Niveau du noeud depuis le noeud de dpart, NON_ATTEIGNABLE s'il ne peut tre atteint
+	 */
+	public int getNiveau(int noeud) {
+		return niveaux[noeud];
+	}
+
+	/**
+	 * @param noeud Noeud
+	 * @return true si le noeud est atteignable depuis le noeud de dpart, false sinon
+	 */
+	public boolean estAtteignable(int noeud) {
+		return niveaux[noeud] != NON_ATTEIGNABLE;
+	}
+}
@@ -0,0 +1,280 @@
+package pcc.ch;
+
+import java.util.Arrays;
+
+import graphes.IGraphe;
+import pcc.TasIndexe;
+
+/**
+ * Construction d'une hirarchie de contraction.
+ * Les noeuds sont contracts un  un, du moins important au plus important :
+ * contracter v revient  le retirer du graphe en ajoutant un raccourci u -> x
+ * (de poids w(u,v) + w(v,x)) pour chaque paire u -> v -> x dont aucun autre
+ * chemin (un tmoin) n'est aussi court.
+ *
+ * L'importance d'un noeud est estime par sa diffrence d'arcs (raccourcis
+ * crs moins arcs retirs) augmente du nombre de ses voisins dj
+ * contracts. Elle est recalcule paresseusement : le noeud de priorit
+ * minimale n'est contract que si sa priorit  jour reste minimale.
+ */
+final class Contraction {
+	// Recherche de tmoin : nombre maximal de noeuds atteints avant d'abandonner
+	private static final int MAX_TOUCHES_TEMOIN = 100;
+	// Produit des degrs au-del duquel un voisin n'est pas entirement rvalu
+	private static final int DEGRE_MAX_RECALCUL = 64;
+	// Moiti d'un arc original (qui n'est pas un raccourci)
+	static final int ORIGINAL = -1;
+
+	private final int nbSommets;
+
+	// Table de tous les arcs (originaux puis raccourcis), reprs par indice
+	private int nbArcs;
+	private int[] sources;
+	private int[] cibles;
+	private int[] poids;
+	private int[] moities1;		// Arc u -> v d'un raccourci u -> x via v
+	private int[] moities2;		// Arc v -> x d'un raccourci u -> x via v
+
+	// Arcs reliant chaque noeud aux noeuds non encore contracts
+	private final int[][] sortants;
+	private final int[] nbSortants;
+	private final int[][] entrants;
+	private final int[] nbEntrants;
+
+	private final int[] rangs;
+	private final boolean[] contractes;
+	private final int[] voisinsContractes;
+
+	// Recherche de tmoin, rutilise d'une recherche  l'autre
+	private final int[] distances;
+	private final int[] touches;
+	private int nbTouches;
+	private final TasIndexe tasTemoin;
+	private final int[] marques;	// Marque des successeurs du noeud en cours de contraction
+	private int marque;
+
+	/**
+	 * @param g Graphe sans arc ngatif
+	 */
+	Contraction(IGraphe g) {
+		nbSommets = g.getNbSommets();
+		sources = new int[16];
+		cibles = new int[16];
+		poids = new int[16];
+		moities1 = new int[16];
+		moities2 = new int[16];
+		sortants = new int[nbSommets + 1][];
+		entrants = new int[nbSommets + 1][];
+		nbSortants = new int[nbSommets + 1];
+		nbEntrants = new int[nbSommets + 1];
+		for (int i = 1; i <= nbSommets; ++i) {
+			sortants[i] = new int[Math.max(2, g.degreSortant(i))];
+			entrants[i] = new int[2];
+		}
+		rangs = new int[nbSommets + 1];
+		contractes = new boolean[nbSommets + 1];
+		voisinsContractes = new int[nbSommets + 1];
+		distances = new int[nbSommets + 1];
+		Arrays.fill(distances, IGraphe.INFINI);
+		touches = new int[nbSommets];
+		tasTemoin = new TasIndexe(nbSommets);
+		marques = new int[nbSommets + 1];
+
+		// Les boucles sont inutiles, seul le plus lger des arcs parallles est conserv
+		for (int i = 1; i <= nbSommets; ++i)
+			g.parcourirSuccesseurs(i, (a, v, b) -> {
+				if (a != b)
+					ajouterOuAmeliorer(a, b, v, ORIGINAL, ORIGINAL);
+			});
+	}
+
+	/**
+	 * @brief Contracte tous les noeuds
+	 * @return Hirarchie obtenue
+	 */
+	HierarchieContraction construire() {
+		TasIndexe file = new TasIndexe(nbSommets);
+		for (int v = 1; v <= nbSommets; ++v)
+			file.insererOuDiminuer(v, priorite(v));
+
+		// Arcs vers les noeuds plus importants, figs lors de la contraction
+		int[][] montants = new int[nbSommets + 1][];
+		int[][] descendants = new int[nbSommets + 1][];
+		int rang = 0;
+		while (!file.estVide()) {
+			int v = file.extraireMin();
+			// Mise  jour paresseuse : v est remis en file s'il n'est plus le moins important
+			int p = priorite(v);
+			if (!file.estVide() && p > file.cleMin()) {
+				file.insererOuDiminuer(v, p);
+				continue;
+			}
+
+			raccourcis(v, true);
+			montants[v] = Arrays.copyOf(sortants[v], nbSortants[v]);
+			descendants[v] = Arrays.copyOf(entrants[v], nbEntrants[v]);
+			contractes[v] = true;
+			rangs[v] = rang++;
+
+			// v disparat des listes de ses voisins, dont la priorit change
+			for (int k = 0; k < nbEntrants[v]; ++k) {
+				int u = sources[entrants[v][k]];
+				retirer(sortants[u], nbSortants, u, entrants[v][k]);
+				mettreAJour(file, u);
+			}
+			for (int k = 0; k < nbSortants[v]; ++k) {
+				int x = cibles[sortants[v][k]];
+				retirer(entrants[x], nbEntrants, x, sortants[v][k]);
+				mettreAJour(file, x);
+			}
+		}
+		return new HierarchieContraction(nbSommets, rangs, montants, descendants,
+				Arrays.copyOf(sources, nbArcs), Arrays.copyOf(cibles, nbArcs), Arrays.copyOf(poids, nbArcs),
+				Arrays.copyOf(moities1, nbArcs), Arrays.copyOf(moities2, nbArcs));
+	}
+
+	/**
+	 * @brief Met  jour la priorit d'un voisin du noeud qui vient d'tre contract.
+	 * Le recalcul complet cote une recherche de tmoin par arc entrant : pour un
+	 * noeud de fort degr, seul le terme des voisins contracts est ajust, le
+	 * reste tant rattrap par la mise  jour paresseuse.
+	 */
+	private void mettreAJour(TasIndexe file, int v) {
+		++voisinsContractes[v];
+		if (nbEntrants[v] * nbSortants[v] <= DEGRE_MAX_RECALCUL)
+			file.modifier(v, priorite(v));
+		else
+			file.modifier(v, file.cle(v) + 1);
+	}
+
+	/**
+	 * @return Priorit de contraction du noeud (la plus faible est contracte en premier)
+	 */
+	private int priorite(int v) {
+		int differenceArcs = raccourcis(v, false) - nbEntrants[v] - nbSortants[v];
+		return 2 * differenceArcs + voisinsContractes[v];
+	}
+
+	/**
+	 * @brief Recherche les raccourcis ncessaires  la contraction de v
+	 * @param v Noeud  contracter
+	 * @param ajouter true pour ajouter les raccourcis, false pour les compter seulement
+	 * @return Nombre de raccourcis ncessaires
+	 */
+	private int raccourcis(int v, boolean ajouter) {
+		int nb = 0;
+		// Sans arc sortant (ou entrant), aucun chemin ne passe par v
+		if (nbSortants[v] == 0 || nbEntrants[v] == 0)
+			return 0;
+		int poidsSortantMax = 0;
+		++marque;
+		for (int k = 0; k < nbSortants[v]; ++k) {
+			poidsSortantMax = Math.max(poidsSortantMax, poids[sortants[v][k]]);
+			marques[cibles[sortants[v][k]]] = marque;
+		}
+
+		for (int i = 0; i < nbEntrants[v]; ++i) {
+			int arcUV = entrants[v][i];
+			int u = sources[arcUV];
+			temoins(u, v, poids[arcUV] + poidsSortantMax, nbSortants[v]);
+			for (int k = 0; k < nbSortants[v]; ++k) {
+				int arcVX = sortants[v][k];
+				int x = cibles[arcVX];
+				int viaV = poids[arcUV] + poids[arcVX];
+				if (x == u || distances[x] <= viaV)
+					continue;
+				++nb;
+				if (ajouter)
+					ajouterOuAmeliorer(u, x, viaV, arcUV, arcVX);
+			}
+			effacerTemoins();
+		}
+		return nb;
+	}
+
+	/**
+	 * @brief Dijkstra local depuis u, sans passer par le noeud exclu, limit aux
+	 * distances infrieures ou gales  limite. Il s'arrte ds que les nbCibles
+	 * noeuds marqus sont fixs. Les distances obtenues restent dans distances[]
+	 * jusqu' l'appel de effacerTemoins().
+	 */
+	private void temoins(int u, int exclu, int limite, int nbCibles) {
+		distances[u] = 0;
+		touches[nbTouches++] = u;
+		tasTemoin.insererOuDiminuer(u, 0);
+		while (!tasTemoin.estVide() && tasTemoin.cleMin() <= limite
+				&& nbCibles > 0 && nbTouches < MAX_TOUCHES_TEMOIN) {
+			int a = tasTemoin.extraireMin();
+			if (marques[a] == marque)
+				--nbCibles;
+			for (int k = 0; k < nbSortants[a]; ++k) {
+				int arc = sortants[a][k];
+				int b = cibles[arc];
+				int d = distances[a] + poids[arc];
+				if (b == exclu || d >= distances[b])
+					continue;
+				if (distances[b] == IGraphe.INFINI)
+					touches[nbTouches++] = b;
+				distances[b] = d;
+				tasTemoin.insererOuDiminuer(b, d);
+			}
+		}
+		tasTemoin.vider();
+	}
+
+	private void effacerTemoins() {
+		for (int i = 0; i < nbTouches; ++i)
+			distances[touches[i]] = IGraphe.INFINI;
+		nbTouches = 0;
+	}
+
+	/**
+	 * @brief Ajoute l'arc a -> b, ou diminue le poids de l'arc a -> b existant.
+	 * Un arc existant relie deux noeuds non contracts : aucun raccourci ne
+	 * l'utilise encore comme moiti, il peut donc tre modifi sur place.
+	 */
+	private void ajouterOuAmeliorer(int a, int b, int p, int moitie1, int moitie2) {
+		for (int k = 0; k < nbSortants[a]; ++k) {
+			int arc = sortants[a][k];
+			if (cibles[arc] == b) {
+				if (p < poids[arc]) {
+					poids[arc] = p;
+					moities1[arc] = moitie1;
+					moities2[arc] = moitie2;
+				}
+				return;
+			}
+		}
+		if (nbArcs == sources.length) {
+			int capacite = 2 * nbArcs;
+			sources = Arrays.copyOf(sources, capacite);
+			cibles = Arrays.copyOf(cibles, capacite);
+			poids = Arrays.copyOf(poids, capacite);
+			moities1 = Arrays.copyOf(moities1, capacite);
+			moities2 = Arrays.copyOf(moities2, capacite);
+		}
+		int arc = nbArcs++;
+		sources[arc] = a;
+		cibles[arc] = b;
+		poids[arc] = p;
+		moities1[arc] = moitie1;
+		moities2[arc] = moitie2;
+		sortants[a] = ajouter(sortants[a], nbSortants, a, arc);
+		entrants[b] = ajouter(entrants[b], nbEntrants, b, arc);
+	}
+
+	private static int[] ajouter(int[] liste, int[] tailles, int noeud, int arc) {
+		if (tailles[noeud] == liste.length)
+			liste = Arrays.copyOf(liste, 2 * liste.length);
+		liste[tailles[noeud]++] = arc;
+		return liste;
+	}
+
+	private static void retirer(int[] liste, int[] tailles, int noeud, int arc) {
+		for (int k = 0; k < tailles[noeud]; ++k)
+			if (liste[k] == arc) {
+				liste[k] = liste[--tailles[noeud]];
+				return;
+			}
+	}
+}
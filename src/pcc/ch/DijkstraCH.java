@@ -0,0 +1,77 @@
+package pcc.ch;
+
+import exceptions.ArcNgatifEx;
+import exceptions.NoPathEx;
+import graphes.IGraphe;
+import graphes.IPCCPrimitif;
+import graphes.ResultatPCC;
+import pcc.Dijkstra;
+import pcc.EspaceTravail;
+import pcc.IMesuresPCC;
+
+/**
+ * Plus courts chemins par hirarchie de contraction. La hirarchie est
+ * construite  la premire requte sur un graphe, puis conserve sur le graphe
+ * (IGraphe.memoriser) tant qu'il n'est pas modifi : la prparation, coteuse,
+ * est amortie sur de nombreuses requtes, et un mme DijkstraCH peut servir
+ * sur plusieurs graphes et  plusieurs fils  la fois.
+ */
+public class DijkstraCH implements IPCCPrimitif {
+	private final Dijkstra verification = new Dijkstra();
+	// Observateur des requtes, null si elles ne sont pas mesures
+	private IMesuresPCC mesures;
+
+	/**
+	 * @param mesures Observateur de chaque requte pc, null pour ne plus mesurer
+	 */
+	public void setMesures(IMesuresPCC mesures) {
+		this.mesures = mesures;
+	}
+
+	@Override
+	public boolean estOK(IGraphe g) {
+		return verification.estOK(g);
+	}
+
+	/**
+	 * @param g Graphe
+	 * @return Hirarchie du graphe, construite si elle ne l'est pas dj
+	 * @throws ArcNgatifEx Le graphe contient un arc ngatif
+	 */
+	public HierarchieContraction hierarchie(IGraphe g) throws ArcNgatifEx {
+		// La vrification est elle-mme conserve sur le graphe (ClassificationGraphe)
+		if (!estOK(g)) { throw new ArcNgatifEx(); }
+		return g.memoriser(HierarchieContraction.class, HierarchieContraction::construire);
+	}
+
+	@Override
+	public int pc(IGraphe g, int noeudD, int noeudA, ResultatPCC resultat)
+											throws ArcNgatifEx, NoPathEx {
+		try (EspaceTravail espace = EspaceTravail.acquerir()) {
+			return pc(g, noeudD, noeudA, resultat, espace);
+		}
+	}
+
+	/**
+	 * @brief Comme pc(g, noeudD, noeudA, resultat), dans un espace de travail
+	 * fourni. Mesure, la vrification comprend la construction de la hirarchie.
+	 * @param espace Espace de travail, prpar par la requte
+	 */
+	public int pc(IGraphe g, int noeudD, int noeudA, ResultatPCC resultat, EspaceTravail espace)
+											throws ArcNgatifEx, NoPathEx {
+		IMesuresPCC m = mesures;
+		if (m == null)
+			return hierarchie(g).pc(noeudD, noeudA, resultat, espace);
+		espace.commencerMesure(getClass().getSimpleName(), noeudD, noeudA);
+		int distance = IGraphe.INFINI;
+		try {
+			HierarchieContraction h = hierarchie(g);
+			espace.terminerVerification();
+			distance = h.pc(noeudD, noeudA, resultat, espace);
+			return distance;
+		}
+		finally {
+			m.requeteTerminee(espace.terminerMesure(distance));
+		}
+	}
+}
@@ -0,0 +1,226 @@
+package pcc.ch;
+
+import java.util.Arrays;
+
+import exceptions.NoPathEx;
+import graphes.IGraphe;
+import graphes.ResultatPCC;
+import pcc.EspaceTravail;
+import pcc.TasIndexe;
+
+/**
+ * Hirarchie de contraction d'un graphe : rang de chaque noeud dans l'ordre de
+ * contraction et arcs (originaux ou raccourcis) reliant chaque noeud aux noeuds
+ * de rang suprieur.
+ * 		- montants : arcs v -> x avec rang(x) > rang(v), parcourus par la recherche avant
+ * 		- descendants : arcs u -> v avec rang(u) > rang(v), rangs en v et parcourus
+ * 		   l'envers par la recherche arrire
+ * Une requte ne fait que monter dans la hirarchie depuis chaque extrmit.
+ * La hirarchie est immuable et peut tre interroge par plusieurs fils d'excution.
+ */
+public final class HierarchieContraction {
+	private final int nbSommets;
+	private final int[] rangs;
+	private final int[] debutsMontants;		// Tranches au format CSR, indexes par noeud
+	private final int[] montants;
+	private final int[] debutsDescendants;
+	private final int[] descendants;
+	private final int nbArcsOriginaux;
+
+	private final int[] sources;
+	private final int[] cibles;
+	private final int[] poids;
+	private final int[] moities1;
+	private final int[] moities2;
+
+	HierarchieContraction(int nbSommets, int[] rangs, int[][] montants, int[][] descendants,
+			int[] sources, int[] cibles, int[] poids, int[] moities1, int[] moities2) {
+		this.nbSommets = nbSommets;
+		this.rangs = rangs;
+		this.debutsMontants = new int[nbSommets + 2];
+		this.debutsDescendants = new int[nbSommets + 2];
+		this.montants = aplatir(montants, debutsMontants);
+		this.descendants = aplatir(descendants, debutsDescendants);
+		this.sources = sources;
+		this.cibles = cibles;
+		this.poids = poids;
+		this.moities1 = moities1;
+		this.moities2 = moities2;
+		int nb = 0;
+		for (int m : moities1)
+			if (m == Contraction.ORIGINAL)
+				++nb;
+		this.nbArcsOriginaux = nb;
+	}
+
+	private static int[] aplatir(int[][] listes, int[] debuts) {
+		for (int v = 1; v < listes.length; ++v)
+			debuts[v + 1] = debuts[v] + listes[v].length;
+		int[] plat = new int[debuts[listes.length]];
+		for (int v = 1; v < listes.length; ++v)
+			System.arraycopy(listes[v], 0, plat, debuts[v], listes[v].length);
+		return plat;
+	}
+
+	/**
+	 * @brief Construit la hirarchie d'un graphe
+	 * @param g Graphe sans arc ngatif
+	 * @return Hirarchie de contraction de g
+	 */
+	public static HierarchieContraction construire(IGraphe g) {
+		return new Contraction(g).construire();
+	}
+
+	/**
+	 * @return Nombre de noeuds du graphe
+	 */
+	public int getNbSommets() {
+		return nbSommets;
+	}
+
+	/**
+	 * @param v Noeud
+	 * @return Rang de contraction du noeud (0 pour le premier contract)
+	 */
+	public int getRang(int v) {
+		return rangs[v];
+	}
+
+	/**
+	 * @return Nombre de raccourcis conservs dans la hirarchie
+	 */
+	public int getNbRaccourcis() {
+		return montants.length + descendants.length - nbArcsOriginaux;
+	}
+
+	/**
+	 * @brief Plus court chemin par recherche bidirectionnelle montante. Chaque
+	 * recherche s'arrte ds que sa cl minimale atteint la meilleure distance
+	 * trouve : le sommet du plus court chemin est atteint par les deux.
+	 * @param noeudD Noeud de dpart
+	 * @param noeudA Noeud d'arrive
+	 * @param resultat[out] Chemin du graphe original (raccourcis dplis) et distance
+	 * @return Distance la plus courte
+	 * @throws NoPathEx Aucun chemin entre noeudD et noeudA
+	 */
+	public int pc(int noeudD, int noeudA, ResultatPCC resultat) throws NoPathEx {
+		try (EspaceTravail espace = EspaceTravail.acquerir()) {
+			return pc(noeudD, noeudA, resultat, espace);
+		}
+	}
+
+	/**
+	 * @brief Comme pc(noeudD, noeudA, resultat), dans un espace de travail
+	 * fourni. Le lien de chaque noeud atteint est l'arc par lequel il l'a t ;
+	 * les noeuds fixs sont marqus, ce qui alimente les mesures de la requte.
+	 * @param espace Espace de travail, prpar par la requte
+	 */
+	public int pc(int noeudD, int noeudA, ResultatPCC resultat, EspaceTravail espace) throws NoPathEx {
+		espace.preparer(nbSommets);
+		EspaceTravail.Recherche av = espace.avant(), ar = espace.arriere();
+		TasIndexe tasAv = av.getTas(), tasAr = ar.getTas();
+		av.atteindre(noeudD, 0, Contraction.ORIGINAL);
+		ar.atteindre(noeudA, 0, Contraction.ORIGINAL);
+		tasAv.insererOuDiminuer(noeudD, 0);
+		tasAr.insererOuDiminuer(noeudA, 0);
+		int meilleure = noeudD == noeudA ? 0 : IGraphe.INFINI;
+		int jonction = noeudD;
+
+		while (true) {
+			boolean avant = !tasAv.estVide() && tasAv.cleMin() < meilleure;
+			boolean arriere = !tasAr.estVide() && tasAr.cleMin() < meilleure;
+			if (!avant && !arriere)
+				break;
+			if (avant && arriere)
+				avant = tasAv.cleMin() <= tasAr.cleMin();
+			if (avant) {
+				int v = tasAv.extraireMin();
+				av.marquer(v);
+				for (int k = debutsMontants[v]; k < debutsMontants[v + 1]; ++k) {
+					av.compterArc();
+					int arc = montants[k];
+					int x = cibles[arc];
+					int d = av.distance(v) + poids[arc];
+					if (d < av.distance(x)) {
+						av.atteindre(x, d, arc);
+						tasAv.insererOuDiminuer(x, d);
+					}
+					if (ar.distance(x) != IGraphe.INFINI && (long) av.distance(x) + ar.distance(x) < meilleure) {
+						meilleure = av.distance(x) + ar.distance(x);
+						jonction = x;
+					}
+				}
+			}
+			else {
+				int v = tasAr.extraireMin();
+				ar.marquer(v);
+				for (int k = debutsDescendants[v]; k < debutsDescendants[v + 1]; ++k) {
+					ar.compterArc();
+					int arc = descendants[k];
+					int u = sources[arc];
+					int d = ar.distance(v) + poids[arc];
+					if (d < ar.distance(u)) {
+						ar.atteindre(u, d, arc);
+						tasAr.insererOuDiminuer(u, d);
+					}
+					if (av.distance(u) != IGraphe.INFINI && (long) av.distance(u) + ar.distance(u) < meilleure) {
+						meilleure = av.distance(u) + ar.distance(u);
+						jonction = u;
+					}
+				}
+			}
+		}
+		if (meilleure == IGraphe.INFINI)
+			throw new NoPathEx();
+		espace.commencerChemin();
+
+		// Arcs de la hirarchie, du dpart  l'arrive
+		int nbArcs = 0;
+		for (int v = jonction; v != noeudD; v = sources[av.lien(v)])
+			++nbArcs;
+		int debutArriere = nbArcs;
+		for (int v = jonction; v != noeudA; v = cibles[ar.lien(v)])
+			++nbArcs;
+		int[] arcs = new int[nbArcs];
+		int i = debutArriere;
+		for (int v = jonction; v != noeudD; v = sources[av.lien(v)])
+			arcs[--i] = av.lien(v);
+		i = debutArriere;
+		for (int v = jonction; v != noeudA; v = cibles[ar.lien(v)])
+			arcs[i++] = ar.lien(v);
+
+		deplier(noeudD, arcs, meilleure, resultat);
+		return meilleure;
+	}
+
+	/**
+	 * @brief Remplace chaque raccourci par les deux arcs qu'il reprsente
+	 * @param resultat[out] Noeuds du chemin dans le graphe original, et distance
+	 */
+	private void deplier(int noeudD, int[] arcs, int distance, ResultatPCC resultat) {
+		int[] chemin = new int[arcs.length + 1];
+		int[] pile = new int[64];		// Raccourcis restant  dplier
+		int n = 0;
+		chemin[n++] = noeudD;
+		for (int arc : arcs) {
+			int sommet = 0;
+			pile[sommet++] = arc;
+			while (sommet > 0) {
+				int a = pile[--sommet];
+				if (moities1[a] == Contraction.ORIGINAL) {
+					if (n == chemin.length)
+						chemin = Arrays.copyOf(chemin, 2 * chemin.length);
+					chemin[n++] = cibles[a];
+				}
+				else {
+					if (sommet + 2 > pile.length)
+						pile = Arrays.copyOf(pile, 2 * pile.length);
+					// La premire moiti est dpile en premier
+					pile[sommet++] = moities2[a];
+					pile[sommet++] = moities1[a];
+				}
+			}
+		}
+		resultat.remplir(chemin, n, distance);
+	}
+}
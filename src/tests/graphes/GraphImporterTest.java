@@ -2,11 +2,33 @@ package tests.graphes;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import graphes.IGraphe;
 import graphes.ihm.Arc;
+import graphes.ihm.Corpus;
+import graphes.ihm.FormatBinaire;
+import graphes.ihm.GenerateurGraphes;
+import graphes.ihm.GenerateurGraphes.Famille;
 import graphes.ihm.GrapheImporter;
+import graphes.types.GrapheCSR;
+import graphes.types.GrapheHorsTas;
+import graphes.types.GrapheMA;
+import pcc.Bellman;
+import pcc.BellmanFord;
+import pcc.ClassificationGraphe;
+import pcc.Dijkstra;
 
 class GraphImporterTest {
 
@@ -22,5 +44,126 @@ class GraphImporterTest {
 
 	}
 	
+	@Test
+	void testImporter() throws IOException {
+		Arc df = new Arc();
+		IGraphe la = GrapheImporter.importer("graphes/ac/g-10-1.txt", df);
+		assertEquals(10, la.getNbSommets());
+		assertEquals(5, df.getSource());
+		assertEquals(7, df.getDestination());
+		assertTrue(la.aArc(2, 1));
+		assertEquals(5, la.getValuation(2, 1));
+		
+		// Le mme fichier, import dans chaque type de graphe
+		Arc dfCSR = new Arc();
+		IGraphe csr = GrapheImporter.importer("graphes/ac/g-10-1.txt", dfCSR, GrapheCSR::new);
+		IGraphe ma = GrapheImporter.importer("graphes/ac/g-10-1.txt", new Arc(), GrapheMA::new);
+		assertEquals(df.toString(), dfCSR.toString());
+		for (int i : la)
+			for (int j : la) {
+				assertEquals(la.getValuation(i, j), csr.getValuation(i, j));
+				assertEquals(la.getValuation(i, j), ma.getValuation(i, j));
+			}
+	}
+	
+	@Test
+	void testImporterReponse() throws IOException {
+		List<Integer> chemin = new ArrayList<>();
+		assertEquals(8, GrapheImporter.importerReponse("reponses/sc/r-10-1.txt", chemin));
+		assertEquals(List.of(4, 8, 10), chemin);
+		// Rponse sans chemin : distance infinie, chemin vide
+		chemin.clear();
+		assertEquals(IGraphe.INFINI, GrapheImporter.importerReponse(new File("reponses/sc/r-10-10.txt"), chemin));
+		assertTrue(chemin.isEmpty());
+	}
+	
+	@Test
+	void testFormatBinaire() throws IOException {
+		for (String repertoire : new String[] {"ac", "sc"}) {
+			File texte = new File("graphes/" + repertoire + "/g-100-1.txt");
+			File binaire = File.createTempFile("g-100-1", ".bin");
+			try {
+				FormatBinaire.convertir(texte, binaire);
+				Arc df = new Arc(), dfBinaire = new Arc();
+				IGraphe la = GrapheImporter.importer(texte.getPath(), df);
+				try (GrapheHorsTas g = GrapheImporter.importerBinaire(binaire, dfBinaire)) {
+					// Les drapeaux de l'en-tte suffisent  vrifier le graphe, sans le classer
+					assertTrue(new Dijkstra().estOK(g));
+					assertEquals(repertoire.equals("sc"), new Bellman().estOK(g));
+					assertNull(g.memoriser(ClassificationGraphe.class, h -> null));
+					assertEquals(df.toString(), dfBinaire.toString());
+					assertEquals(la.getNbSommets(), g.getNbSommets());
+					for (int i : la)
+						for (int j : la)
+							assertEquals(la.getValuation(i, j), g.getValuation(i, j));
+				}
+				int drapeaux = FormatBinaire.lireDrapeaux(binaire);
+				assertEquals(repertoire.equals("sc"), (drapeaux & FormatBinaire.SANS_CIRCUIT) != 0);
+				assertEquals(0, drapeaux & FormatBinaire.ARCS_NEGATIFS);
+			}
+			finally {
+				binaire.delete();
+			}
+		}
+		// Un fichier texte n'est pas un graphe binaire
+		assertThrows(IllegalArgumentException.class,
+				() -> GrapheImporter.importerBinaire(new File("graphes/ac/g-10-1.txt"), new Arc()));
+	}
+	
+	@Test
+	void testGenerateur() throws IOException {
+		Path racine = Files.createTempDirectory("corpus");
+		ForkJoinPool un = new ForkJoinPool(1), quatre = new ForkJoinPool(4);
+		try {
+			for (Famille famille : Famille.values()) {
+				String repertoire = famille.name().toLowerCase();
+				File graphe = racine.resolve("graphes/" + repertoire + "/g-2000-1.txt").toFile();
+				File reponse = racine.resolve("reponses/" + repertoire + "/r-2000-1.txt").toFile();
+				graphe.getParentFile().mkdirs();
+				reponse.getParentFile().mkdirs();
+				// 200 arcs par noeud : le graphe est rparti sur plusieurs blocs
+				GenerateurGraphes generateur = new GenerateurGraphes(famille, 2000, 400000, 7, 10);
+				generateur.ecrire(graphe, quatre);
+				GenerateurGraphes.ecrireReponse(graphe, reponse);
+
+				// Le fichier ne dpend pas du nombre de fils
+				File seul = File.createTempFile("g-2000-1", ".txt");
+				try {
+					generateur.ecrire(seul, un);
+					assertEquals(-1L, Files.mismatch(graphe.toPath(), seul.toPath()));
+				}
+				finally {
+					seul.delete();
+				}
 
+				Arc df = new Arc();
+				IGraphe g = GrapheImporter.importer(graphe, df, GrapheCSR::new);
+				ClassificationGraphe c = new ClassificationGraphe(g);
+				assertEquals(2000, g.getNbSommets());
+				assertEquals(1, df.getSource());
+				assertEquals(generateur.destination(), df.getDestination());
+				assertEquals(famille == Famille.DAG_COUCHES, c.estSansCircuit());
+				assertEquals(famille == Famille.NEGATIFS, c.aArcNegatif());
+				if (famille == Famille.GRILLE)
+					// 44 lignes de 45 noeuds et une de 20 : 44 * 44 + 19 artes horizontales, 1955 verticales
+					assertEquals(2 * (44 * 44 + 19 + 1955), c.getNbArcs());
+				else if (famille != Famille.DAG_COUCHES)
+					assertEquals(400000, c.getNbArcs());
+				assertTrue(new BellmanFord().estOK(g));
+			}
+			// Les rponses de rfrence sont retrouves par un autre algorithme
+			Corpus corpus = new Corpus(racine.resolve("graphes").toFile(), racine.resolve("reponses").toFile(), GrapheCSR::new);
+			List<Corpus.Cas> cas = corpus.decouvrir();
+			assertEquals(Famille.values().length, cas.size());
+			for (Corpus.Resultat r : corpus.verifier(cas, new BellmanFord(), quatre, 0))
+				assertTrue(r.estOK(), r.getCas().getGraphe() + " : " + r.getMessage());
+		}
+		finally {
+			un.shutdown();
+			quatre.shutdown();
+			try (Stream<Path> fichiers = Files.walk(racine)) {
+				fichiers.sorted(Comparator.reverseOrder()).forEach(f -> f.toFile().delete());
+			}
+		}
+	}
 }
@@ -1,9 +1,16 @@
 package tests.graphes;
 
 import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
 import org.junit.jupiter.api.Test;
 
 import graphes.IGraphe;
+import graphes.types.GrapheCSR;
+import graphes.types.GrapheHorsTas;
 import graphes.types.GrapheLA;
 import graphes.types.GrapheMA;
 
@@ -20,7 +27,116 @@ class IGrapheTest {
 		tester(g);
 	}
 	
+	@Test
+	void testCSR() {
+		GrapheLA la = new GrapheLA(nbNoeuds);
+		remplir(la);
+		IGraphe g = la.figer();
+		verifier(g);
+		assertThrows(UnsupportedOperationException.class, () -> g.ajouterArc(1, 1, 2));
+		
+		// Construction directe depuis une liste d'arcs non trie
+		int[] sources = {4, 1, 4, 1, 4};
+		int[] valuations = {5, 1, 3, 2, 3};
+		int[] cibles = {3, 4, 5, 3, 2};
+		GrapheCSR csr = new GrapheCSR(5, sources, valuations, cibles, sources.length);
+		assertEquals(5, csr.getNbArcs());
+		assertEquals("1 => 3(2) 4(1)\n2 =>\n3 =>\n4 => 2(3) 3(5) 5(3)\n5 =>\n", csr.toString());
+		assertEquals(csr.debutSuccesseurs(4) + 3, csr.finSuccesseurs(4));
+		assertThrows(IllegalArgumentException.class, () -> new GrapheCSR(5, sources, valuations, new int[] {3, 4, 6, 3, 2}, 5));
+	}
+	
+	@Test
+	void testHorsTas() {
+		GrapheLA la = new GrapheLA(nbNoeuds);
+		remplir(la);
+		int[] sources = new int[15], valuations = new int[15], cibles = new int[15];
+		int[] k = {0};
+		for (int i : la)
+			la.parcourirSuccesseurs(i, (a, v, b) -> {
+				sources[k[0]] = a;
+				valuations[k[0]] = v;
+				cibles[k[0]++] = b;
+			});
+		GrapheHorsTas g = new GrapheHorsTas(nbNoeuds, sources, valuations, cibles, k[0]);
+		verifier(g);
+		assertEquals(15, g.getNbArcs());
+		assertEquals(g.debutSuccesseurs(4) + 3, g.finSuccesseurs(4));
+		assertThrows(UnsupportedOperationException.class, () -> g.ajouterArc(1, 1, 2));
+		// Mmes tranches, et mme inverse, que le graphe CSR sur le tas
+		GrapheCSR csr = new GrapheCSR(nbNoeuds, sources, valuations, cibles, k[0]);
+		assertEquals(csr.toString(), g.toString());
+		assertEquals(csr.getInverse().toString(), g.getInverse().toString());
+		// Le graphe et son inverse sont hors tas
+		assertEquals(2 * 4 * (nbNoeuds + 1 + 2 * 15), g.getTailleHorsTas());
+
+		g.close();
+		assertTrue(g.estFerme());
+		assertEquals(0, g.getTailleHorsTas());
+		assertThrows(IllegalStateException.class, () -> g.getValuation(4, 5));
+		assertThrows(IllegalStateException.class, () -> g.parcourirPredecesseurs(8, (a, v, b) -> {}));
+		g.close();
+	}
+	
+	@Test
+	void testMemoriser() {
+		GrapheLA g = new GrapheLA(nbNoeuds);
+		remplir(g);
+		int[] nbCalculs = {0};
+		Function<IGraphe, Integer> degreTotal = h -> {
+			++nbCalculs[0];
+			int total = 0;
+			for (int i : h)
+				total += h.degreSortant(i);
+			return total;
+		};
+		assertEquals(15, g.memoriser("degre", degreTotal).intValue());
+		assertEquals(15, g.memoriser("degre", degreTotal).intValue());
+		assertEquals(1, nbCalculs[0]);
+		// Toute modification invalide les proprits mmorises
+		g.ajouterArc(6, 1, 1);
+		assertEquals(16, g.memoriser("degre", degreTotal).intValue());
+		assertEquals(2, nbCalculs[0]);
+	}
+	
+	@Test
+	void testArcsParalleles() {
+		// Arcs parallles 1 -> 2 : le plus lger compte, mais tous sont parcourus
+		GrapheLA la = new GrapheLA(3);
+		la.ajouterArc(1, 5, 2);
+		la.ajouterArc(1, 2, 2);
+		la.ajouterArc(2, 1, 3);
+		la.ajouterArc(1, 4, 2);
+		int[] sources = {1, 1, 2, 1}, valuations = {5, 2, 1, 4}, cibles = {2, 2, 3, 2};
+		for (IGraphe g : new IGraphe[] {la, la.figer(), new GrapheHorsTas(3, sources, valuations, cibles, 4)}) {
+			assertEquals(2, g.getValuation(1, 2));
+			assertEquals(IGraphe.INFINI, g.getValuation(2, 1));
+			List<Integer> predecesseurs = new ArrayList<>();
+			g.parcourirPredecesseurs(2, (a, v, b) -> predecesseurs.add(v));
+			predecesseurs.sort(null);
+			assertEquals(List.of(2, 4, 5), predecesseurs);
+			assertEquals(3, g.distance(new ArrayList<>(List.of(1, 2, 3))));
+			// Un chemin qui ne suit pas les arcs n'a pas de distance
+			assertEquals(IGraphe.INFINI, g.distance(new ArrayList<>(List.of(1, 3))));
+		}
+		// L'implmentation par dfaut ne voit que le plus lger
+		List<Integer> predecesseurs = new ArrayList<>();
+		IGraphe g = la;
+		new IGraphe() {
+			public int getNbSommets() { return g.getNbSommets(); }
+			public void ajouterArc(int a, int v, int b) { throw new UnsupportedOperationException(); }
+			public int getValuation(int i, int j) { return g.getValuation(i, j); }
+			public boolean aArc(int i, int j) { return g.aArc(i, j); }
+		}.parcourirPredecesseurs(2, (a, v, b) -> predecesseurs.add(v));
+		assertEquals(List.of(2), predecesseurs);
+	}
+	
 	void tester(IGraphe g) {
+		remplir(g);
+		verifier(g);
+	}
+	
+	void remplir(IGraphe g) {
 		assertEquals(nbNoeuds, g.getNbSommets());
 		g.ajouterArc(1,2,3);
 		g.ajouterArc(1,1,4);
@@ -37,7 +153,9 @@ class IGrapheTest {
 		g.ajouterArc(8,4,6);
 		g.ajouterArc(8,2,7);
 		g.ajouterArc(9,10,8);
-		
+	}
+	
+	void verifier(IGraphe g) {
 		assertTrue(g.aArc(1,4));
 		assertTrue(g.aArc(2,7));
 		assertTrue(g.aArc(5,7));
@@ -64,5 +182,16 @@ class IGrapheTest {
 				+ "8 => 6(4) 7(2)\n"
 				+ "9 => 8(10)\n"
 		 );
+		
+		assertEquals(3, g.degreSortant(4));
+		assertEquals(0, g.degreSortant(6));
+		
+		StringBuilder successeurs = new StringBuilder();
+		g.parcourirSuccesseurs(5, (a, v, b) -> successeurs.append(a + ">" + b + "(" + v + ") "));
+		assertEquals("5>3(1) 5>7(3) 5>8(7) ", successeurs.toString());
+		
+		StringBuilder predecesseurs = new StringBuilder();
+		g.parcourirPredecesseurs(8, (a, v, b) -> predecesseurs.append(a + ">" + b + "(" + v + ") "));
+		assertEquals("3>8(2) 5>8(7) 9>8(10) ", predecesseurs.toString());
 	}
 }
@@ -0,0 +1,214 @@
+package tests.pcc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import exceptions.ArcNgatifEx;
+import exceptions.NoPathEx;
+import graphes.ArbrePCC;
+import graphes.IGraphe;
+import graphes.IPCCArbre;
+import graphes.ResultatPCC;
+import graphes.ihm.Arc;
+import graphes.ihm.GrapheImporter;
+import graphes.types.GrapheCSR;
+import graphes.types.GrapheLA;
+import graphes.types.GrapheMA;
+import pcc.ArbreDynamique;
+import pcc.Bellman;
+import pcc.BellmanFord;
+import pcc.CacheArbres;
+import pcc.DeltaStepping;
+import pcc.DijkstraTas;
+
+class ArbrePCCTest {
+
+	@Test
+	void testArbre() throws IOException {
+		IPCCArbre[] algos = {new DijkstraTas(), new Bellman(), new DeltaStepping(), new BellmanFord()};
+		ResultatPCC attendu = new ResultatPCC();
+		ResultatPCC obtenu = new ResultatPCC();
+		for (IPCCArbre algo : algos) {
+			IGraphe g = GrapheImporter.importer("graphes/sc/g-100-1.txt", new Arc());
+			ArbrePCC arbre = algo.arbre(g, 1);
+			assertEquals(1, arbre.getSource());
+			assertEquals(0, arbre.distanceVers(1));
+
+			// L'arbre doit donner les mmes rponses que des requtes spares
+			for (int cible : g) {
+				try {
+					int distance = algo.pc(g, 1, cible, attendu);
+					assertEquals(distance, arbre.distanceVers(cible));
+					assertEquals(distance, arbre.cheminVers(cible, obtenu));
+					List<Integer> chemin = new ArrayList<>();
+					obtenu.copierDans(chemin);
+					assertEquals(distance, g.distance(chemin));
+				}
+				catch (NoPathEx e) {
+					assertFalse(arbre.estAtteignable(cible));
+					assertThrows(NoPathEx.class, () -> arbre.cheminVers(cible, obtenu));
+				}
+			}
+		}
+	}
+
+	@Test
+	void testDeltaStepping() throws IOException {
+		IGraphe g = GrapheImporter.importer(new File("graphes/ac/g-100000-1.txt"), new Arc(), GrapheCSR::new);
+		ArbrePCC attendu = new DijkstraTas().arbre(g, 1);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			// Seaux troits, larges ou choisis selon le graphe : mmes distances que Dijkstra
+			for (int delta : new int[] {1, 0, 1000}) {
+				ArbrePCC arbre = new DeltaStepping(pool, delta).arbre(g, 1);
+				for (int v : g) {
+					assertEquals(attendu.distanceVers(v), arbre.distanceVers(v));
+					if (arbre.estAtteignable(v) && v != 1)
+						assertEquals(arbre.distanceVers(v),
+								arbre.distanceVers(arbre.getPredecesseurs()[v]) + g.getValuation(arbre.getPredecesseurs()[v], v));
+				}
+			}
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void testCache() throws IOException {
+		IGraphe g = GrapheImporter.importer("graphes/ac/g-100-1.txt", new Arc());
+		CacheArbres cache = new CacheArbres(new DijkstraTas(), 2);
+
+		ArbrePCC arbre = cache.arbre(g, 1);
+		assertSame(arbre, cache.arbre(g, 1));
+		cache.arbre(g, 2);
+		cache.arbre(g, 1);
+		cache.arbre(g, 3); // retire la source 2, la moins rcemment utilise
+		assertEquals(2, cache.taille());
+		assertSame(arbre, cache.arbre(g, 1));
+
+		// Toute modification du graphe invalide les arbres calculs
+		g.ajouterArc(1, 1, 100);
+		ArbrePCC nouveau = cache.arbre(g, 1);
+		assertNotSame(arbre, nouveau);
+		assertEquals(1, nouveau.distanceVers(100));
+	}
+
+	@Test
+	void testCacheConcurrent() throws Exception {
+		IGraphe g = GrapheImporter.importer("graphes/ac/g-100-1.txt", new Arc());
+		CountDownLatch commence = new CountDownLatch(1), libere = new CountDownLatch(1);
+		// Le calcul de l'arbre de la source 1 reste bloqu jusqu' libere
+		CacheArbres cache = new CacheArbres(new DijkstraTas() {
+			@Override
+			public void arbre(IGraphe h, int source, ArbrePCC arbre) {
+				if (source == 1) {
+					commence.countDown();
+					try {
+						libere.await();
+					} catch (InterruptedException e) {
+						throw new IllegalStateException(e);
+					}
+				}
+				super.arbre(h, source, arbre);
+			}
+		}, 4);
+		ArbrePCC deux = cache.arbre(g, 2);
+		ExecutorService fils = Executors.newFixedThreadPool(2);
+		try {
+			Future<ArbrePCC> un = fils.submit(() -> cache.arbre(g, 1));
+			Future<ArbrePCC> unBis = fils.submit(() -> { commence.await(); return cache.arbre(g, 1); });
+			assertTrue(commence.await(10, TimeUnit.SECONDS));
+			// Pendant ce calcul, les autres sources sont servies
+			assertSame(deux, cache.arbre(g, 2));
+			assertEquals(0, cache.arbre(g, 3).distanceVers(3));
+			assertFalse(un.isDone());
+			libere.countDown();
+			// Les deux requtes sur la source 1 partagent le mme calcul
+			assertSame(un.get(10, TimeUnit.SECONDS), unBis.get(10, TimeUnit.SECONDS));
+		}
+		finally {
+			libere.countDown();
+			fils.shutdown();
+		}
+	}
+
+	@Test
+	void testArbreDynamique() throws IOException {
+		GrapheLA g = (GrapheLA) GrapheImporter.importer(new File("graphes/ac/g-1000-1.txt"), new Arc(), GrapheLA::new);
+		Random alea = new Random(21);
+		ResultatPCC chemin = new ResultatPCC();
+		try (ArbreDynamique dynamique = new ArbreDynamique(g, 1)) {
+			for (int k = 0; k < 300; ++k) {
+				int a = 1 + alea.nextInt(g.getNbSommets()), b = 1 + alea.nextInt(g.getNbSommets());
+				g.ajouterArc(a, alea.nextInt(50), b);
+				comparer(g, dynamique, chemin);
+			}
+			// Un arc qui ne raccourcit aucun chemin ne rpare aucun noeud
+			int b = 2;
+			g.ajouterArc(1, dynamique.distanceVers(b) + 1, b);
+			assertEquals(0, dynamique.getNbNoeudsRepares());
+			// Un raccourci ne rpare que les noeuds dont la distance diminue
+			g.ajouterArc(1, 0, b);
+			assertTrue(dynamique.getNbNoeudsRepares() < g.getNbSommets());
+			comparer(g, dynamique, chemin);
+		}
+		// Ferm, l'arbre ne suit plus le graphe
+		ArbreDynamique ferme = new ArbreDynamique(g, 1);
+		ferme.close();
+		g.ajouterArc(1, 0, 3);
+		assertNotEquals(0, ferme.distanceVers(3));
+	}
+
+	@Test
+	void testArbreDynamiqueMA() {
+		int n = 60;
+		GrapheMA g = new GrapheMA(n);
+		Random alea = new Random(22);
+		for (int k = 0; k < 4 * n; ++k)
+			g.ajouterArc(1 + alea.nextInt(n), 1 + alea.nextInt(100), 1 + alea.nextInt(n));
+		ResultatPCC chemin = new ResultatPCC();
+		try (ArbreDynamique dynamique = new ArbreDynamique(g, 1)) {
+			// Valuations remplaces : diminutions, augmentations et suppressions
+			for (int k = 0; k < 500; ++k) {
+				int a = 1 + alea.nextInt(n), b = 1 + alea.nextInt(n);
+				int v = alea.nextInt(10) == 0 ? IGraphe.INFINI : alea.nextInt(100);
+				g.ajouterArc(a, v, b);
+				comparer(g, dynamique, chemin);
+			}
+			// Un arc ngatif invalide l'arbre tant qu'il reste dans le graphe
+			g.ajouterArc(2, -1, 3);
+			assertThrows(ArcNgatifEx.class, () -> dynamique.distanceVers(3));
+			g.ajouterArc(2, 1, 3);
+			comparer(g, dynamique, chemin);
+		}
+	}
+
+	private static void comparer(IGraphe g, ArbreDynamique dynamique, ResultatPCC chemin) {
+		ArbrePCC attendu = new DijkstraTas().arbre(g, dynamique.getSource());
+		for (int v : g) {
+			assertEquals(attendu.distanceVers(v), dynamique.distanceVers(v));
+			if (attendu.estAtteignable(v)) {
+				dynamique.cheminVers(v, chemin);
+				List<Integer> noeuds = new ArrayList<>();
+				chemin.copierDans(noeuds);
+				assertEquals(dynamique.getSource(), noeuds.get(0).intValue());
+				assertEquals(v, noeuds.get(noeuds.size() - 1).intValue());
+				assertEquals(attendu.distanceVers(v), g.distance(noeuds));
+			}
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package tests.pcc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import exceptions.CircuitAbsorbantEx;
+import exceptions.NoPathEx;
+import graphes.IGraphe;
+import graphes.ResultatPCC;
+import graphes.types.GrapheLA;
+import pcc.Bellman;
+import pcc.BellmanFord;
+
+class BellmanFordTest {
+
+	@Test
+	void testCircuitPositif() {
+		// Arcs ngatifs et circuit 2 -> 3 -> 2 positif : refus par Bellman, accept ici
+		IGraphe g = new GrapheLA(5);
+		g.ajouterArc(1, 4, 2);
+		g.ajouterArc(1, 1, 3);
+		g.ajouterArc(3, -2, 2);
+		g.ajouterArc(2, 3, 3);
+		g.ajouterArc(2, -1, 4);
+		BellmanFord algo = new BellmanFord();
+		ResultatPCC resultat = new ResultatPCC();
+
+		assertFalse(new Bellman().estOK(g));
+		assertTrue(algo.estOK(g));
+		assertEquals(-2, algo.pc(g, 1, 4, resultat));
+		assertEquals(4, resultat.getLongueur());
+		assertEquals(3, resultat.getNoeud(1));
+		assertThrows(NoPathEx.class, () -> algo.pc(g, 1, 5, resultat));
+	}
+
+	@Test
+	void testCircuitAbsorbant() {
+		IGraphe g = new GrapheLA(5);
+		g.ajouterArc(1, 1, 2);
+		g.ajouterArc(3, 2, 4);
+		g.ajouterArc(4, -3, 3);
+		g.ajouterArc(5, 1, 3);
+		BellmanFord algo = new BellmanFord();
+		ResultatPCC resultat = new ResultatPCC();
+
+		// Le circuit 3 -> 4 -> 3 est absorbant mais n'est pas atteignable depuis 1
+		assertFalse(algo.estOK(g));
+		assertEquals(1, algo.pc(g, 1, 2, resultat));
+		assertThrows(CircuitAbsorbantEx.class, () -> algo.pc(g, 5, 3, resultat));
+
+		// Il le devient
+		g.ajouterArc(2, 1, 3);
+		assertThrows(CircuitAbsorbantEx.class, () -> algo.pc(g, 1, 2, resultat));
+	}
+}
@@ -0,0 +1,98 @@
+package tests.pcc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import exceptions.CircuitAbsorbantEx;
+import graphes.ArbrePCC;
+import graphes.IGraphe;
+import graphes.ResultatPCC;
+import graphes.ihm.Arc;
+import graphes.ihm.GrapheImporter;
+import graphes.types.GrapheLA;
+import graphes.types.GrapheMA;
+import pcc.DijkstraTas;
+import pcc.FloydWarshall;
+import pcc.Johnson;
+import pcc.MatriceDistances;
+
+class FloydWarshallTest {
+
+	@Test
+	void testArcsNegatifs() {
+		// Arcs ngatifs et circuits positifs : w + p(a) - p(b)
+		Random alea = new Random(5);
+		int n = 150;
+		int[] potentiels = new int[n + 1];
+		for (int i = 1; i <= n; ++i)
+			potentiels[i] = alea.nextInt(50);
+		IGraphe la = new GrapheLA(n);
+		IGraphe ma = new GrapheMA(n);
+		for (int k = 0; k < 900; ++k) {
+			int a = 1 + alea.nextInt(n), b = 1 + alea.nextInt(n);
+			if (a != b && ma.getValuation(a, b) == IGraphe.INFINI) {
+				int v = 1 + alea.nextInt(20) + potentiels[a] - potentiels[b];
+				la.ajouterArc(a, v, b);
+				ma.ajouterArc(a, v, b);
+			}
+		}
+		MatriceDistances attendu = new Johnson().calculer(la);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			// Blocs ne divisant pas n, avec et sans noeuds suivants, depuis MA et LA
+			MatriceDistances[] resultats = {
+					new FloydWarshall(pool, 16, false).calculer(ma),
+					new FloydWarshall(pool, 7, true).calculer(ma),
+					new FloydWarshall(pool, 64, false).calculer(la)};
+			ResultatPCC resultat = new ResultatPCC();
+			for (MatriceDistances obtenu : resultats)
+				for (int i = 1; i <= n; ++i)
+					for (int j = 1; j <= n; ++j) {
+						assertEquals(attendu.distance(i, j), obtenu.distance(i, j));
+						if (obtenu.aSuivants() && i != j && obtenu.distance(i, j) != IGraphe.INFINI) {
+							obtenu.chemin(i, j, resultat);
+							List<Integer> chemin = new ArrayList<>();
+							resultat.copierDans(chemin);
+							assertEquals(obtenu.distance(i, j), ma.distance(chemin));
+						}
+					}
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void testGrapheMA() throws IOException {
+		IGraphe g = GrapheImporter.importer(new File("graphes/ac/g-1000-1.txt"), new Arc(), GrapheMA::new);
+		MatriceDistances matrice = new FloydWarshall().calculer(g);
+		DijkstraTas dijkstra = new DijkstraTas();
+		for (int source : new int[] {1, 17, 500, 1000}) {
+			ArbrePCC arbre = dijkstra.arbre(g, source);
+			for (int v : g)
+				assertEquals(arbre.distanceVers(v), matrice.distance(source, v));
+		}
+	}
+
+	@Test
+	void testCircuitAbsorbant() {
+		GrapheMA g = new GrapheMA(70);
+		g.ajouterArc(1, 2, 69);
+		g.ajouterArc(69, -1, 70);
+		g.ajouterArc(70, -2, 1);
+		assertThrows(CircuitAbsorbantEx.class, () -> new FloydWarshall().calculer(g));
+		assertThrows(CircuitAbsorbantEx.class, () -> new FloydWarshall(ForkJoinPool.commonPool(), 8, true).calculer(g));
+
+		GrapheMA boucle = new GrapheMA(3);
+		boucle.ajouterArc(2, -1, 2);
+		assertThrows(CircuitAbsorbantEx.class, () -> new FloydWarshall().calculer(boucle));
+	}
+}
@@ -0,0 +1,80 @@
+package tests.pcc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import exceptions.CircuitAbsorbantEx;
+import graphes.ArbrePCC;
+import graphes.IGraphe;
+import graphes.ResultatPCC;
+import graphes.types.GrapheLA;
+import pcc.BellmanFord;
+import pcc.Johnson;
+import pcc.MatriceDistances;
+
+class JohnsonTest {
+
+	/**
+	 * @return Graphe alatoire avec arcs ngatifs et circuits, mais sans circuit absorbant
+	 */
+	private static IGraphe grapheAleatoire(int n, int nbArcs, long graine) {
+		Random alea = new Random(graine);
+		// Valuation w + p(a) - p(b) : la somme sur un circuit reste celle des w, positive
+		int[] potentiels = new int[n + 1];
+		for (int i = 1; i <= n; ++i)
+			potentiels[i] = alea.nextInt(50);
+		IGraphe g = new GrapheLA(n);
+		for (int k = 0; k < nbArcs; ++k) {
+			int a = 1 + alea.nextInt(n), b = 1 + alea.nextInt(n);
+			if (a != b && g.getValuation(a, b) == IGraphe.INFINI)
+				g.ajouterArc(a, 1 + alea.nextInt(20) + potentiels[a] - potentiels[b], b);
+		}
+		return g;
+	}
+
+	@Test
+	void testToutesPaires() {
+		IGraphe g = grapheAleatoire(200, 1200, 11);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			MatriceDistances matrice = new Johnson(pool, true).calculer(g);
+			BellmanFord bellmanFord = new BellmanFord();
+			ResultatPCC resultat = new ResultatPCC();
+			for (int u : g) {
+				ArbrePCC arbre = bellmanFord.arbre(g, u);
+				for (int v : g) {
+					assertEquals(arbre.distanceVers(v), matrice.distance(u, v));
+					if (u != v && arbre.estAtteignable(v)) {
+						matrice.chemin(u, v, resultat);
+						List<Integer> chemin = new ArrayList<>();
+						resultat.copierDans(chemin);
+						assertEquals(matrice.distance(u, v), g.distance(chemin));
+					}
+				}
+			}
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		// Sans noeuds suivants, seules les distances sont disponibles
+		MatriceDistances distances = new Johnson(ForkJoinPool.commonPool(), false).calculer(g);
+		assertFalse(distances.aSuivants());
+		assertThrows(IllegalStateException.class, () -> distances.suivant(1, 2));
+	}
+
+	@Test
+	void testCircuitAbsorbant() {
+		IGraphe g = new GrapheLA(3);
+		g.ajouterArc(1, 2, 2);
+		g.ajouterArc(2, -3, 3);
+		g.ajouterArc(3, 0, 2);
+		assertThrows(CircuitAbsorbantEx.class, () -> new Johnson().calculer(g));
+	}
+}
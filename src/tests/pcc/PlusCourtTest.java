@@ -2,16 +2,49 @@ package tests.pcc;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.jupiter.api.Test;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import exceptions.CircuitAbsorbantEx;
+import exceptions.NoPathEx;
+
+import graphes.ArbrePCC;
+import graphes.IGraphe;
 import graphes.IPCC;
+import graphes.IPCCPrimitif;
+import graphes.IVisiteurArc;
+import graphes.ResultatPCC;
+import graphes.ihm.Arc;
+import graphes.ihm.Corpus;
 import graphes.ihm.GrapheImporter;
+import graphes.types.GrapheCSR;
+import graphes.types.GrapheHorsTas;
+import graphes.types.GrapheLA;
+import pcc.ALT;
 import pcc.Bellman;
+import pcc.BellmanFord;
+import pcc.CompteursPCC;
+import pcc.DeltaStepping;
 import pcc.Dijkstra;
+import pcc.DijkstraBidirectionnel;
+import pcc.DijkstraTas;
+import pcc.EspaceTravail;
+import pcc.MesureRequete;
+import pcc.MesuresJFR;
+import pcc.PCCAutomatique;
+import pcc.ch.DijkstraCH;
 
 class PlusCourtTest {
 	private static final String REPERTOIRE_ENONCE = "graphes/";
@@ -60,6 +93,178 @@ class PlusCourtTest {
 		}
 	}
 	
+	@Test
+	void testDijkstraTas() throws NumberFormatException, IOException {
+		IPCC algo = new DijkstraTas();
+		for (String fichier : listeFichiers) {
+			assertTrue(GrapheImporter.comparer(REPERTOIRE_ENONCE+REPERTOIRE_DIJKSTRA + fichier, REPERTOIRE_REPONSE+REPERTOIRE_DIJKSTRA + fichier.replace('g', 'r'), algo));	
+		}
+	}
+	
+	@Test
+	void testDijkstraBidirectionnel() throws NumberFormatException, IOException {
+		IPCC algo = new DijkstraBidirectionnel();
+		for (String fichier : listeFichiers) {
+			assertTrue(GrapheImporter.comparer(REPERTOIRE_ENONCE+REPERTOIRE_DIJKSTRA + fichier, REPERTOIRE_REPONSE+REPERTOIRE_DIJKSTRA + fichier.replace('g', 'r'), algo));	
+		}
+		// Les deux recherches fixent moins de noeuds qu'une seule (noeuds fixs mesurs par requte)
+		Arc df = new Arc();
+		IGraphe g = GrapheImporter.importer(new File(REPERTOIRE_ENONCE+REPERTOIRE_DIJKSTRA + "g-100000-1.txt"), df, GrapheCSR::new);
+		long[] fixes = new long[2];
+		DijkstraTas dijkstra = new DijkstraTas();
+		DijkstraBidirectionnel bidirectionnel = new DijkstraBidirectionnel();
+		dijkstra.setMesures(mesure -> fixes[0] = mesure.getNbNoeudsFixes());
+		bidirectionnel.setMesures(mesure -> fixes[1] = mesure.getNbNoeudsFixes());
+		ResultatPCC resultat = new ResultatPCC();
+		assertEquals(dijkstra.pc(g, df.getSource(), df.getDestination(), resultat),
+				bidirectionnel.pc(g, df.getSource(), df.getDestination(), resultat));
+		assertTrue(fixes[1] > 0 && fixes[1] < fixes[0]);
+	}
+	
+	@Test
+	void testALT() throws NumberFormatException, IOException {
+		IPCC algo = new ALT();
+		for (String fichier : listeFichiers) {
+			assertTrue(GrapheImporter.comparer(REPERTOIRE_ENONCE+REPERTOIRE_DIJKSTRA + fichier, REPERTOIRE_REPONSE+REPERTOIRE_DIJKSTRA + fichier.replace('g', 'r'), algo));	
+		}
+	}
+	
+	@Test
+	void testALTNoeudsFixes() throws IOException {
+		// Les repres doivent rduire la recherche par rapport  Dijkstra (0 repre)
+		ResultatPCC resultat = new ResultatPCC();
+		long[] fixes = new long[2];
+		ALT dijkstra = new ALT(0);
+		ALT alt = new ALT();
+		dijkstra.setMesures(mesure -> fixes[0] = mesure.getNbNoeudsFixes());
+		alt.setMesures(mesure -> fixes[1] = mesure.getNbNoeudsFixes());
+		List<IGraphe> graphes = new ArrayList<>();
+		for (String fichier : new String[] {"g-10000-1.txt", "g-100000-1.txt"}) {
+			Arc df = new Arc();
+			IGraphe g = GrapheImporter.importer(new File(REPERTOIRE_ENONCE+REPERTOIRE_DIJKSTRA + fichier), df, GrapheCSR::new);
+			graphes.add(g);
+			assertEquals(dijkstra.pc(g, df.getSource(), df.getDestination(), resultat),
+					alt.pc(g, df.getSource(), df.getDestination(), resultat));
+			assertTrue(fixes[1] < fixes[0]);
+		}
+		// Le mme ALT a laiss ses repres sur chacun des graphes
+		for (IGraphe g : graphes)
+			assertNotNull(g.memoriser(List.of(ALT.class, 16), h -> null));
+	}
+	
+	@Test
+	void testPCCAutomatique() throws NumberFormatException, IOException {
+		IPCC algo = new PCCAutomatique();
+		for (String repertoire : new String[] {REPERTOIRE_DIJKSTRA, REPERTOIRE_BELLMAN})
+			for (String fichier : listeFichiers) {
+				assertTrue(GrapheImporter.comparer(REPERTOIRE_ENONCE+repertoire + fichier, REPERTOIRE_REPONSE+repertoire + fichier.replace('g', 'r'), algo));	
+			}
+	}
+	
+	@Test
+	void testPCCAutomatiqueChoix() {
+		PCCAutomatique algo = new PCCAutomatique();
+		ResultatPCC resultat = new ResultatPCC();
+		GrapheLA g = new GrapheLA(4);
+		g.ajouterArc(1, 2, 2);
+		g.ajouterArc(2, 2, 3);
+		g.ajouterArc(1, 5, 3);
+		assertTrue(algo.choisir(g) instanceof Bellman);
+		assertEquals(4, algo.pc(g, 1, 3, resultat));
+		assertThrows(NoPathEx.class, () -> algo.pc(g, 3, 1, resultat));
+		
+		// Un circuit : Dijkstra, la classification suit la version du graphe
+		g.ajouterArc(3, 1, 1);
+		assertTrue(algo.choisir(g) instanceof DijkstraTas);
+		assertEquals(3, algo.pc(g, 3, 2, resultat));
+		
+		// Un arc ngatif dans un circuit : Bellman-Ford
+		g.ajouterArc(2, -1, 3);
+		assertTrue(algo.choisir(g) instanceof BellmanFord);
+		assertEquals(1, algo.pc(g, 1, 3, resultat));
+		assertTrue(algo.estOK(g));
+		g.ajouterArc(3, -2, 1);
+		assertFalse(algo.estOK(g));
+		assertThrows(CircuitAbsorbantEx.class, () -> algo.pc(g, 1, 3, resultat));
+		// Le circuit n'est pas atteignable depuis 4
+		assertThrows(NoPathEx.class, () -> algo.pc(g, 4, 1, resultat));
+	}
+	
+	@Test
+	void testEstOKMemorise() {
+		// Graphe qui compte les parcours de ses arcs
+		int[] nbParcours = {0};
+		GrapheLA g = new GrapheLA(4) {
+			@Override
+			public void parcourirSuccesseurs(int a, IVisiteurArc visiteur) {
+				++nbParcours[0];
+				super.parcourirSuccesseurs(a, visiteur);
+			}
+		};
+		g.ajouterArc(1, 2, 2);
+		g.ajouterArc(2, 3, 3);
+		g.ajouterArc(3, 1, 4);
+		assertTrue(new Dijkstra().estOK(g));
+		assertTrue(new Bellman().estOK(g));
+		int apresClassification = nbParcours[0];
+		// Les vrifications suivantes ne parcourent plus le graphe
+		assertTrue(new DijkstraTas().estOK(g));
+		assertTrue(new Bellman().estOK(g));
+		assertEquals(apresClassification, nbParcours[0]);
+		
+		g.ajouterArc(4, -1, 1);
+		assertFalse(new Dijkstra().estOK(g));
+		assertFalse(new Bellman().estOK(g));
+		assertTrue(nbParcours[0] > apresClassification);
+	}
+	
+	@Test
+	void testHorsTas() throws IOException {
+		// Chaque moteur donne les mmes distances sur un graphe hors tas que sur un GrapheCSR
+		ResultatPCC resultat = new ResultatPCC();
+		for (String repertoire : new String[] {REPERTOIRE_DIJKSTRA, REPERTOIRE_BELLMAN}) {
+			File fichier = new File(REPERTOIRE_ENONCE + repertoire + "g-10000-1.txt");
+			Arc df = new Arc();
+			IGraphe csr = GrapheImporter.importer(fichier, df, GrapheCSR::new);
+			try (GrapheHorsTas g = (GrapheHorsTas) GrapheImporter.importer(fichier, new Arc(), GrapheHorsTas::new)) {
+				IPCCPrimitif[] algos = repertoire.equals(REPERTOIRE_BELLMAN)
+						? new IPCCPrimitif[] {new Bellman(), new BellmanFord()}
+						: new IPCCPrimitif[] {new DijkstraTas(), new DijkstraBidirectionnel(), new ALT(), new DijkstraCH(), new DeltaStepping()};
+				for (IPCCPrimitif algo : algos)
+					assertEquals(algo.pc(csr, df.getSource(), df.getDestination(), resultat),
+							algo.pc(g, df.getSource(), df.getDestination(), resultat));
+			}
+		}
+	}
+	
+	@Test
+	void testDijkstraCH() throws NumberFormatException, IOException {
+		IPCC algo = new DijkstraCH();
+		for (String fichier : listeFichiers) {
+			assertTrue(GrapheImporter.comparer(REPERTOIRE_ENONCE+REPERTOIRE_DIJKSTRA + fichier, REPERTOIRE_REPONSE+REPERTOIRE_DIJKSTRA + fichier.replace('g', 'r'), algo));	
+		}
+		// Les recherches montantes fixent moins de noeuds que Dijkstra (noeuds fixs mesurs par requte)
+		Arc df = new Arc();
+		IGraphe g = GrapheImporter.importer(new File(REPERTOIRE_ENONCE+REPERTOIRE_DIJKSTRA + "g-10000-1.txt"), df, GrapheCSR::new);
+		long[] fixes = new long[2];
+		DijkstraTas dijkstra = new DijkstraTas();
+		DijkstraCH ch = new DijkstraCH();
+		dijkstra.setMesures(mesure -> fixes[0] = mesure.getNbNoeudsFixes());
+		ch.setMesures(mesure -> fixes[1] = mesure.getNbNoeudsFixes());
+		ResultatPCC resultat = new ResultatPCC();
+		assertEquals(dijkstra.pc(g, df.getSource(), df.getDestination(), resultat),
+				ch.pc(g, df.getSource(), df.getDestination(), resultat));
+		assertTrue(fixes[1] > 0 && fixes[1] < fixes[0]);
+	}
+	
+	@Test
+	void testDeltaStepping() throws NumberFormatException, IOException {
+		IPCC algo = new DeltaStepping();
+		for (String fichier : listeFichiers) {
+			assertTrue(GrapheImporter.comparer(REPERTOIRE_ENONCE+REPERTOIRE_DIJKSTRA + fichier, REPERTOIRE_REPONSE+REPERTOIRE_DIJKSTRA + fichier.replace('g', 'r'), algo));	
+		}
+	}
+	
 	@Test
 	void testBellman() throws NumberFormatException, IOException {
 		IPCC algo = new Bellman();
@@ -67,4 +272,220 @@ class PlusCourtTest {
 			assertTrue(GrapheImporter.comparer(REPERTOIRE_ENONCE+REPERTOIRE_BELLMAN + fichier, REPERTOIRE_REPONSE+REPERTOIRE_BELLMAN + fichier.replace('g', 'r'), algo));	
 		}
 	}
+	
+	@Test
+	void testBellmanFord() throws NumberFormatException, IOException {
+		// Les deux rpertoires : graphes sans circuit et graphes sans arc ngatif
+		IPCC algo = new BellmanFord();
+		for (String fichier : listeFichiers) {
+			assertTrue(GrapheImporter.comparer(REPERTOIRE_ENONCE+REPERTOIRE_BELLMAN + fichier, REPERTOIRE_REPONSE+REPERTOIRE_BELLMAN + fichier.replace('g', 'r'), algo));	
+			assertTrue(GrapheImporter.comparer(REPERTOIRE_ENONCE+REPERTOIRE_DIJKSTRA + fichier, REPERTOIRE_REPONSE+REPERTOIRE_DIJKSTRA + fichier.replace('g', 'r'), algo));	
+		}
+	}
+	
+	@Test
+	void testPrimitif() throws IOException {
+		// Un seul rsultat, rutilis pour toutes les requtes
+		ResultatPCC resultat = new ResultatPCC(1);
+		IPCCPrimitif[] algos = {new Dijkstra(), new DijkstraTas(), new Bellman()};
+		for (String fichier : listeFichiers) {
+			Arc df = new Arc();
+			IGraphe g = GrapheImporter.importer(REPERTOIRE_ENONCE+REPERTOIRE_BELLMAN + fichier, df);
+			for (IPCCPrimitif algo : algos) {
+				List<Integer> chemin = new ArrayList<>();
+				try {
+					int distance = algo.pc(g, df.getSource(), df.getDestination(), chemin);
+					assertEquals(distance, algo.pc(g, df.getSource(), df.getDestination(), resultat));
+					assertEquals(distance, resultat.getDistance());
+					assertEquals(chemin.size(), resultat.getLongueur());
+					for (int i = 0; i < chemin.size(); ++i)
+						assertEquals(chemin.get(i).intValue(), resultat.getNoeud(i));
+				}
+				catch (NoPathEx e) {
+					assertThrows(NoPathEx.class, () -> algo.pc(g, df.getSource(), df.getDestination(), resultat));
+				}
+			}
+		}
+	}
+	
+	@Test
+	void testEspaceTravail() throws IOException {
+		// Un mme espace, rutilis par tous les moteurs, sur des graphes de tailles diffrentes
+		EspaceTravail espace = new EspaceTravail();
+		ResultatPCC resultat = new ResultatPCC();
+		Random alea = new Random(3);
+		DijkstraTas dijkstraTas = new DijkstraTas();
+		DijkstraBidirectionnel bidirectionnel = new DijkstraBidirectionnel();
+		ALT alt = new ALT();
+		DijkstraCH ch = new DijkstraCH();
+		BellmanFord bellmanFord = new BellmanFord();
+		PCCAutomatique automatique = new PCCAutomatique();
+		for (String fichier : new String[] {"g-1000-1.txt", "g-100-1.txt", "g-10000-1.txt"}) {
+			IGraphe g = GrapheImporter.importer(REPERTOIRE_ENONCE + REPERTOIRE_DIJKSTRA + fichier, new Arc());
+			for (int k = 0; k < 20; ++k) {
+				int d = 1 + alea.nextInt(g.getNbSommets());
+				ArbrePCC arbre = dijkstraTas.arbre(g, d);
+				for (int l = 0; l < 10; ++l) {
+					int a = 1 + alea.nextInt(g.getNbSommets());
+					if (!arbre.estAtteignable(a)) {
+						assertThrows(NoPathEx.class, () -> dijkstraTas.pc(g, d, a, resultat, espace));
+						assertThrows(NoPathEx.class, () -> bellmanFord.pc(g, d, a, resultat, espace));
+						continue;
+					}
+					int attendu = arbre.distanceVers(a);
+					assertEquals(attendu, dijkstraTas.pc(g, d, a, resultat, espace));
+					assertEquals(attendu, bidirectionnel.pc(g, d, a, resultat, espace));
+					assertEquals(attendu, alt.pc(g, d, a, resultat, espace));
+					assertEquals(attendu, ch.pc(g, d, a, resultat, espace));
+					assertEquals(attendu, bellmanFord.pc(g, d, a, resultat, espace));
+					assertEquals(attendu, automatique.pc(g, d, a, resultat, espace));
+					List<Integer> chemin = new ArrayList<>();
+					resultat.copierDans(chemin);
+					assertEquals(attendu, g.distance(chemin));
+				}
+			}
+		}
+		
+		// L'espace du fil n'est prt qu'une fois  la fois, puis rutilis une fois rendu
+		EspaceTravail local;
+		try (EspaceTravail premier = EspaceTravail.acquerir()) {
+			local = premier;
+			try (EspaceTravail second = EspaceTravail.acquerir()) {
+				assertNotSame(premier, second);
+			}
+		}
+		try (EspaceTravail premier = EspaceTravail.acquerir()) {
+			assertSame(local, premier);
+		}
+	}
+	
+	@Test
+	void testMesures() throws IOException {
+		IGraphe g = GrapheImporter.importer(REPERTOIRE_ENONCE + REPERTOIRE_DIJKSTRA + "g-1000-1.txt", new Arc());
+		ResultatPCC resultat = new ResultatPCC();
+		
+		// Une requte : les noeuds fixs par ALT
+		ALT alt = new ALT();
+		MesureRequete[] derniere = new MesureRequete[1];
+		long[] fixes = new long[1];
+		alt.setMesures(mesure -> {
+			derniere[0] = mesure;
+			fixes[0] = mesure.getNbNoeudsFixes();
+		});
+		int distance = alt.pc(g, 1, 500, resultat);
+		assertEquals("ALT", derniere[0].getAlgorithme());
+		assertEquals(distance, derniere[0].getDistance());
+		assertTrue(fixes[0] > 0 && fixes[0] <= g.getNbSommets());
+		assertTrue(derniere[0].getNbArcsRelaches() >= derniere[0].getNbNoeudsAtteints());
+		assertTrue(derniere[0].getDureeRecherche() > 0);
+		
+		// Compteurs cumuls, checs compris ; sans observateur, rien n'est compt
+		CompteursPCC compteurs = new CompteursPCC();
+		DijkstraTas dijkstra = new DijkstraTas();
+		ArbrePCC arbre = dijkstra.arbre(g, 1);
+		dijkstra.setMesures(compteurs);
+		for (int a = 1; a <= 20; ++a)
+			try {
+				dijkstra.pc(g, 1, a, resultat);
+			}
+			catch (NoPathEx e) {
+				assertFalse(arbre.estAtteignable(a));
+			}
+		dijkstra.setMesures(null);
+		dijkstra.pc(g, 1, 1, resultat);
+		CompteursPCC.Instantane instantane = compteurs.instantane();
+		assertEquals(20, instantane.getNbRequetes());
+		long echecs = 0;
+		for (int a = 1; a <= 20; ++a)
+			if (!arbre.estAtteignable(a))
+				++echecs;
+		assertEquals(echecs, instantane.getNbEchecs());
+		assertTrue(instantane.getNbNoeudsFixes() >= 20);
+		assertTrue(instantane.getNbOperationsTas() >= 2 * instantane.getNbNoeudsFixes() - 20);
+		assertTrue(instantane.getCapaciteEspaceMax() >= g.getNbSommets());
+		
+		IGraphe sc = GrapheImporter.importer(REPERTOIRE_ENONCE + REPERTOIRE_BELLMAN + "g-100-1.txt", new Arc());
+		Bellman bellman = new Bellman();
+		bellman.setMesures(compteurs);
+		compteurs.reinitialiser();
+		assertThrows(NoPathEx.class, () -> bellman.pc(sc, sc.getNbSommets(), 1, resultat));
+		assertEquals(1, compteurs.instantane().getNbEchecs());
+		
+		// vnements JFR, seulement pendant un enregistrement
+		DijkstraTas observe = new DijkstraTas();
+		observe.setMesures(new MesuresJFR());
+		observe.pc(g, 1, 2, resultat);
+		Path fichier = Files.createTempFile("pcc", ".jfr");
+		try (Recording enregistrement = new Recording()) {
+			enregistrement.enable("pcc.Requete");
+			enregistrement.start();
+			for (int a = 1; a <= 5; ++a)
+				observe.pc(g, 1, a, resultat);
+			enregistrement.stop();
+			enregistrement.dump(fichier);
+			List<RecordedEvent> evenements = RecordingFile.readAllEvents(fichier);
+			evenements.removeIf(e -> !e.getEventType().getName().equals("pcc.Requete"));
+			assertEquals(5, evenements.size());
+			assertEquals("DijkstraTas", evenements.get(0).getString("algorithme"));
+		}
+		finally {
+			Files.delete(fichier);
+		}
+	}
+	
+	@Test
+	void testCorpus() throws IOException {
+		// Tout le corpus, grands graphes compris, en parallle et dans un budget
+		Corpus corpus = new Corpus();
+		List<Corpus.Cas> cas = corpus.decouvrir();
+		assertTrue(cas.size() >= 2 * listeFichiers.size());
+		assertTrue(cas.get(0).getGraphe().length() >= cas.get(cas.size() - 1).getGraphe().length());
+		ForkJoinPool pool = new ForkJoinPool();
+		try {
+			List<Corpus.Resultat> resultats = corpus.verifier(cas, new PCCAutomatique(), pool, 60000);
+			assertEquals(cas.size(), resultats.size());
+			for (Corpus.Resultat r : resultats)
+				assertTrue(r.estOK(), r.getCas().getGraphe() + " : " + r.getMessage());
+
+			// Un algorithme qui se trompe d'une unit est dtect
+			IPCC faux = new IPCC() {
+				private final IPCC juste = new PCCAutomatique();
+
+				@Override
+				public boolean estOK(IGraphe g) {
+					return juste.estOK(g);
+				}
+
+				@Override
+				public int pc(IGraphe g, Integer noeudD, Integer noeudA, List<Integer> chemin) throws NoPathEx {
+					return juste.pc(g, noeudD, noeudA, chemin) + 1;
+				}
+			};
+			for (Corpus.Resultat r : corpus.verifier(corpus.decouvrir("ac"), faux, pool, 0))
+				if (r.getDistanceAttendue() != IGraphe.INFINI)
+					assertEquals(Corpus.Statut.DIFFERENT, r.getStatut());
+
+			// Un budget nul en pratique met tous les fichiers hors budget
+			Corpus.Resultat r = corpus.verifier(cas.get(0), new PCCAutomatique(), 1);
+			assertEquals(Corpus.Statut.HORS_BUDGET, r.getStatut());
+
+			Path csv = Files.createTempFile("corpus", ".csv");
+			Path json = Files.createTempFile("corpus", ".json");
+			try {
+				Corpus.ecrireCSV(resultats, csv.toFile());
+				Corpus.ecrireJSON(resultats, json.toFile());
+				assertEquals(resultats.size() + 1, Files.readAllLines(csv).size());
+				String texte = Files.readString(json);
+				assertTrue(texte.startsWith("["));
+				assertTrue(texte.contains("\"statut\": \"OK\""));
+			}
+			finally {
+				Files.delete(csv);
+				Files.delete(json);
+			}
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
 }
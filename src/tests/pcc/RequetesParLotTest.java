@@ -0,0 +1,90 @@
+package tests.pcc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import exceptions.NoPathEx;
+import graphes.IGraphe;
+import graphes.IPCCArbre;
+import graphes.ResultatPCC;
+import graphes.ihm.Arc;
+import graphes.ihm.GrapheImporter;
+import graphes.types.GrapheLA;
+import pcc.Bellman;
+import pcc.DijkstraTas;
+import pcc.RequetesParLot;
+import pcc.ResultatsLot;
+
+class RequetesParLotTest {
+
+	/**
+	 * @brief Compare les rponses du lot  des requtes spares
+	 */
+	private void verifier(IPCCArbre algo, IGraphe g, ForkJoinPool pool) {
+		int nbSommets = g.getNbSommets();
+		Random alea = new Random(42);
+		int nbPaires = 500;
+		int[] sources = new int[nbPaires];
+		int[] cibles = new int[nbPaires];
+		for (int i = 0; i < nbPaires; ++i) {
+			// Peu de sources distinctes : plusieurs paires partagent un mme arbre
+			sources[i] = 1 + alea.nextInt(Math.min(20, nbSommets));
+			cibles[i] = 1 + alea.nextInt(nbSommets);
+		}
+
+		ResultatsLot lot = new RequetesParLot(algo, pool).executer(g, sources, cibles, true);
+		assertEquals(nbPaires, lot.taille());
+		ResultatPCC resultat = new ResultatPCC();
+		for (int i = 0; i < nbPaires; ++i) {
+			try {
+				int distance = algo.pc(g, sources[i], cibles[i], resultat);
+				assertEquals(distance, lot.getDistance(i));
+				int[] chemin = lot.getChemin(i);
+				assertEquals(sources[i], chemin[0]);
+				assertEquals(cibles[i], chemin[chemin.length - 1]);
+			}
+			catch (NoPathEx e) {
+				final int j = i;
+				assertFalse(lot.estAtteignable(i));
+				assertThrows(NoPathEx.class, () -> lot.getChemin(j));
+			}
+		}
+	}
+
+	@Test
+	void testLot() throws IOException {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			verifier(new DijkstraTas(), GrapheImporter.importer("graphes/ac/g-1000-1.txt", new Arc()), pool);
+			verifier(new Bellman(), GrapheImporter.importer("graphes/sc/g-1000-1.txt", new Arc()), pool);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void testGrapheIncompatible() throws IOException {
+		// Le graphe contient des arcs ngatifs : refus une seule fois pour tout le lot
+		IGraphe g = new GrapheLA(3);
+		g.ajouterArc(1, 4, 2);
+		g.ajouterArc(2, -1, 3);
+		RequetesParLot lot = new RequetesParLot(new DijkstraTas());
+		assertThrows(IllegalArgumentException.class, () -> lot.executer(g, new int[] {1}, new int[] {2}, false));
+
+		// Sans chemins demands, seules les distances sont disponibles
+		IGraphe h = GrapheImporter.importer("graphes/ac/g-100-1.txt", new Arc());
+		ResultatsLot distances = lot.executer(h, new int[] {1, 1}, new int[] {1, 2}, false);
+		assertEquals(0, distances.getDistance(0));
+		assertThrows(IllegalStateException.class, () -> distances.getChemin(0));
+
+		// Une cible hors du graphe est refuse avant tout calcul
+		assertThrows(IllegalArgumentException.class, () -> lot.executer(h, new int[] {1, 2}, new int[] {2, 101}, true));
+		assertThrows(IllegalArgumentException.class, () -> lot.executer(h, new int[] {1}, new int[] {0}, false));
+	}
+}
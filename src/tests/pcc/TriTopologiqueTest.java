@@ -0,0 +1,48 @@
+package tests.pcc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import graphes.IGraphe;
+import graphes.types.GrapheLA;
+import pcc.TriTopologique;
+
+class TriTopologiqueTest {
+
+	@Test
+	void test() {
+		IGraphe g = new GrapheLA(6);
+		g.ajouterArc(1, 7, 2);
+		g.ajouterArc(1, 1, 3);
+		g.ajouterArc(3, 5, 2);
+		g.ajouterArc(2, 4, 4);
+		g.ajouterArc(5, 2, 4);
+		g.ajouterArc(6, 3, 5);
+		
+		TriTopologique tri = new TriTopologique(g, 1);
+		assertTrue(tri.estSansCircuit());
+		assertEquals(6, tri.getNbTries());
+		
+		// 5 et 6 ne sont pas atteignables depuis 1
+		assertEquals(4, tri.getNbAtteignables());
+		assertFalse(tri.estAtteignable(5));
+		assertFalse(tri.estAtteignable(6));
+		assertEquals(TriTopologique.NON_ATTEIGNABLE, tri.getNiveau(6));
+		
+		assertEquals(0, tri.getNiveau(1));
+		assertEquals(1, tri.getNiveau(3));
+		assertEquals(2, tri.getNiveau(2));
+		assertEquals(3, tri.getNiveau(4));
+		
+		// Chaque arc va d'un noeud tri vers un noeud tri aprs lui
+		int[] rangs = new int[7];
+		for (int rang = 0; rang < tri.getNbTries(); ++rang)
+			rangs[tri.getNoeud(rang)] = rang;
+		for (int a : g)
+			g.parcourirSuccesseurs(a, (s, v, b) -> assertTrue(rangs[s] < rangs[b]));
+		
+		g.ajouterArc(4, 1, 3);
+		assertFalse(new TriTopologique(g).estSansCircuit());
+	}
+}
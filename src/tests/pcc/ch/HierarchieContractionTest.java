@@ -0,0 +1,90 @@
+package tests.pcc.ch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import exceptions.NoPathEx;
+import graphes.IGraphe;
+import graphes.ResultatPCC;
+import graphes.ihm.Arc;
+import graphes.ihm.GrapheImporter;
+import graphes.types.GrapheCSR;
+import graphes.types.GrapheLA;
+import pcc.DijkstraTas;
+import pcc.ch.DijkstraCH;
+import pcc.ch.HierarchieContraction;
+
+class HierarchieContractionTest {
+
+	@Test
+	void testRequetes() throws IOException {
+		IGraphe g = GrapheImporter.importer(new File("graphes/ac/g-10000-1.txt"), new Arc(), GrapheCSR::new);
+		HierarchieContraction h = HierarchieContraction.construire(g);
+		DijkstraTas dijkstra = new DijkstraTas();
+		ResultatPCC attendu = new ResultatPCC();
+		ResultatPCC obtenu = new ResultatPCC();
+		Random alea = new Random(7);
+
+		// Mmes distances que Dijkstra, et chemins dplis valides dans le graphe original
+		for (int i = 0; i < 300; ++i) {
+			int d = 1 + alea.nextInt(g.getNbSommets());
+			int a = 1 + alea.nextInt(g.getNbSommets());
+			try {
+				int distance = dijkstra.pc(g, d, a, attendu);
+				assertEquals(distance, h.pc(d, a, obtenu));
+				List<Integer> chemin = new ArrayList<>();
+				obtenu.copierDans(chemin);
+				assertEquals(d, chemin.get(0).intValue());
+				assertEquals(a, chemin.get(chemin.size() - 1).intValue());
+				assertEquals(distance, g.distance(chemin));
+			}
+			catch (NoPathEx e) {
+				assertThrows(NoPathEx.class, () -> h.pc(d, a, obtenu));
+			}
+		}
+	}
+
+	@Test
+	void testRaccourci() {
+		// 1 -> 2 -> 3 est le seul chemin de 1  3 : contracter 2 impose un raccourci
+		IGraphe g = new GrapheLA(3);
+		g.ajouterArc(1, 2, 2);
+		g.ajouterArc(2, 3, 3);
+		g.ajouterArc(1, 9, 3);
+		HierarchieContraction h = HierarchieContraction.construire(g);
+		ResultatPCC resultat = new ResultatPCC();
+		assertEquals(5, h.pc(1, 3, resultat));
+		assertEquals(3, resultat.getLongueur());
+		assertEquals(2, resultat.getNoeud(1));
+		assertEquals(0, h.pc(2, 2, resultat));
+		assertThrows(NoPathEx.class, () -> h.pc(3, 1, resultat));
+	}
+
+	@Test
+	void testHierarchieParGraphe() {
+		// Un mme DijkstraCH sur deux graphes en alternance : chaque hirarchie reste sur son graphe
+		IGraphe g1 = new GrapheLA(3), g2 = new GrapheLA(3);
+		g1.ajouterArc(1, 2, 2);
+		g1.ajouterArc(2, 3, 3);
+		g2.ajouterArc(1, 7, 3);
+		DijkstraCH ch = new DijkstraCH();
+		HierarchieContraction h1 = ch.hierarchie(g1), h2 = ch.hierarchie(g2);
+		assertNotSame(h1, h2);
+		ResultatPCC resultat = new ResultatPCC();
+		assertEquals(5, ch.pc(g1, 1, 3, resultat));
+		assertEquals(7, ch.pc(g2, 1, 3, resultat));
+		assertSame(h1, ch.hierarchie(g1));
+		assertSame(h2, ch.hierarchie(g2));
+		// Une modification du graphe impose une nouvelle hirarchie
+		g1.ajouterArc(1, 1, 3);
+		assertNotSame(h1, ch.hierarchie(g1));
+		assertEquals(1, ch.pc(g1, 1, 3, resultat));
+	}
+}